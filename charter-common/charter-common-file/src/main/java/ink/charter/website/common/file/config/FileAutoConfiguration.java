@@ -5,6 +5,8 @@ import ink.charter.website.common.file.service.CharterFileService;
 import ink.charter.website.common.file.service.impl.CharterFileServiceImpl;
 import ink.charter.website.common.file.strategy.context.UploadStrategyContext;
 import ink.charter.website.common.file.strategy.impl.*;
+import ink.charter.website.common.redis.cache.BloomFilterRegistry;
+import ink.charter.website.common.redis.service.RedisService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -109,8 +111,9 @@ public class FileAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public CharterFileService fileService(SysFilesMapper sysFilesMapper, UploadStrategyContext uploadStrategyContext) {
+    public CharterFileService fileService(SysFilesMapper sysFilesMapper, UploadStrategyContext uploadStrategyContext,
+                                          RedisService redisService, BloomFilterRegistry bloomFilterRegistry) {
         log.info("初始化文件服务");
-        return new CharterFileServiceImpl(sysFilesMapper, uploadStrategyContext);
+        return new CharterFileServiceImpl(sysFilesMapper, uploadStrategyContext, redisService, bloomFilterRegistry);
     }
 }
\ No newline at end of file
@@ -119,6 +119,20 @@ public interface SysFilesMapper extends BaseMapper<SysFilesEntity> {
             .eq(SysFilesEntity::getStatus, 1));
     }
 
+    /**
+     * 查询所有启用文件的MD5
+     *
+     * @return MD5列表
+     */
+    default List<String> selectAllMd5() {
+        return selectList(QueryWrappers.<SysFilesEntity>lambdaQuery()
+            .eq(SysFilesEntity::getStatus, 1)
+            .select(SysFilesEntity::getFileMd5))
+            .stream()
+            .map(SysFilesEntity::getFileMd5)
+            .toList();
+    }
+
     /**
      * 更新文件状态
      *
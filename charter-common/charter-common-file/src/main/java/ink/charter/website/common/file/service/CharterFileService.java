@@ -4,6 +4,7 @@ import ink.charter.website.common.core.entity.sys.SysFilesEntity;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -145,4 +146,12 @@ public interface CharterFileService {
      */
     String getFileType(String fileName);
 
+    /**
+     * 文件记录在本服务之外新增、修改或删除后调用
+     * 清除按MD5查询的文件缓存并将MD5加入布隆过滤器，存在活动事务时推迟到提交之后
+     *
+     * @param fileMd5List 受影响的文件MD5
+     */
+    void onFilesChanged(Collection<String> fileMd5List);
+
 }
\ No newline at end of file
@@ -12,16 +12,24 @@ import ink.charter.website.common.core.utils.FileUtils;
 import ink.charter.website.common.file.mapper.SysFilesMapper;
 import ink.charter.website.common.file.service.CharterFileService;
 import ink.charter.website.common.file.strategy.context.UploadStrategyContext;
+import ink.charter.website.common.redis.annotation.RedisCache;
+import ink.charter.website.common.redis.cache.BloomFilterRegistry;
+import ink.charter.website.common.redis.service.RedisService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 文件服务实现类
@@ -34,8 +42,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CharterFileServiceImpl implements CharterFileService {
 
+    /**
+     * 文件MD5布隆过滤器名称
+     */
+    private static final String FILE_MD5_BLOOM = "file:md5";
+
+    /**
+     * 文件MD5缓存键前缀
+     */
+    private static final String FILE_MD5_CACHE_PREFIX = "file:md5:";
+
+    /**
+     * 文件MD5布隆过滤器预期元素数量
+     */
+    private static final long FILE_MD5_EXPECTED_INSERTIONS = 100_000L;
+
+    /**
+     * 文件MD5布隆过滤器误判率
+     */
+    private static final double FILE_MD5_FPP = 0.01;
+
     private final SysFilesMapper sysFilesMapper;
     private final UploadStrategyContext uploadStrategyContext;
+    private final RedisService redisService;
+    private final BloomFilterRegistry bloomFilterRegistry;
+
+    /**
+     * 注册文件MD5布隆过滤器，按MD5查询不存在的文件时不再访问Redis和数据库
+     */
+    @PostConstruct
+    public void init() {
+        bloomFilterRegistry.register(FILE_MD5_BLOOM, FILE_MD5_EXPECTED_INSERTIONS, FILE_MD5_FPP, sysFilesMapper::selectAllMd5);
+    }
 
     @Override
     @Transactional
@@ -76,6 +114,7 @@ public class CharterFileServiceImpl implements CharterFileService {
             fileEntity.setStatus(StatusEnum.ENABLED.getCode());
             
             sysFilesMapper.insert(fileEntity);
+            onFileCreated(fileMd5);
             
             log.info("文件上传成功，文件名: {}, 文件ID: {}, MD5: {}", 
                     file.getOriginalFilename(), fileEntity.getId(), fileMd5);
@@ -128,6 +167,7 @@ public class CharterFileServiceImpl implements CharterFileService {
             fileEntity.setStatus(1);
             
             sysFilesMapper.insert(fileEntity);
+            onFileCreated(fileMd5);
             
             log.info("文件上传成功，文件名: {}, 文件ID: {}, MD5: {}", 
                     fileName, fileEntity.getId(), fileMd5);
@@ -149,6 +189,8 @@ public class CharterFileServiceImpl implements CharterFileService {
     }
 
     @Override
+    @RedisCache(key = "'" + FILE_MD5_CACHE_PREFIX + "' + #fileMd5", expire = 30, timeUnit = TimeUnit.MINUTES,
+            cacheNull = true, bloomFilter = FILE_MD5_BLOOM, bloomKey = "#fileMd5")
     public SysFilesEntity getFileByMd5(String fileMd5) {
         if (StrUtil.isBlank(fileMd5)) {
             return null;
@@ -189,10 +231,14 @@ public class CharterFileServiceImpl implements CharterFileService {
         }
         
         try {
+            SysFilesEntity fileEntity = sysFilesMapper.selectById(fileId);
             int result = sysFilesMapper.deleteById(fileId);
             boolean success = result > 0;
             
             if (success) {
+                if (fileEntity != null) {
+                    afterCommit(() -> evictMd5Cache(List.of(fileEntity.getFileMd5())));
+                }
                 log.info("文件删除成功，文件ID: {}", fileId);
             } else {
                 log.warn("文件删除失败，文件ID: {}", fileId);
@@ -213,7 +259,11 @@ public class CharterFileServiceImpl implements CharterFileService {
         }
         
         try {
+            List<String> fileMd5List = sysFilesMapper.selectByIds(fileIds).stream()
+                    .map(SysFilesEntity::getFileMd5)
+                    .toList();
             int deletedCount = sysFilesMapper.deleteByIds(fileIds);
+            afterCommit(() -> evictMd5Cache(fileMd5List));
             log.info("批量删除文件完成，删除数量: {}, 总数量: {}", deletedCount, fileIds.size());
             return deletedCount;
         } catch (Exception e) {
@@ -339,4 +389,61 @@ public class CharterFileServiceImpl implements CharterFileService {
         FileTypeEnum fileTypeEnum = FileTypeEnum.getByExtension(extension);
         return fileTypeEnum.getMimeType();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void onFilesChanged(Collection<String> fileMd5List) {
+        if (fileMd5List == null || fileMd5List.isEmpty()) {
+            return;
+        }
+        List<String> changed = fileMd5List.stream().filter(StrUtil::isNotBlank).distinct().toList();
+        afterCommit(() -> {
+            changed.forEach(fileMd5 -> bloomFilterRegistry.put(FILE_MD5_BLOOM, fileMd5));
+            evictMd5Cache(changed);
+        });
+    }
+
+    /**
+     * 新增文件后加入布隆过滤器，并清除该MD5的空值缓存
+     * 事务提交后执行，避免提交前的并发查询回填空值缓存或布隆过滤器重建时遗漏新记录
+     */
+    private void onFileCreated(String fileMd5) {
+        afterCommit(() -> {
+            bloomFilterRegistry.put(FILE_MD5_BLOOM, fileMd5);
+            evictMd5Cache(List.of(fileMd5));
+        });
+    }
+
+    /**
+     * 在当前事务提交后执行，无事务时立即执行
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 清除按MD5查询的文件缓存
+     */
+    private void evictMd5Cache(List<String> fileMd5List) {
+        List<String> keys = fileMd5List.stream()
+                .filter(StrUtil::isNotBlank)
+                .map(fileMd5 -> FILE_MD5_CACHE_PREFIX + fileMd5)
+                .toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisService.delete(keys);
+        } catch (Exception e) {
+            log.warn("清除文件MD5缓存失败: {}", e.getMessage());
+        }
+    }
+}
@@ -15,6 +15,18 @@ import java.util.concurrent.TimeUnit;
 @Documented
 public @interface RedisCache {
 
+    /**
+     * 缓存名称（命名空间）
+     * 指定后缓存键形如 cache:{名称}:v{代数}:{键}，可通过@RedisCacheEvict(cacheName, allEntries = true)整体清空
+     */
+    String cacheName() default "";
+
+    /**
+     * 值编码（json、smile）
+     * 为空时使用charter.redis.codec配置的默认编码；读取时自动识别编码，修改后旧值仍可读取
+     */
+    String codec() default "";
+
     /**
      * 缓存键前缀
      * 支持SpEL表达式
@@ -35,10 +47,30 @@ public @interface RedisCache {
 
     /**
      * 是否允许缓存空值
+     * 方法返回null时写入空值标记，后续请求直接返回null而不再执行方法，适用于按外部输入查询、可能大量不存在的场景
      * 默认false
      */
     boolean cacheNull() default false;
 
+    /**
+     * 空值缓存过期时间（秒）
+     * 默认60秒，不超过expire
+     */
+    long nullExpire() default 60;
+
+    /**
+     * 布隆过滤器名称
+     * 指定后先用BloomFilterRegistry中同名过滤器判断，一定不存在的键直接返回null，不访问Redis和执行方法；
+     * 过滤器需由业务方注册并在新增数据时添加元素
+     */
+    String bloomFilter() default "";
+
+    /**
+     * 布隆过滤器元素表达式
+     * 支持SpEL表达式，默认使用缓存键
+     */
+    String bloomKey() default "";
+
     /**
      * 条件表达式
      * 支持SpEL表达式，当条件为true时才进行缓存
@@ -50,4 +82,59 @@ public @interface RedisCache {
      * 支持SpEL表达式，当条件为true时不进行缓存
      */
     String unless() default "";
-}
\ No newline at end of file
+
+    /**
+     * 是否启用进程内本地缓存（一级缓存）
+     * 命中时不访问Redis也不反序列化，适用于字典、站点配置等只读的小型热点数据；
+     * 清除缓存时通过Redis发布订阅通知所有节点移除本地副本
+     * 默认false
+     */
+    boolean local() default false;
+
+    /**
+     * 本地缓存过期时间（秒）
+     * 默认60秒，不超过Redis缓存过期时间
+     */
+    long localTtl() default 60;
+
+    /**
+     * 本地缓存最大条目数
+     * 默认1000
+     */
+    int localMaxEntries() default 1000;
+
+    /**
+     * 是否在本节点内合并并发加载
+     * 缓存未命中时同一个键只有一个线程执行方法，其余线程等待并共享结果
+     * 默认true
+     */
+    boolean sync() default true;
+
+    /**
+     * 是否在集群内合并并发加载
+     * 缓存未命中时通过Redis分布式锁保证只有一个节点执行方法，其余节点等待缓存写入
+     * 默认false
+     */
+    boolean distributedSync() default false;
+
+    /**
+     * 等待其他线程或节点加载的最长时间（毫秒），同时作为分布式锁的租期
+     * 超时后当前线程自行执行方法
+     * 默认3000毫秒
+     */
+    long syncTimeout() default 3000;
+
+    /**
+     * 是否提前刷新
+     * 命中缓存时按剩余过期时间与方法耗时计算概率，在缓存过期前于后台线程重新执行方法并写回缓存，
+     * 使热点键不会因过期而击穿。后台执行时不携带请求上下文，仅适用于不依赖当前登录用户等线程上下文的方法
+     * 默认false
+     */
+    boolean refreshAhead() default false;
+
+    /**
+     * 提前刷新系数
+     * 越大越早刷新，1.0为通常取值
+     */
+    double refreshBeta() default 1.0;
+}
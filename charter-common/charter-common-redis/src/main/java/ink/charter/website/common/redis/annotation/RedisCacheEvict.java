@@ -14,6 +14,12 @@ import java.lang.annotation.*;
 @Documented
 public @interface RedisCacheEvict {
 
+    /**
+     * 缓存名称（命名空间）
+     * 与@RedisCache的cacheName对应，指定后key与keyPattern均限定在该命名空间内
+     */
+    String cacheName() default "";
+
     /**
      * 缓存键
      * 支持SpEL表达式
@@ -22,12 +28,13 @@ public @interface RedisCacheEvict {
 
     /**
      * 缓存键模式
-     * 支持通配符，用于批量删除
+     * 支持通配符，用于批量删除（SCAN增量扫描）
      */
     String keyPattern() default "";
 
     /**
-     * 是否清除所有缓存
+     * 是否清除命名空间内的所有缓存
+     * 仅在指定cacheName时生效，通过递增命名空间代数完成，不扫描键空间
      * 默认false
      */
     boolean allEntries() default false;
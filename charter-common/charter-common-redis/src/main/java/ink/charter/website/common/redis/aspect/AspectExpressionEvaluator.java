@@ -0,0 +1,152 @@
+package ink.charter.website.common.redis.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 切面SpEL表达式求值器
+ * 按方法缓存参数名、默认键与已编译的表达式，每次调用只需构建轻量的求值上下文。
+ * 表达式以IMMEDIATE模式编译为字节码；编译后的表达式因参数类型变化求值失败时，
+ * 该方法的这条表达式退回解释执行
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Slf4j
+public final class AspectExpressionEvaluator {
+
+    private final SpelExpressionParser compilingParser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, AspectExpressionEvaluator.class.getClassLoader()));
+    private final SpelExpressionParser interpretingParser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ConcurrentHashMap<Method, MethodMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取方法元数据（首次访问时计算）
+     *
+     * @param method 方法
+     * @return 方法元数据
+     */
+    public MethodMetadata metadata(Method method) {
+        return metadataCache.computeIfAbsent(method, this::createMetadata);
+    }
+
+    /**
+     * 求值表达式
+     *
+     * @param method 方法
+     * @param expression 表达式
+     * @param args 方法参数
+     * @return 求值结果
+     */
+    public Object getValue(Method method, String expression, Object[] args) {
+        MethodMetadata metadata = metadata(method);
+        return metadata.evaluate(expression, createContext(metadata, args));
+    }
+
+    /**
+     * 求值条件表达式
+     *
+     * @param method 方法
+     * @param expression 表达式
+     * @param args 方法参数
+     * @return 条件是否成立
+     */
+    public boolean isTrue(Method method, String expression, Object[] args) {
+        return Boolean.TRUE.equals(getValue(method, expression, args));
+    }
+
+    private EvaluationContext createContext(MethodMetadata metadata, Object[] args) {
+        SimpleEvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding()
+                .withInstanceMethods()
+                .build();
+        String[] parameterNames = metadata.parameterNames;
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length && i < args.length; i++) {
+                context.setVariable(parameterNames[i], args[i]);
+            }
+        }
+        context.setVariable("args", args);
+        return context;
+    }
+
+    private MethodMetadata createMetadata(Method method) {
+        StringBuilder signature = new StringBuilder()
+                .append(method.getDeclaringClass().getSimpleName())
+                .append('.')
+                .append(method.getName());
+        String simpleName = signature.toString();
+        signature.append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(parameterTypes[i].getSimpleName());
+        }
+        signature.append(')');
+        return new MethodMetadata(nameDiscoverer.getParameterNames(method), simpleName, signature.toString());
+    }
+
+    /**
+     * 方法元数据
+     */
+    public final class MethodMetadata {
+
+        private final String[] parameterNames;
+        private final String simpleName;
+        private final String signature;
+
+        /**
+         * 表达式文本 -> 表达式（编译失败后替换为解释执行的表达式）
+         */
+        private final ConcurrentHashMap<String, Expression> expressions = new ConcurrentHashMap<>();
+
+        private MethodMetadata(String[] parameterNames, String simpleName, String signature) {
+            this.parameterNames = parameterNames;
+            this.simpleName = simpleName;
+            this.signature = signature;
+        }
+
+        /**
+         * 类名.方法名
+         *
+         * @return 简单名称
+         */
+        public String getSimpleName() {
+            return simpleName;
+        }
+
+        /**
+         * 类名.方法名(参数类型)
+         *
+         * @return 方法签名
+         */
+        public String getSignature() {
+            return signature;
+        }
+
+        private Object evaluate(String source, EvaluationContext context) {
+            Expression expression = expressions.computeIfAbsent(source, compilingParser::parseExpression);
+            try {
+                return expression.getValue(context);
+            } catch (RuntimeException e) {
+                Expression interpreted = interpretingParser.parseExpression(source);
+                if (expressions.replace(source, expression, interpreted)) {
+                    log.debug("表达式编译执行失败，改为解释执行: {}", source);
+                }
+                return interpreted.getValue(context);
+            }
+        }
+    }
+}
@@ -1,27 +1,35 @@
 package ink.charter.website.common.redis.aspect;
 
 import ink.charter.website.common.redis.annotation.RedisCache;
+import ink.charter.website.common.redis.cache.BloomFilterRegistry;
+import ink.charter.website.common.redis.cache.CacheNamespaceManager;
+import ink.charter.website.common.redis.cache.LocalCacheRegistry;
+import ink.charter.website.common.redis.cache.NullValue;
+import ink.charter.website.common.redis.cache.SingleFlight;
+import ink.charter.website.common.redis.constant.RedisConstants;
 import ink.charter.website.common.redis.service.RedisService;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Redis缓存切面
- * 处理@RedisCache注解的缓存逻辑
+ * 处理@RedisCache注解的缓存逻辑，未命中时合并并发加载，并支持在过期前按概率提前刷新
  *
  * @author charter
  * @create 2025/07/19
@@ -32,9 +40,31 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class RedisCacheAspect {
 
+    private static final long LOCK_POLL_INTERVAL_MILLIS = 50L;
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 256;
+
     private final RedisService redisService;
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final DefaultParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final LocalCacheRegistry localCacheRegistry;
+    private final CacheNamespaceManager cacheNamespaceManager;
+    private final BloomFilterRegistry bloomFilterRegistry;
+    private final AspectExpressionEvaluator evaluator = new AspectExpressionEvaluator();
+    private final SingleFlight singleFlight = new SingleFlight();
+    
+    /**
+     * 方法 -> 最近一次执行耗时（毫秒），用于提前刷新的概率计算
+     */
+    private final ConcurrentHashMap<Method, Long> loadCosts = new ConcurrentHashMap<>();
+    
+    /**
+     * 提前刷新线程池，队列满时丢弃（下一次命中会再次判定）
+     */
+    private final ExecutorService refreshExecutor = new ThreadPoolExecutor(1, REFRESH_THREADS, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY), r -> {
+                Thread thread = new Thread(r, "cache-refresh-ahead");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
 
     @Around("@annotation(redisCache)")
     public Object around(ProceedingJoinPoint joinPoint, RedisCache redisCache) throws Throwable {
@@ -57,18 +87,61 @@ public class RedisCacheAspect {
         
         // 生成缓存key
         String cacheKey = generateKey(redisCache.key(), method, args);
+        
+        // 布隆过滤器判定一定不存在时直接返回
+        if (!redisCache.bloomFilter().isEmpty()) {
+            String bloomKey = redisCache.bloomKey().isEmpty() ? cacheKey : generateKey(redisCache.bloomKey(), method, args);
+            if (!bloomFilterRegistry.mightContain(redisCache.bloomFilter(), bloomKey)) {
+                log.debug("布隆过滤器判定不存在，返回null: {}", bloomKey);
+                return null;
+            }
+        }
+        
+        if (!redisCache.cacheName().isEmpty()) {
+            cacheKey = cacheNamespaceManager.resolveKey(redisCache.cacheName(), cacheKey);
+        }
         log.debug("生成缓存key: {}", cacheKey);
         
+        // 优先读取本地缓存
+        if (redisCache.local()) {
+            Object localResult = localCacheRegistry.get(method, cacheKey);
+            if (localResult != null) {
+                log.debug("本地缓存命中，返回缓存结果: {}", cacheKey);
+                return NullValue.unwrap(localResult);
+            }
+        }
+        
         // 尝试从缓存获取
         Object cachedResult = redisService.get(cacheKey);
         if (cachedResult != null) {
             log.debug("缓存命中，返回缓存结果: {}", cacheKey);
-            return cachedResult;
+            if (redisCache.refreshAhead()) {
+                refreshAheadIfNeeded(joinPoint, redisCache, method, cacheKey);
+            }
+            if (redisCache.local()) {
+                localCacheRegistry.put(method, redisCache, cacheKey, cachedResult);
+            }
+            return NullValue.unwrap(cachedResult);
         }
         
-        // 缓存未命中，执行方法
+        // 缓存未命中，执行方法（并发请求合并为一次加载）
         log.debug("缓存未命中，执行方法: {}", method.getName());
+        if (!redisCache.sync()) {
+            return load(joinPoint, redisCache, method, cacheKey);
+        }
+        String key = cacheKey;
+        return singleFlight.execute(cacheKey, redisCache.syncTimeout(), () -> redisCache.distributedSync()
+                ? loadWithLock(joinPoint, redisCache, method, key)
+                : load(joinPoint, redisCache, method, key));
+    }
+    
+    /**
+     * 执行方法并写入缓存
+     */
+    private Object load(ProceedingJoinPoint joinPoint, RedisCache redisCache, Method method, String cacheKey) throws Throwable {
+        long start = System.currentTimeMillis();
         Object result = joinPoint.proceed();
+        loadCosts.put(method, System.currentTimeMillis() - start);
         
         // 判断是否缓存null值
         if (result == null && !redisCache.cacheNull()) {
@@ -76,58 +149,141 @@ public class RedisCacheAspect {
             return null;
         }
         
-        // 设置缓存
+        // 设置缓存（null写入空值标记，使用单独的较短过期时间）
+        Object cacheValue = NullValue.wrap(result);
         try {
-            if (redisCache.expire() > 0) {
-                redisService.set(cacheKey, result, redisCache.expire(), redisCache.timeUnit());
+            if (result == null) {
+                long nullExpireMillis = TimeUnit.SECONDS.toMillis(redisCache.nullExpire());
+                if (redisCache.expire() > 0) {
+                    nullExpireMillis = Math.min(nullExpireMillis, redisCache.timeUnit().toMillis(redisCache.expire()));
+                }
+                redisService.set(cacheKey, cacheValue, Math.max(nullExpireMillis, 1L), TimeUnit.MILLISECONDS, redisCache.codec());
+                log.debug("设置空值缓存成功，key: {}, expire: {} ms", cacheKey, nullExpireMillis);
+            } else if (redisCache.expire() > 0) {
+                redisService.set(cacheKey, cacheValue, redisCache.expire(), redisCache.timeUnit(), redisCache.codec());
                 log.debug("设置缓存成功，key: {}, expire: {} {}", cacheKey, redisCache.expire(), redisCache.timeUnit());
             } else {
-                redisService.set(cacheKey, result);
+                redisService.set(cacheKey, cacheValue, 0L, redisCache.timeUnit(), redisCache.codec());
                 log.debug("设置永久缓存成功，key: {}", cacheKey);
             }
         } catch (Exception e) {
             log.error("设置缓存失败，key: {}", cacheKey, e);
         }
+        if (redisCache.local()) {
+            localCacheRegistry.put(method, redisCache, cacheKey, cacheValue);
+        }
         
         return result;
     }
     
+    /**
+     * 持有分布式锁时执行方法，未抢到锁时等待持有者写入缓存，超时后自行执行
+     */
+    private Object loadWithLock(ProceedingJoinPoint joinPoint, RedisCache redisCache, Method method, String cacheKey) throws Throwable {
+        String lockKey = RedisConstants.LOCK_PREFIX + cacheKey;
+        String requestId = UUID.randomUUID().toString();
+        if (redisService.tryLock(lockKey, requestId, redisCache.syncTimeout())) {
+            try {
+                // 等锁期间其他节点可能已写入
+                Object cachedResult = redisService.get(cacheKey);
+                return cachedResult != null ? NullValue.unwrap(cachedResult) : load(joinPoint, redisCache, method, cacheKey);
+            } finally {
+                redisService.releaseLock(lockKey, requestId);
+            }
+        }
+        
+        long deadline = System.currentTimeMillis() + redisCache.syncTimeout();
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                Thread.sleep(LOCK_POLL_INTERVAL_MILLIS);
+                Object cachedResult = redisService.get(cacheKey);
+                if (cachedResult != null) {
+                    return NullValue.unwrap(cachedResult);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("等待其他节点加载缓存超时，执行方法: {}", cacheKey);
+        return load(joinPoint, redisCache, method, cacheKey);
+    }
+    
+    /**
+     * 按概率提前刷新（XFetch）
+     * 剩余过期时间小于 方法耗时 * refreshBeta * -ln(随机数) 时提交后台刷新，越接近过期、方法越慢，刷新概率越高
+     */
+    private void refreshAheadIfNeeded(ProceedingJoinPoint joinPoint, RedisCache redisCache, Method method, String cacheKey) {
+        Long loadCost = loadCosts.get(method);
+        if (loadCost == null || singleFlight.isLoading(cacheKey)) {
+            return;
+        }
+        try {
+            Long ttl = redisService.getExpire(cacheKey, TimeUnit.MILLISECONDS);
+            if (ttl == null || ttl <= 0) {
+                return;
+            }
+            double gap = Math.max(loadCost, 1L) * redisCache.refreshBeta() * -Math.log(ThreadLocalRandom.current().nextDouble());
+            if (gap < ttl) {
+                return;
+            }
+            refreshExecutor.execute(() -> refresh(joinPoint, redisCache, method, cacheKey));
+        } catch (RejectedExecutionException e) {
+            log.debug("提前刷新任务已满，跳过: {}", cacheKey);
+        } catch (Exception e) {
+            log.warn("提前刷新判定失败: {}, {}", cacheKey, e.getMessage());
+        }
+    }
+    
+    /**
+     * 后台刷新缓存，本节点已有进行中的加载时跳过，开启distributedSync时未抢到锁则由其他节点刷新
+     */
+    private void refresh(ProceedingJoinPoint joinPoint, RedisCache redisCache, Method method, String cacheKey) {
+        try {
+            boolean refreshed = singleFlight.tryExecute(cacheKey, () -> {
+                if (!redisCache.distributedSync()) {
+                    return load(joinPoint, redisCache, method, cacheKey);
+                }
+                String lockKey = RedisConstants.LOCK_PREFIX + cacheKey;
+                String requestId = UUID.randomUUID().toString();
+                if (!redisService.tryLock(lockKey, requestId, redisCache.syncTimeout())) {
+                    return null;
+                }
+                try {
+                    return load(joinPoint, redisCache, method, cacheKey);
+                } finally {
+                    redisService.releaseLock(lockKey, requestId);
+                }
+            });
+            if (refreshed) {
+                log.debug("提前刷新缓存完成: {}", cacheKey);
+            }
+        } catch (Throwable e) {
+            log.warn("提前刷新缓存失败: {}, {}", cacheKey, e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
     /**
      * 生成缓存key
      */
     private String generateKey(String keyExpression, Method method, Object[] args) {
         if (keyExpression.isEmpty()) {
-            // 默认key生成策略：类名.方法名(参数类型)
-            StringBuilder keyBuilder = new StringBuilder();
-            keyBuilder.append(method.getDeclaringClass().getSimpleName())
-                     .append(".")
-                     .append(method.getName())
-                     .append("(");
-            
-            Class<?>[] paramTypes = method.getParameterTypes();
-            for (int i = 0; i < paramTypes.length; i++) {
-                if (i > 0) keyBuilder.append(",");
-                keyBuilder.append(paramTypes[i].getSimpleName());
-            }
-            keyBuilder.append(")");
-            
-            // 添加参数值的hash
-            if (args.length > 0) {
-                keyBuilder.append(":").append(Math.abs(java.util.Arrays.hashCode(args)));
-            }
-            
-            return keyBuilder.toString();
+            // 默认key生成策略：类名.方法名(参数类型):参数值的hash
+            String signature = evaluator.metadata(method).getSignature();
+            return args.length > 0 ? signature + ":" + Math.abs(java.util.Arrays.hashCode(args)) : signature;
         }
         
         // 使用SpEL表达式生成key
         try {
-            EvaluationContext context = createEvaluationContext(method, args);
-            Expression expression = parser.parseExpression(keyExpression);
-            Object value = expression.getValue(context);
+            Object value = evaluator.getValue(method, keyExpression, args);
             return value != null ? value.toString() : "";
         } catch (Exception e) {
             log.error("SpEL表达式解析失败，使用默认key生成策略: {}", keyExpression, e);
-            return method.getDeclaringClass().getSimpleName() + "." + method.getName() + ":" + Math.abs(java.util.Arrays.hashCode(args));
+            return evaluator.metadata(method).getSimpleName() + ":" + Math.abs(java.util.Arrays.hashCode(args));
         }
     }
     
@@ -140,33 +296,10 @@ public class RedisCacheAspect {
         }
         
         try {
-            EvaluationContext context = createEvaluationContext(method, args);
-            Expression expression = parser.parseExpression(condition);
-            Boolean result = expression.getValue(context, Boolean.class);
-            return result != null && result;
+            return evaluator.isTrue(method, condition, args);
         } catch (Exception e) {
             log.error("条件表达式评估失败，默认返回true: {}", condition, e);
             return true;
         }
     }
-    
-    /**
-     * 创建SpEL评估上下文
-     */
-    private EvaluationContext createEvaluationContext(Method method, Object[] args) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-        
-        // 设置参数名和值
-        String[] paramNames = nameDiscoverer.getParameterNames(method);
-        if (paramNames != null) {
-            for (int i = 0; i < paramNames.length; i++) {
-                context.setVariable(paramNames[i], args[i]);
-            }
-        }
-        
-        // 设置参数数组
-        context.setVariable("args", args);
-        
-        return context;
-    }
 }
\ No newline at end of file
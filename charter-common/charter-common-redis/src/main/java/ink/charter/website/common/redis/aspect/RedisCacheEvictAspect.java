@@ -1,6 +1,8 @@
 package ink.charter.website.common.redis.aspect;
 
 import ink.charter.website.common.redis.annotation.RedisCacheEvict;
+import ink.charter.website.common.redis.cache.CacheNamespaceManager;
+import ink.charter.website.common.redis.cache.LocalCacheRegistry;
 import ink.charter.website.common.redis.service.RedisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,17 +10,9 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
-import java.util.Set;
 
 /**
  * Redis缓存清除切面
@@ -34,9 +28,9 @@ import java.util.Set;
 public class RedisCacheEvictAspect {
 
     private final RedisService redisService;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final DefaultParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final LocalCacheRegistry localCacheRegistry;
+    private final CacheNamespaceManager cacheNamespaceManager;
+    private final AspectExpressionEvaluator evaluator = new AspectExpressionEvaluator();
 
     @Around("@annotation(redisCacheEvict)")
     public Object around(ProceedingJoinPoint joinPoint, RedisCacheEvict redisCacheEvict) throws Throwable {
@@ -83,17 +77,18 @@ public class RedisCacheEvictAspect {
      */
     private void evictCache(RedisCacheEvict redisCacheEvict, Method method, Object[] args) {
         try {
+            String cacheName = redisCacheEvict.cacheName();
             if (redisCacheEvict.allEntries()) {
-                // 清除所有缓存
-                evictAllEntries();
+                // 清除命名空间内的所有缓存
+                evictAllEntries(cacheName, method);
             } else if (!redisCacheEvict.keyPattern().isEmpty()) {
                 // 按模式批量清除
                 String pattern = generateKey(redisCacheEvict.keyPattern(), method, args);
-                evictByPattern(pattern);
+                evictByPattern(cacheName.isEmpty() ? pattern : cacheNamespaceManager.resolveKey(cacheName, pattern));
             } else if (!redisCacheEvict.key().isEmpty()) {
                 // 清除指定key
                 String key = generateKey(redisCacheEvict.key(), method, args);
-                evictByKey(key);
+                evictByKey(cacheName.isEmpty() ? key : cacheNamespaceManager.resolveKey(cacheName, key));
             } else {
                 log.warn("缓存清除配置无效，未指定key、keyPattern或allEntries: {}", method.getName());
             }
@@ -107,41 +102,36 @@ public class RedisCacheEvictAspect {
      */
     private void evictByKey(String key) {
         Boolean result = redisService.delete(key);
+        localCacheRegistry.evictKey(key);
         log.debug("清除缓存key: {}, 结果: {}", key, result);
     }
     
     /**
-     * 按模式批量清除缓存
+     * 按模式批量清除缓存（SCAN增量扫描 + UNLINK，不阻塞Redis）
      */
     private void evictByPattern(String pattern) {
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                Long deletedCount = redisService.delete(keys);
-                log.debug("按模式清除缓存: {}, 清除数量: {}", pattern, deletedCount);
-            } else {
-                log.debug("按模式清除缓存: {}, 未找到匹配的key", pattern);
-            }
+            long deletedCount = redisService.unlinkByPattern(pattern);
+            log.debug("按模式清除缓存: {}, 清除数量: {}", pattern, deletedCount);
         } catch (Exception e) {
             log.error("按模式清除缓存失败: {}", pattern, e);
         }
+        localCacheRegistry.evictPattern(pattern);
     }
     
     /**
-     * 清除所有缓存
+     * 清除命名空间内的所有缓存
+     * 递增命名空间代数后旧键立即不可见，由后台回收；未指定命名空间时不执行，避免误删令牌、锁等其他数据
      */
-    private void evictAllEntries() {
-        try {
-            // 注意：这是一个危险操作，会清除Redis中的所有数据
-            // 在生产环境中应该谨慎使用
-            Set<String> keys = redisTemplate.keys("*");
-            if (keys != null && !keys.isEmpty()) {
-                Long deletedCount = redisService.delete(keys);
-                log.warn("清除所有缓存，清除数量: {}", deletedCount);
-            }
-        } catch (Exception e) {
-            log.error("清除所有缓存失败", e);
+    private void evictAllEntries(String cacheName, Method method) {
+        if (cacheName.isEmpty()) {
+            log.warn("allEntries需要指定cacheName，已忽略: {}", method.getName());
+            return;
         }
+        String stalePrefix = cacheNamespaceManager.evictNamespace(cacheName);
+        // 新代数未知时清除本地该命名空间下的全部代数
+        localCacheRegistry.evictPattern((stalePrefix != null ? stalePrefix : cacheNamespaceManager.namespacePrefix(cacheName)) + "*");
+        log.debug("清除缓存命名空间: {}", cacheName);
     }
     
     /**
@@ -154,9 +144,7 @@ public class RedisCacheEvictAspect {
         
         // 使用SpEL表达式生成key
         try {
-            EvaluationContext context = createEvaluationContext(method, args);
-            Expression expression = parser.parseExpression(keyExpression);
-            Object value = expression.getValue(context);
+            Object value = evaluator.getValue(method, keyExpression, args);
             return value != null ? value.toString() : "";
         } catch (Exception e) {
             log.error("SpEL表达式解析失败: {}", keyExpression, e);
@@ -173,33 +161,10 @@ public class RedisCacheEvictAspect {
         }
         
         try {
-            EvaluationContext context = createEvaluationContext(method, args);
-            Expression expression = parser.parseExpression(condition);
-            Boolean result = expression.getValue(context, Boolean.class);
-            return result != null && result;
+            return evaluator.isTrue(method, condition, args);
         } catch (Exception e) {
             log.error("条件表达式评估失败，默认返回true: {}", condition, e);
             return true;
         }
     }
-    
-    /**
-     * 创建SpEL评估上下文
-     */
-    private EvaluationContext createEvaluationContext(Method method, Object[] args) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-        
-        // 设置参数名和值
-        String[] paramNames = nameDiscoverer.getParameterNames(method);
-        if (paramNames != null) {
-            for (int i = 0; i < paramNames.length; i++) {
-                context.setVariable(paramNames[i], args[i]);
-            }
-        }
-        
-        // 设置参数数组
-        context.setVariable("args", args);
-        
-        return context;
-    }
 }
\ No newline at end of file
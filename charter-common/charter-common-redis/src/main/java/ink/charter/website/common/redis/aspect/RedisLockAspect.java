@@ -8,12 +8,6 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
@@ -34,8 +28,7 @@ import java.util.concurrent.TimeUnit;
 public class RedisLockAspect {
 
     private final RedisService redisService;
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final DefaultParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final AspectExpressionEvaluator evaluator = new AspectExpressionEvaluator();
 
     @Around("@annotation(redisLock)")
     public Object around(ProceedingJoinPoint joinPoint, RedisLock redisLock) throws Throwable {
@@ -119,14 +112,12 @@ public class RedisLockAspect {
     private String generateLockKey(String keyExpression, Method method, Object[] args) {
         if (keyExpression.isEmpty()) {
             // 默认锁key生成策略：lock:类名.方法名
-            return "lock:" + method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            return "lock:" + evaluator.metadata(method).getSimpleName();
         }
         
         // 使用SpEL表达式生成key
         try {
-            EvaluationContext context = createEvaluationContext(method, args);
-            Expression expression = parser.parseExpression(keyExpression);
-            Object value = expression.getValue(context);
+            Object value = evaluator.getValue(method, keyExpression, args);
             String key = value != null ? value.toString() : "";
             
             // 确保锁key有前缀
@@ -137,27 +128,7 @@ public class RedisLockAspect {
             return key;
         } catch (Exception e) {
             log.error("SpEL表达式解析失败，使用默认锁key生成策略: {}", keyExpression, e);
-            return "lock:" + method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            return "lock:" + evaluator.metadata(method).getSimpleName();
         }
     }
-    
-    /**
-     * 创建SpEL评估上下文
-     */
-    private EvaluationContext createEvaluationContext(Method method, Object[] args) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-
-        // 设置参数名和值
-        String[] paramNames = nameDiscoverer.getParameterNames(method);
-        if (paramNames != null) {
-            for (int i = 0; i < paramNames.length; i++) {
-                context.setVariable(paramNames[i], args[i]);
-            }
-        }
-
-        // 设置参数数组
-        context.setVariable("args", args);
-
-        return context;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package ink.charter.website.common.redis.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 进程内布隆过滤器
+ * 线程安全（位数组基于AtomicLongArray），采用双重哈希生成多个位下标；
+ * 判断结果为"不存在"时一定不存在，为"可能存在"时需回源确认
+ *
+ * @author charter
+ * @create 2025/11/22
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    /**
+     * 位数组长度
+     */
+    private final long bitSize;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int hashCount;
+
+    /**
+     * 构造布隆过滤器
+     *
+     * @param expectedInsertions 预期元素数量
+     * @param fpp 期望误判率（0~1之间）
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("布隆过滤器预期元素数量必须大于0");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("布隆过滤器误判率必须在0到1之间");
+        }
+        long numBits = (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (numBits + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param value 元素
+     * @return 是否有位发生变化（false表示元素可能已存在）
+     */
+    public boolean put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            changed |= setBit(index);
+        }
+        return changed;
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @param value 元素
+     * @return false表示一定不存在，true表示可能存在
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 设置指定位
+     */
+    private boolean setBit(long index) {
+        int wordIndex = (int) (index >>> 6);
+        long mask = 1L << index;
+        long oldValue;
+        do {
+            oldValue = bits.get(wordIndex);
+            if ((oldValue & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(wordIndex, oldValue, oldValue | mask));
+        return true;
+    }
+
+    /**
+     * 64位FNV-1a哈希并做混淆
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 fmix64 混淆函数
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53e2b5bL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
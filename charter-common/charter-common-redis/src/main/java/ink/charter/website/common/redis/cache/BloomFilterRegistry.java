@@ -0,0 +1,177 @@
+package ink.charter.website.common.redis.cache;
+
+import ink.charter.website.common.redis.service.RedisService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 命名布隆过滤器注册表
+ * 每个过滤器由数据源全量加载（如数据库中已存在的ID、MD5），用于在访问Redis和数据库之前拦截一定不存在的键。
+ * 新增元素时通过Redis发布订阅同步到所有节点；布隆过滤器不支持删除，
+ * 因此定期从数据源重建以清理已删除的元素并弥补丢失的通知。
+ * 过滤器未注册或尚未加载完成时一律视为"可能存在"
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Slf4j
+@Component
+public class BloomFilterRegistry implements MessageListener {
+
+    /**
+     * 元素新增通知频道
+     */
+    public static final String ADD_CHANNEL = "cache:bloom:add";
+
+    private static final char MESSAGE_SEPARATOR = '\n';
+
+    /**
+     * 重建间隔（分钟）
+     */
+    private static final long REBUILD_INTERVAL_MINUTES = 30L;
+
+    private final RedisService redisService;
+    private final ConcurrentHashMap<String, Registration> registrations = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public BloomFilterRegistry(RedisService redisService, RedisMessageListenerContainer listenerContainer) {
+        this.redisService = redisService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-bloom-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        listenerContainer.addMessageListener(this, new ChannelTopic(ADD_CHANNEL));
+    }
+
+    /**
+     * 注册布隆过滤器并在后台加载，之后定期重建
+     *
+     * @param name 过滤器名称
+     * @param expectedInsertions 预期元素数量
+     * @param fpp 期望误判率
+     * @param loader 全量元素加载器
+     */
+    public void register(String name, long expectedInsertions, double fpp, Supplier<? extends Collection<String>> loader) {
+        Registration registration = new Registration(expectedInsertions, fpp, loader);
+        if (registrations.putIfAbsent(name, registration) != null) {
+            log.warn("布隆过滤器已注册，忽略重复注册: {}", name);
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(() -> rebuild(name, registration), 0L, REBUILD_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @param name 过滤器名称
+     * @param value 元素
+     * @return false表示一定不存在；过滤器未注册或未加载完成时返回true
+     */
+    public boolean mightContain(String name, String value) {
+        Registration registration = registrations.get(name);
+        if (registration == null || value == null) {
+            return true;
+        }
+        BloomFilter filter = registration.filter;
+        return filter == null || filter.mightContain(value);
+    }
+
+    /**
+     * 添加元素并通知所有节点
+     *
+     * @param name 过滤器名称
+     * @param value 元素
+     */
+    public void put(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        add(name, value);
+        try {
+            redisService.publish(ADD_CHANNEL, name + MESSAGE_SEPARATOR + value);
+        } catch (Exception e) {
+            log.warn("发布布隆过滤器新增通知失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(MESSAGE_SEPARATOR);
+        if (index > 0) {
+            add(body.substring(0, index), body.substring(index + 1));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void add(String name, String value) {
+        Registration registration = registrations.get(name);
+        if (registration == null) {
+            return;
+        }
+        BloomFilter filter = registration.filter;
+        if (filter != null) {
+            filter.put(value);
+        }
+        // 重建期间新增的元素同时写入新过滤器
+        BloomFilter building = registration.building;
+        if (building != null) {
+            building.put(value);
+        }
+    }
+
+    private void rebuild(String name, Registration registration) {
+        BloomFilter building = new BloomFilter(registration.expectedInsertions, registration.fpp);
+        registration.building = building;
+        try {
+            Collection<String> values = registration.loader.get();
+            for (String value : values) {
+                if (value != null) {
+                    building.put(value);
+                }
+            }
+            registration.filter = building;
+            log.info("布隆过滤器加载完成: {}, 元素数量: {}", name, values.size());
+        } catch (Exception e) {
+            log.error("布隆过滤器加载失败: {}", name, e);
+        } finally {
+            registration.building = null;
+        }
+    }
+
+    /**
+     * 过滤器注册信息
+     */
+    private static final class Registration {
+
+        private final long expectedInsertions;
+        private final double fpp;
+        private final Supplier<? extends Collection<String>> loader;
+        private volatile BloomFilter filter;
+        private volatile BloomFilter building;
+
+        private Registration(long expectedInsertions, double fpp, Supplier<? extends Collection<String>> loader) {
+            this.expectedInsertions = expectedInsertions;
+            this.fpp = fpp;
+            this.loader = loader;
+        }
+    }
+}
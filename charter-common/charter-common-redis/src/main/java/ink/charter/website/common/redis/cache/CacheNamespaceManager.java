@@ -0,0 +1,220 @@
+package ink.charter.website.common.redis.cache;
+
+import ink.charter.website.common.redis.service.RedisService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存命名空间管理器
+ * 指定了缓存名称的缓存键形如 cache:{名称}:v{代数}:{键}，代数保存在Redis Hash中。
+ * 清空命名空间只需递增代数（一次HINCRBY），旧代数的键由后台线程通过SCAN + UNLINK回收，
+ * 未回收前也会随各自的过期时间自然失效。
+ * 各节点在本地保存代数副本，变更时通过发布订阅同步，并定期回源校正
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Slf4j
+@Component
+public class CacheNamespaceManager implements MessageListener {
+
+    /**
+     * 代数变更通知频道
+     */
+    public static final String GENERATION_CHANNEL = "cache:namespace:generation";
+
+    /**
+     * 命名空间代数Hash键
+     */
+    private static final String GENERATION_KEY = "cache:generation";
+
+    private static final String KEY_PREFIX = "cache:";
+    private static final String GENERATION_SEPARATOR = "=";
+
+    /**
+     * 本地代数副本有效期（毫秒），用于弥补丢失的通知
+     */
+    private static final long GENERATION_TTL_MILLIS = 30000L;
+
+    /**
+     * 关闭时等待回收任务结束的时间（秒）
+     */
+    private static final long SHUTDOWN_WAIT_SECONDS = 5L;
+
+    /**
+     * 递增代数并发布变更通知
+     * KEYS: 1 代数Hash
+     * ARGV: 1 缓存名称 2 通知频道
+     * 返回: 新代数
+     */
+    private static final String INCREMENT_SCRIPT =
+            "local generation = redis.call('HINCRBY', KEYS[1], ARGV[1], 1) " +
+            "redis.call('PUBLISH', ARGV[2], ARGV[1] .. '" + GENERATION_SEPARATOR + "' .. generation) " +
+            "return generation";
+
+    /**
+     * 读取代数
+     * KEYS: 1 代数Hash
+     * ARGV: 1 缓存名称
+     * 返回: 当前代数，未清空过时返回0
+     */
+    private static final String GET_SCRIPT =
+            "return tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')";
+
+    private static final DefaultRedisScript<Long> INCREMENT = new DefaultRedisScript<>(INCREMENT_SCRIPT, Long.class);
+    private static final DefaultRedisScript<Long> GET = new DefaultRedisScript<>(GET_SCRIPT, Long.class);
+
+    private final RedisService redisService;
+    private final ConcurrentHashMap<String, Generation> generations = new ConcurrentHashMap<>();
+    private final ExecutorService reclaimer;
+
+    public CacheNamespaceManager(RedisService redisService, RedisMessageListenerContainer listenerContainer) {
+        this.redisService = redisService;
+        this.reclaimer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "cache-namespace-reclaim");
+            thread.setDaemon(true);
+            return thread;
+        });
+        listenerContainer.addMessageListener(this, new ChannelTopic(GENERATION_CHANNEL));
+    }
+
+    /**
+     * 生成命名空间内的缓存键
+     *
+     * @param cacheName 缓存名称
+     * @param key 缓存键
+     * @return 带命名空间与代数的缓存键
+     */
+    public String resolveKey(String cacheName, String key) {
+        return currentPrefix(cacheName) + key;
+    }
+
+    /**
+     * 当前代数的键前缀
+     *
+     * @param cacheName 缓存名称
+     * @return 键前缀，形如 cache:{名称}:v{代数}:
+     */
+    public String currentPrefix(String cacheName) {
+        return prefix(cacheName, generation(cacheName));
+    }
+
+    /**
+     * 命名空间内全部代数共用的键前缀
+     *
+     * @param cacheName 缓存名称
+     * @return 键前缀，形如 cache:{名称}:
+     */
+    public String namespacePrefix(String cacheName) {
+        return KEY_PREFIX + cacheName + ":";
+    }
+
+    /**
+     * 清空命名空间：递增代数并在后台回收旧代数的键
+     * 代数的读写不参与Spring事务，事务内调用时同样立即生效并拿到新代数
+     *
+     * @param cacheName 缓存名称
+     * @return 旧代数的键前缀，未拿到新代数时返回null
+     */
+    public String evictNamespace(String cacheName) {
+        Long generation = redisService.executeScriptOutsideTransaction(INCREMENT, List.of(GENERATION_KEY),
+                cacheName, GENERATION_CHANNEL);
+        if (generation == null) {
+            // 新代数未知时不更新本地副本也不回收，等待通知或副本过期后回源
+            generations.remove(cacheName);
+            log.warn("递增缓存命名空间代数未返回结果: {}", cacheName);
+            return null;
+        }
+        String stalePrefix = prefix(cacheName, generation - 1);
+        generations.merge(cacheName, new Generation(generation),
+                (current, update) -> current.value > update.value ? current : update);
+        reclaimer.execute(() -> reclaim(stalePrefix));
+        return stalePrefix;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int index = body.lastIndexOf(GENERATION_SEPARATOR);
+            if (index > 0) {
+                long generation = Long.parseLong(body.substring(index + 1));
+                generations.merge(body.substring(0, index), new Generation(generation),
+                        (current, update) -> current.value > update.value ? current : update);
+            }
+        } catch (Exception e) {
+            log.warn("处理缓存命名空间代数变更通知失败: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reclaimer.shutdown();
+        try {
+            if (!reclaimer.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                reclaimer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            reclaimer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long generation(String cacheName) {
+        Generation cached = generations.get(cacheName);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached.value;
+        }
+        Long generation = redisService.executeScriptOutsideTransaction(GET, List.of(GENERATION_KEY), cacheName);
+        if (generation == null) {
+            return cached != null ? cached.value : 0L;
+        }
+        generations.put(cacheName, new Generation(generation));
+        return generation;
+    }
+
+    private void reclaim(String stalePrefix) {
+        try {
+            long removed = redisService.unlinkByPattern(stalePrefix + "*");
+            log.debug("回收缓存命名空间旧代数: {}, 删除数量: {}", stalePrefix, removed);
+        } catch (Exception e) {
+            log.warn("回收缓存命名空间旧代数失败: {}, {}", stalePrefix, e.getMessage());
+        }
+    }
+
+    private String prefix(String cacheName, long generation) {
+        return namespacePrefix(cacheName) + "v" + generation + ":";
+    }
+
+    /**
+     * 本地代数副本
+     */
+    private static final class Generation {
+
+        private final long value;
+        private final long loadedAt;
+
+        private Generation(long value) {
+            this.value = value;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        private boolean isExpired(long now) {
+            return now - loadedAt >= GENERATION_TTL_MILLIS;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ink.charter.website.common.redis.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * 进程内本地缓存
+ * 基于ConcurrentHashMap实现，支持条目过期与容量上限，用作Redis前置的近端缓存
+ *
+ * @author charter
+ * @create 2025/11/21
+ */
+public class LocalCache<K, V> {
+
+    /**
+     * 容量满时每次淘汰的比例（百分比）
+     */
+    private static final int EVICT_PERCENT = 10;
+
+    private final ConcurrentHashMap<K, Entry<V>> store;
+
+    /**
+     * 默认过期时间（毫秒）
+     */
+    private final long defaultTtlMillis;
+
+    /**
+     * 最大条目数
+     */
+    private final int maxSize;
+
+    /**
+     * 构造本地缓存
+     *
+     * @param defaultTtlMillis 默认过期时间（毫秒）
+     * @param maxSize 最大条目数
+     */
+    public LocalCache(long defaultTtlMillis, int maxSize) {
+        if (defaultTtlMillis <= 0) {
+            throw new IllegalArgumentException("本地缓存过期时间必须大于0");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("本地缓存容量必须大于0");
+        }
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.maxSize = maxSize;
+        this.store = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    /**
+     * 获取缓存值，不存在或已过期时返回null
+     *
+     * @param key 键
+     * @return 缓存值
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<V> entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 写入缓存（使用默认过期时间）
+     *
+     * @param key 键
+     * @param value 值
+     */
+    public void put(K key, V value) {
+        put(key, value, defaultTtlMillis);
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key 键
+     * @param value 值
+     * @param ttlMillis 过期时间（毫秒），不超过默认过期时间
+     */
+    public void put(K key, V value, long ttlMillis) {
+        if (key == null || value == null || ttlMillis <= 0) {
+            return;
+        }
+        if (store.size() >= maxSize && !store.containsKey(key)) {
+            evict();
+        }
+        long expireAt = System.currentTimeMillis() + Math.min(ttlMillis, defaultTtlMillis);
+        store.put(key, new Entry<>(value, expireAt));
+    }
+
+    /**
+     * 移除缓存
+     *
+     * @param key 键
+     */
+    public void invalidate(K key) {
+        if (key != null) {
+            store.remove(key);
+        }
+    }
+
+    /**
+     * 按条件移除缓存
+     *
+     * @param predicate 条件（键, 值）
+     * @return 移除的数量
+     */
+    public int invalidateIf(BiPredicate<K, V> predicate) {
+        int removed = 0;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = store.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> next = iterator.next();
+            if (predicate.test(next.getKey(), next.getValue().value)) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        store.clear();
+    }
+
+    /**
+     * 获取当前条目数（包含尚未清理的过期条目）
+     *
+     * @return 条目数
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * 淘汰条目：先清理过期条目，仍超出容量时按迭代顺序淘汰一部分
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        store.entrySet().removeIf(e -> e.getValue().isExpired(now));
+        if (store.size() < maxSize) {
+            return;
+        }
+        int toRemove = Math.max(1, maxSize * EVICT_PERCENT / 100);
+        Iterator<K> iterator = store.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ink.charter.website.common.redis.cache;
+
+import ink.charter.website.common.redis.annotation.RedisCache;
+import ink.charter.website.common.redis.service.RedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.PatternMatchUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存注解本地缓存注册表
+ * 为开启local的方法各自维护一个有界本地缓存；清除缓存时先移除本节点副本，
+ * 再通过Redis发布订阅通知其他节点移除
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Slf4j
+@Component
+public class LocalCacheRegistry implements MessageListener {
+
+    /**
+     * 本地缓存失效通知频道
+     */
+    public static final String EVICT_CHANNEL = "cache:local:evict";
+
+    private static final String KEY_MESSAGE_PREFIX = "key:";
+    private static final String PATTERN_MESSAGE_PREFIX = "pattern:";
+    private static final String ALL_MESSAGE = "all";
+
+    private final RedisService redisService;
+
+    /**
+     * 方法 -> 本地缓存
+     */
+    private final ConcurrentHashMap<Method, LocalCache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    public LocalCacheRegistry(RedisService redisService, RedisMessageListenerContainer listenerContainer) {
+        this.redisService = redisService;
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * 读取本地缓存
+     *
+     * @param method 缓存方法
+     * @param key 缓存键
+     * @return 缓存值，不存在时返回null
+     */
+    public Object get(Method method, String key) {
+        LocalCache<String, Object> cache = caches.get(method);
+        return cache != null ? cache.get(key) : null;
+    }
+
+    /**
+     * 写入本地缓存
+     *
+     * @param method 缓存方法
+     * @param redisCache 缓存注解
+     * @param key 缓存键
+     * @param value 缓存值
+     */
+    public void put(Method method, RedisCache redisCache, String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        caches.computeIfAbsent(method, m -> createCache(redisCache)).put(key, value);
+    }
+
+    /**
+     * 移除指定键并通知所有节点
+     *
+     * @param key 缓存键
+     */
+    public void evictKey(String key) {
+        invalidateKey(key);
+        publish(KEY_MESSAGE_PREFIX + key);
+    }
+
+    /**
+     * 按模式移除并通知所有节点（仅支持*通配）
+     *
+     * @param pattern 键模式
+     */
+    public void evictPattern(String pattern) {
+        invalidatePattern(pattern);
+        publish(PATTERN_MESSAGE_PREFIX + pattern);
+    }
+
+    /**
+     * 清空全部本地缓存并通知所有节点
+     */
+    public void evictAll() {
+        invalidateAll();
+        publish(ALL_MESSAGE);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(KEY_MESSAGE_PREFIX)) {
+                invalidateKey(body.substring(KEY_MESSAGE_PREFIX.length()));
+            } else if (body.startsWith(PATTERN_MESSAGE_PREFIX)) {
+                invalidatePattern(body.substring(PATTERN_MESSAGE_PREFIX.length()));
+            } else if (ALL_MESSAGE.equals(body)) {
+                invalidateAll();
+            }
+        } catch (Exception e) {
+            log.warn("处理本地缓存失效通知失败: {}", e.getMessage());
+        }
+    }
+
+    private LocalCache<String, Object> createCache(RedisCache redisCache) {
+        long ttlMillis = redisCache.localTtl() * 1000;
+        if (redisCache.expire() > 0) {
+            ttlMillis = Math.min(ttlMillis, redisCache.timeUnit().toMillis(redisCache.expire()));
+        }
+        return new LocalCache<>(Math.max(ttlMillis, 1L), Math.max(redisCache.localMaxEntries(), 1));
+    }
+
+    private void invalidateKey(String key) {
+        caches.values().forEach(cache -> cache.invalidate(key));
+    }
+
+    private void invalidatePattern(String pattern) {
+        caches.values().forEach(cache -> cache.invalidateIf((key, value) -> PatternMatchUtils.simpleMatch(pattern, key)));
+    }
+
+    private void invalidateAll() {
+        caches.values().forEach(LocalCache::invalidateAll);
+    }
+
+    private void publish(String message) {
+        try {
+            redisService.publish(EVICT_CHANNEL, message);
+        } catch (Exception e) {
+            log.warn("发布本地缓存失效通知失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ink.charter.website.common.redis.cache;
+
+/**
+ * 缓存空值标记
+ * 方法返回null时写入此标记代替null，使"已确认不存在"与"缓存未命中"可以区分；
+ * 标记为字符串，经Jackson序列化后原样读回，不依赖类型信息
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+public final class NullValue {
+
+    /**
+     * 空值标记
+     */
+    public static final String SENTINEL = "@@charter:null@@";
+
+    private NullValue() {
+    }
+
+    /**
+     * 是否为空值标记
+     *
+     * @param value 缓存值
+     * @return 是否为空值标记
+     */
+    public static boolean isNull(Object value) {
+        return SENTINEL.equals(value);
+    }
+
+    /**
+     * 将方法返回值转换为缓存值
+     *
+     * @param value 方法返回值
+     * @return null转换为空值标记，其他原样返回
+     */
+    public static Object wrap(Object value) {
+        return value == null ? SENTINEL : value;
+    }
+
+    /**
+     * 将缓存值还原为方法返回值
+     *
+     * @param value 缓存值
+     * @return 空值标记还原为null，其他原样返回
+     */
+    public static Object unwrap(Object value) {
+        return isNull(value) ? null : value;
+    }
+}
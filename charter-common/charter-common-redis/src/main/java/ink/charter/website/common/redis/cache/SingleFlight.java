@@ -0,0 +1,103 @@
+package ink.charter.website.common.redis.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 进程内单飞加载
+ * 同一个键同时只有一个线程执行加载，其余线程等待并共享其结果；加载完成后立即移除，不缓存结果
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+public class SingleFlight {
+
+    /**
+     * 键 -> 正在进行的加载
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * 加载逻辑
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * 执行加载
+         *
+         * @return 加载结果
+         * @throws Throwable 加载异常
+         */
+        Object load() throws Throwable;
+    }
+
+    /**
+     * 执行或加入同一键的加载
+     * 等待超时后由当前线程自行加载，不会无限阻塞
+     *
+     * @param key 键
+     * @param timeoutMillis 等待其他线程加载的最长时间（毫秒）
+     * @param loader 加载逻辑
+     * @return 加载结果
+     * @throws Throwable 加载异常
+     */
+    public Object execute(String key, long timeoutMillis, Loader loader) throws Throwable {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            try {
+                return existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } catch (TimeoutException e) {
+                return loader.load();
+            }
+        }
+        return lead(key, flight, loader);
+    }
+
+    /**
+     * 同一键没有进行中的加载时才执行，否则直接跳过
+     * 适用于后台刷新等不需要结果的场景，避免与进行中的加载重复
+     *
+     * @param key 键
+     * @param loader 加载逻辑
+     * @return 是否执行了加载
+     * @throws Throwable 加载异常
+     */
+    public boolean tryExecute(String key, Loader loader) throws Throwable {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (flights.putIfAbsent(key, flight) != null) {
+            return false;
+        }
+        lead(key, flight, loader);
+        return true;
+    }
+
+    /**
+     * 键是否正在加载
+     *
+     * @param key 键
+     * @return 是否正在加载
+     */
+    public boolean isLoading(String key) {
+        return flights.containsKey(key);
+    }
+
+    private Object lead(String key, CompletableFuture<Object> flight, Loader loader) throws Throwable {
+        try {
+            Object result = loader.load();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ink.charter.website.common.redis.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可切换编码的Redis值序列化器
+ * 写入使用配置的默认编码（也可按缓存指定编码），读取时按编码注册顺序识别数据头，
+ * 从JSON切换到二进制编码期间两种格式的值可同时读取
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * 编码名称 -> 编解码器（读取时按此顺序识别，兜底的JSON应放在最后）
+     */
+    private final Map<String, ValueCodec> codecs = new LinkedHashMap<>();
+
+    private final ValueCodec writeCodec;
+
+    /**
+     * 构造序列化器
+     *
+     * @param codecs 编解码器列表（兜底编码放在最后）
+     * @param writeCodecName 默认写入编码名称
+     */
+    public CodecRedisSerializer(List<ValueCodec> codecs, String writeCodecName) {
+        for (ValueCodec codec : codecs) {
+            this.codecs.put(codec.name(), codec);
+        }
+        this.writeCodec = this.codecs.get(writeCodecName);
+        if (this.writeCodec == null) {
+            throw new IllegalArgumentException("未知的Redis值编码: " + writeCodecName + "，可选值: " + this.codecs.keySet());
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        return serialize(value, writeCodec);
+    }
+
+    /**
+     * 使用指定编码序列化
+     *
+     * @param value 值
+     * @param codecName 编码名称，为空或未知时使用默认编码
+     * @return 字节数组
+     */
+    public byte[] serialize(Object value, String codecName) throws SerializationException {
+        ValueCodec codec = codecName == null || codecName.isEmpty() ? writeCodec : codecs.getOrDefault(codecName, writeCodec);
+        return serialize(value, codec);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        for (ValueCodec codec : codecs.values()) {
+            if (codec.canDecode(bytes)) {
+                try {
+                    return codec.decode(bytes);
+                } catch (Exception e) {
+                    throw new SerializationException("Redis值解码失败（" + codec.name() + "）: " + e.getMessage(), e);
+                }
+            }
+        }
+        throw new SerializationException("无法识别的Redis值编码");
+    }
+
+    private static byte[] serialize(Object value, ValueCodec codec) {
+        if (value == null) {
+            return EMPTY;
+        }
+        try {
+            return codec.encode(value);
+        } catch (Exception e) {
+            throw new SerializationException("Redis值编码失败（" + codec.name() + "）: " + e.getMessage(), e);
+        }
+    }
+}
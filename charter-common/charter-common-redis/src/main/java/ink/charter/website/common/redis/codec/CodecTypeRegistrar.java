@@ -0,0 +1,19 @@
+package ink.charter.website.common.redis.codec;
+
+/**
+ * 编码类型注册器
+ * 各模块声明此类型的Bean，为经常写入Redis的类注册固定编号
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@FunctionalInterface
+public interface CodecTypeRegistrar {
+
+    /**
+     * 注册类型
+     *
+     * @param registry 类型注册表
+     */
+    void register(CodecTypeRegistry registry);
+}
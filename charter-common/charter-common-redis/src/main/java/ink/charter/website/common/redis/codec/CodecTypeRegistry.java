@@ -0,0 +1,101 @@
+package ink.charter.website.common.redis.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编码类型注册表
+ * 二进制编码中已注册的类以短编号（如#100）代替完整类名写入类型信息，未注册的类仍写入类名。
+ * 编号写入Redis后即成为数据的一部分，不得修改或复用；1~99保留给框架，业务类从100开始
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+public class CodecTypeRegistry {
+
+    private static final String ID_PREFIX = "#";
+
+    /**
+     * 业务类起始编号
+     */
+    public static final int APPLICATION_ID_START = 100;
+
+    private final ConcurrentHashMap<Class<?>, String> ids = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Class<?>> types = new ConcurrentHashMap<>();
+
+    /**
+     * 创建包含常用JDK类型的注册表
+     *
+     * @return 注册表
+     */
+    public static CodecTypeRegistry withDefaults() {
+        CodecTypeRegistry registry = new CodecTypeRegistry();
+        registry.register(1, ArrayList.class);
+        registry.register(2, LinkedList.class);
+        registry.register(3, HashMap.class);
+        registry.register(4, LinkedHashMap.class);
+        registry.register(5, TreeMap.class);
+        registry.register(6, HashSet.class);
+        registry.register(7, LinkedHashSet.class);
+        registry.register(8, TreeSet.class);
+        registry.register(9, ConcurrentHashMap.class);
+        registry.register(10, Date.class);
+        registry.register(11, BigDecimal.class);
+        registry.register(12, BigInteger.class);
+        return registry;
+    }
+
+    /**
+     * 注册类型
+     *
+     * @param id 编号（正整数，注册后不得修改）
+     * @param type 类型
+     * @return 注册表
+     */
+    public CodecTypeRegistry register(int id, Class<?> type) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("编码类型编号必须大于0: " + id);
+        }
+        String typeId = ID_PREFIX + id;
+        Class<?> existingType = types.putIfAbsent(typeId, type);
+        if (existingType != null && existingType != type) {
+            throw new IllegalStateException("编码类型编号冲突: " + id + " 已注册为 " + existingType.getName());
+        }
+        String existingId = ids.putIfAbsent(type, typeId);
+        if (existingId != null && !existingId.equals(typeId)) {
+            types.remove(typeId, type);
+            throw new IllegalStateException("编码类型重复注册: " + type.getName() + " 已注册为 " + existingId);
+        }
+        return this;
+    }
+
+    /**
+     * 获取类型编号
+     *
+     * @param type 类型
+     * @return 编号，未注册时返回null
+     */
+    public String idOf(Class<?> type) {
+        return ids.get(type);
+    }
+
+    /**
+     * 根据编号获取类型
+     *
+     * @param id 编号
+     * @return 类型，不是注册编号时返回null
+     */
+    public Class<?> typeOf(String id) {
+        return id.startsWith(ID_PREFIX) ? types.get(id) : null;
+    }
+}
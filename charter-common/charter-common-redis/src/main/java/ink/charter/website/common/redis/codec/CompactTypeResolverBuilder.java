@@ -0,0 +1,83 @@
+package ink.charter.website.common.redis.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * 紧凑类型信息构建器
+ * 与activateDefaultTyping(NON_FINAL)的作用范围相同，但已注册的类写入短编号而非完整类名
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+class CompactTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient CodecTypeRegistry registry;
+
+    CompactTypeResolverBuilder(CodecTypeRegistry registry) {
+        super(ObjectMapper.DefaultTyping.NON_FINAL, LaissezFaireSubTypeValidator.instance);
+        this.registry = registry;
+        init(JsonTypeInfo.Id.CLASS, null);
+        inclusion(JsonTypeInfo.As.WRAPPER_ARRAY);
+    }
+
+    @Override
+    protected TypeIdResolver idResolver(MapperConfig<?> config, JavaType baseType, PolymorphicTypeValidator subtypeValidator,
+                                        Collection<NamedType> subtypes, boolean forSer, boolean forDeser) {
+        return new CompactTypeIdResolver(baseType, config.getTypeFactory(), subtypeValidator, registry);
+    }
+
+    /**
+     * 优先使用注册编号的类型标识解析器
+     */
+    private static final class CompactTypeIdResolver extends ClassNameIdResolver {
+
+        private final CodecTypeRegistry registry;
+
+        private CompactTypeIdResolver(JavaType baseType, TypeFactory typeFactory, PolymorphicTypeValidator validator,
+                                      CodecTypeRegistry registry) {
+            super(baseType, typeFactory, validator);
+            this.registry = registry;
+        }
+
+        @Override
+        public String idFromValue(Object value) {
+            String id = registry.idOf(value.getClass());
+            return id != null ? id : super.idFromValue(value);
+        }
+
+        @Override
+        public String idFromValueAndType(Object value, Class<?> type) {
+            String id = registry.idOf(type);
+            return id != null ? id : super.idFromValueAndType(value, type);
+        }
+
+        @Override
+        public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+            Class<?> type = registry.typeOf(id);
+            if (type != null) {
+                return context.getTypeFactory().constructSpecializedType(_baseType, type);
+            }
+            return super.typeFromId(context, id);
+        }
+
+        @Override
+        public JsonTypeInfo.Id getMechanism() {
+            return JsonTypeInfo.Id.CUSTOM;
+        }
+    }
+}
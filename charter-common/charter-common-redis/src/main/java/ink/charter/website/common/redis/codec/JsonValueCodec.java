@@ -0,0 +1,64 @@
+package ink.charter.website.common.redis.codec;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * JSON编解码器
+ * 与原Jackson2JsonRedisSerializer的格式完全一致（类型信息为完整类名），可读性好，便于排查
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+public class JsonValueCodec implements ValueCodec {
+
+    public static final String NAME = "json";
+
+    private final ObjectMapper objectMapper;
+
+    public JsonValueCodec() {
+        this.objectMapper = configure(new ObjectMapper());
+        this.objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+    }
+
+    /**
+     * Redis值编码的通用ObjectMapper配置
+     *
+     * @param objectMapper ObjectMapper
+     * @return 配置后的ObjectMapper
+     */
+    static <M extends ObjectMapper> M configure(M objectMapper) {
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        return objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws Exception {
+        return objectMapper.readValue(bytes, Object.class);
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        // 兜底编码：所有未被其他编码识别的数据都按JSON解析
+        return true;
+    }
+}
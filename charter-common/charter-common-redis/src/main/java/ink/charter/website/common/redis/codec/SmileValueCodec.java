@@ -0,0 +1,50 @@
+package ink.charter.website.common.redis.codec;
+
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Smile二进制编解码器
+ * Smile是JSON的二进制形式：数值按变长整数编码，重复的字段名与短字符串以回引用代替，
+ * 已注册的类以短编号代替完整类名；字段仍按名称匹配，增删字段不影响已有数据的读取。
+ * 数据以Smile头（:)\n）开头，可与JSON数据共存
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+public class SmileValueCodec implements ValueCodec {
+
+    public static final String NAME = "smile";
+
+    private static final byte[] HEADER = {':', ')', '\n'};
+
+    private final SmileMapper smileMapper;
+
+    public SmileValueCodec(CodecTypeRegistry registry) {
+        this.smileMapper = JsonValueCodec.configure(SmileMapper.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+        this.smileMapper.setDefaultTyping(new CompactTypeResolverBuilder(registry));
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        return smileMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws Exception {
+        return smileMapper.readValue(bytes, Object.class);
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return bytes.length >= HEADER.length
+                && bytes[0] == HEADER[0] && bytes[1] == HEADER[1] && bytes[2] == HEADER[2];
+    }
+}
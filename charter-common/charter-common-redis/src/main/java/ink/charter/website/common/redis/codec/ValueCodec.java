@@ -0,0 +1,44 @@
+package ink.charter.website.common.redis.codec;
+
+/**
+ * Redis值编解码器
+ * 读取时按注册顺序以数据头识别编码格式，因此不同编码写入的值可以共存，切换写入编码无需清空缓存
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+public interface ValueCodec {
+
+    /**
+     * 编码名称
+     *
+     * @return 名称，如json、smile
+     */
+    String name();
+
+    /**
+     * 编码
+     *
+     * @param value 值（非null）
+     * @return 字节数组
+     * @throws Exception 编码异常
+     */
+    byte[] encode(Object value) throws Exception;
+
+    /**
+     * 解码
+     *
+     * @param bytes 字节数组（非空）
+     * @return 值
+     * @throws Exception 解码异常
+     */
+    Object decode(byte[] bytes) throws Exception;
+
+    /**
+     * 是否能解码该数据（通常依据数据头判断）
+     *
+     * @param bytes 字节数组（非空）
+     * @return 是否能解码
+     */
+    boolean canDecode(byte[] bytes);
+}
@@ -2,6 +2,9 @@ package ink.charter.website.common.redis.config;
 
 import ink.charter.website.common.redis.aspect.RedisCacheAspect;
 import ink.charter.website.common.redis.aspect.RedisCacheEvictAspect;
+import ink.charter.website.common.redis.cache.BloomFilterRegistry;
+import ink.charter.website.common.redis.cache.CacheNamespaceManager;
+import ink.charter.website.common.redis.cache.LocalCacheRegistry;
 import ink.charter.website.common.redis.service.RedisService;
 import ink.charter.website.common.redis.service.impl.RedisServiceImpl;
 import ink.charter.website.common.redis.utils.RedisUtils;
@@ -14,6 +17,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * Redis自动配置类
@@ -49,15 +53,52 @@ public class RedisAutoConfiguration {
         return new RedisUtils();
     }
 
+    /**
+     * 注册缓存注解本地缓存注册表
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "charter.redis.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LocalCacheRegistry localCacheRegistry(RedisService redisService,
+                                                 RedisMessageListenerContainer redisMessageListenerContainer) {
+        log.info("初始化缓存注解本地缓存注册表");
+        return new LocalCacheRegistry(redisService, redisMessageListenerContainer);
+    }
+
+    /**
+     * 注册缓存命名空间管理器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "charter.redis.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheNamespaceManager cacheNamespaceManager(RedisService redisService,
+                                                       RedisMessageListenerContainer redisMessageListenerContainer) {
+        log.info("初始化缓存命名空间管理器");
+        return new CacheNamespaceManager(redisService, redisMessageListenerContainer);
+    }
+
+    /**
+     * 注册布隆过滤器注册表
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public BloomFilterRegistry bloomFilterRegistry(RedisService redisService,
+                                                   RedisMessageListenerContainer redisMessageListenerContainer) {
+        log.info("初始化布隆过滤器注册表");
+        return new BloomFilterRegistry(redisService, redisMessageListenerContainer);
+    }
+
     /**
      * 注册Redis缓存切面
      */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "charter.redis.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public RedisCacheAspect redisCacheAspect(RedisService redisService) {
+    public RedisCacheAspect redisCacheAspect(RedisService redisService, LocalCacheRegistry localCacheRegistry,
+                                             CacheNamespaceManager cacheNamespaceManager,
+                                             BloomFilterRegistry bloomFilterRegistry) {
         log.info("初始化Redis缓存切面");
-        return new RedisCacheAspect(redisService);
+        return new RedisCacheAspect(redisService, localCacheRegistry, cacheNamespaceManager, bloomFilterRegistry);
     }
 
     /**
@@ -66,8 +107,9 @@ public class RedisAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "charter.redis.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public RedisCacheEvictAspect redisCacheEvictAspect(RedisService redisService, RedisTemplate<String, Object> redisTemplate) {
+    public RedisCacheEvictAspect redisCacheEvictAspect(RedisService redisService, LocalCacheRegistry localCacheRegistry,
+                                                       CacheNamespaceManager cacheNamespaceManager) {
         log.info("初始化Redis缓存清除切面");
-        return new RedisCacheEvictAspect(redisService, redisTemplate);
+        return new RedisCacheEvictAspect(redisService, localCacheRegistry, cacheNamespaceManager);
     }
 }
\ No newline at end of file
@@ -1,20 +1,22 @@
 package ink.charter.website.common.redis.config;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ink.charter.website.common.redis.codec.CodecRedisSerializer;
+import ink.charter.website.common.redis.codec.CodecTypeRegistrar;
+import ink.charter.website.common.redis.codec.CodecTypeRegistry;
+import ink.charter.website.common.redis.codec.JsonValueCodec;
+import ink.charter.website.common.redis.codec.SmileValueCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 /**
  * Redis配置类
  * 配置RedisTemplate和序列化方式
@@ -25,40 +27,49 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Configuration
 public class RedisConfig {
 
+    /**
+     * 编码类型注册表
+     * 包含常用JDK类型，并应用各模块声明的CodecTypeRegistrar
+     *
+     * @param registrars 类型注册器
+     * @return 编码类型注册表
+     */
+    @Bean
+    public CodecTypeRegistry codecTypeRegistry(ObjectProvider<CodecTypeRegistrar> registrars) {
+        CodecTypeRegistry registry = CodecTypeRegistry.withDefaults();
+        registrars.orderedStream().forEach(registrar -> registrar.register(registry));
+        return registry;
+    }
+
     /**
      * 配置RedisTemplate
-     * 使用Jackson2JsonRedisSerializer进行序列化
+     * 值使用可切换编码的序列化器：默认写入JSON，可通过charter.redis.codec切换为Smile二进制编码，
+     * 读取时自动识别两种格式
      *
      * @param connectionFactory Redis连接工厂
+     * @param codecTypeRegistry 编码类型注册表
+     * @param codec 默认写入编码
      * @return RedisTemplate
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       CodecTypeRegistry codecTypeRegistry,
+                                                       @Value("${charter.redis.codec:json}") String codec) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // 配置ObjectMapper
-        ObjectMapper objectMapper = new ObjectMapper();
-        // 基础配置
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        objectMapper.registerModule(new JavaTimeModule());
-        // Redis特定配置
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
-        
-        // 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值
-        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+        // 使用可切换编码的序列化器来序列化和反序列化redis的value值（兜底的JSON放在最后）
+        CodecRedisSerializer valueSerializer = new CodecRedisSerializer(
+                List.of(new SmileValueCodec(codecTypeRegistry), new JsonValueCodec()), codec);
 
         // 使用StringRedisSerializer来序列化和反序列化redis的key值
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
 
         // 设置key和value的序列化规则
         template.setKeySerializer(stringRedisSerializer);
-        template.setValueSerializer(jackson2JsonRedisSerializer);
+        template.setValueSerializer(valueSerializer);
         template.setHashKeySerializer(stringRedisSerializer);
-        template.setHashValueSerializer(jackson2JsonRedisSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         // 设置支持事务
         template.setEnableTransactionSupport(true);
@@ -82,4 +93,18 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * 配置Redis消息监听容器
+     * 供各模块订阅发布订阅频道（如本地缓存失效通知）
+     *
+     * @param connectionFactory Redis连接工厂
+     * @return RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
\ No newline at end of file
@@ -63,6 +63,24 @@ public class RedisAnnotationExample {
         return userId == 1L ? "admin" : "user";
     }
 
+    /**
+     * 二级缓存示例
+     * 热点字典数据先读本地缓存（60秒），未命中再读Redis；清除时所有节点的本地副本同步失效
+     */
+    @RedisCache(key = "'dict:' + #dictType", expire = 1, timeUnit = TimeUnit.HOURS, local = true, localTtl = 60)
+    public String getDictLabel(String dictType) {
+        log.info("查询字典: {}", dictType);
+        return "Dict-" + dictType;
+    }
+
+    /**
+     * 二级缓存清除示例
+     */
+    @RedisCacheEvict(key = "'dict:' + #dictType")
+    public void updateDict(String dictType) {
+        log.info("更新字典: {}", dictType);
+    }
+
     /**
      * 缓存清除示例 - 清除指定key
      */
@@ -81,6 +99,36 @@ public class RedisAnnotationExample {
         // 这会清除所有匹配 user:*:userId 模式的缓存
     }
 
+    /**
+     * 命名空间缓存示例
+     * 缓存键形如 cache:article:v{代数}:{id}
+     */
+    @RedisCache(cacheName = "article", key = "#articleId", expire = 30, timeUnit = TimeUnit.MINUTES)
+    public String getArticle(Long articleId) {
+        log.info("查询文章: {}", articleId);
+        return "Article-" + articleId;
+    }
+
+    /**
+     * 清空命名空间示例
+     * 只递增命名空间代数，旧缓存立即失效并由后台回收
+     */
+    @RedisCacheEvict(cacheName = "article", allEntries = true)
+    public void rebuildArticles() {
+        log.info("重建文章数据");
+    }
+
+    /**
+     * 热点缓存示例
+     * 未命中时集群内只有一个节点查询数据库；过期前按概率在后台提前刷新，热点键不会因过期而击穿
+     */
+    @RedisCache(key = "'site:config:' + #configType", expire = 10, timeUnit = TimeUnit.MINUTES,
+            distributedSync = true, refreshAhead = true)
+    public String getSiteConfig(String configType) {
+        log.info("查询站点配置: {}", configType);
+        return "Config-" + configType;
+    }
+
     /**
      * 方法执行前清除缓存
      */
@@ -1,10 +1,14 @@
 package ink.charter.website.common.redis.service;
 
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis服务接口
@@ -33,6 +37,22 @@ public interface RedisService {
      */
     Long delete(Collection<String> keys);
 
+    /**
+     * 批量异步删除缓存（UNLINK，内存由Redis后台线程回收）
+     *
+     * @param keys 键集合
+     * @return 删除的数量
+     */
+    Long unlink(Collection<String> keys);
+
+    /**
+     * 按模式增量扫描并异步删除缓存（SCAN + UNLINK，不会像KEYS一样阻塞Redis）
+     *
+     * @param pattern 键模式
+     * @return 删除的数量
+     */
+    long unlinkByPattern(String pattern);
+
     /**
      * 判断键是否存在
      *
@@ -68,6 +88,15 @@ public interface RedisService {
      */
     Long getExpire(String key);
 
+    /**
+     * 获取过期时间
+     *
+     * @param key 键
+     * @param timeUnit 时间单位
+     * @return 过期时间，-1表示永不过期，-2表示键不存在
+     */
+    Long getExpire(String key, TimeUnit timeUnit);
+
     // =============================String操作=============================
 
     /**
@@ -97,6 +126,18 @@ public interface RedisService {
      */
     void set(String key, Object value, long expire, TimeUnit timeUnit);
 
+    /**
+     * 使用指定编码设置缓存
+     * 读取时自动识别编码，无需指定
+     *
+     * @param key 键
+     * @param value 值
+     * @param expire 过期时间，小于等于0表示永不过期
+     * @param timeUnit 时间单位
+     * @param codec 编码名称（json、smile），为空时使用默认编码
+     */
+    void set(String key, Object value, long expire, TimeUnit timeUnit, String codec);
+
     /**
      * 获取缓存
      *
@@ -251,6 +292,16 @@ public interface RedisService {
      */
     Boolean hHasKey(String key, String hashKey);
 
+    /**
+     * Hash字段值递增
+     *
+     * @param key     键
+     * @param hashKey Hash键
+     * @param delta   递增量
+     * @return 递增后的值
+     */
+    Long hIncrement(String key, String hashKey, long delta);
+
     // =============================List操作=============================
 
     /**
@@ -409,4 +460,135 @@ public interface RedisService {
      * @return 是否释放成功
      */
     Boolean releaseLock(String lockKey, String requestId);
-}
\ No newline at end of file
+
+    // =============================脚本操作=============================
+
+    /**
+     * 执行Lua脚本（键与参数均按字符串序列化）
+     *
+     * @param script 脚本
+     * @param keys   键列表
+     * @param args   参数
+     * @param <T>    返回类型
+     * @return 脚本返回值
+     */
+    <T> T executeScript(RedisScript<T> script, List<String> keys, String... args);
+
+    /**
+     * 在不参与当前Spring事务的连接上执行Lua脚本
+     * 开启事务支持后，事务内（包括afterCommit回调）的命令会进入MULTI，直到事务结束才执行且当场返回null；
+     * 需要立即执行并拿到结果时使用
+     *
+     * @param script 脚本
+     * @param keys   键列表
+     * @param args   参数
+     * @param <T>    返回类型
+     * @return 脚本返回值
+     */
+    <T> T executeScriptOutsideTransaction(RedisScript<T> script, List<String> keys, String... args);
+
+    // =============================批量与管道操作=============================
+
+    /**
+     * 批量获取（MGET，一次往返）
+     *
+     * @param keys 键集合
+     * @return 值列表，与键的顺序一致，不存在的键对应null
+     */
+    List<Object> mGet(Collection<String> keys);
+
+    /**
+     * 批量获取字符串值（MGET，一次往返）
+     *
+     * @param keys 键集合
+     * @return 值列表，与键的顺序一致，不存在的键对应null
+     */
+    List<String> mGetString(Collection<String> keys);
+
+    /**
+     * 批量设置（MSET，一次往返）
+     *
+     * @param map 键值对
+     */
+    void mSet(Map<String, Object> map);
+
+    /**
+     * 批量设置并指定过期时间（管道执行，一次往返）
+     *
+     * @param map 键值对
+     * @param expire 过期时间
+     * @param timeUnit 时间单位
+     */
+    void mSet(Map<String, Object> map, long expire, TimeUnit timeUnit);
+
+    /**
+     * 批量设置过期时间（管道执行，一次往返）
+     *
+     * @param keys 键集合
+     * @param expire 过期时间
+     * @param timeUnit 时间单位
+     * @return 键 -> 是否设置成功（键不存在时为false）
+     */
+    Map<String, Boolean> expire(Collection<String> keys, long expire, TimeUnit timeUnit);
+
+    /**
+     * 批量获取Hash中的多个字段（HMGET，一次往返）
+     *
+     * @param key 键
+     * @param hashKeys Hash键集合
+     * @return 值列表，与Hash键的顺序一致，不存在的字段对应null
+     */
+    List<Object> hMultiGet(String key, Collection<String> hashKeys);
+
+    /**
+     * 批量获取多个Hash的所有字段（管道执行，一次往返）
+     *
+     * @param keys 键集合
+     * @return 键 -> Hash内容
+     */
+    Map<String, Map<Object, Object>> hGetAll(Collection<String> keys);
+
+    /**
+     * 批量获取多个Set的所有成员（管道执行，一次往返）
+     *
+     * @param keys 键集合
+     * @return 键 -> 成员集合
+     */
+    Map<String, Set<Object>> sMembers(Collection<String> keys);
+
+    /**
+     * 批量判断是否为Set成员（SMISMEMBER，一次往返）
+     *
+     * @param key 键
+     * @param values 值集合
+     * @return 值 -> 是否为成员
+     */
+    Map<Object, Boolean> sIsMembers(String key, Collection<?> values);
+
+    /**
+     * 管道执行多条命令（一次往返）
+     * 在回调中通过operations发出的命令不会立即返回结果，结果按命令发出的顺序收集并反序列化
+     *
+     * @param actions 命令回调
+     * @return 各条命令的结果
+     */
+    List<Object> executePipelined(Consumer<RedisOperations<String, Object>> actions);
+
+    /**
+     * 管道执行多条字符串命令（一次往返），适用于计数器等字符串值
+     *
+     * @param actions 命令回调
+     * @return 各条命令的结果
+     */
+    List<Object> executeStringPipelined(Consumer<RedisOperations<String, String>> actions);
+
+    // =============================发布订阅操作=============================
+
+    /**
+     * 发布消息到指定频道
+     *
+     * @param channel 频道
+     * @param message 消息内容
+     */
+    void publish(String channel, String message);
+}
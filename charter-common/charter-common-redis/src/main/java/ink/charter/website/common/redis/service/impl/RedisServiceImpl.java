@@ -1,15 +1,25 @@
 package ink.charter.website.common.redis.service.impl;
 
+import ink.charter.website.common.redis.codec.CodecRedisSerializer;
 import ink.charter.website.common.redis.service.RedisService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis服务实现类
@@ -19,12 +29,22 @@ import java.util.concurrent.TimeUnit;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RedisServiceImpl implements RedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final StringRedisTemplate stringRedisTemplate;
 
+    /**
+     * 不参与Spring事务的字符串模板
+     */
+    private final StringRedisTemplate nonTransactionalTemplate;
+
+    public RedisServiceImpl(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.nonTransactionalTemplate = new StringRedisTemplate(stringRedisTemplate.getRequiredConnectionFactory());
+    }
+
     // 分布式锁释放脚本
     private static final String UNLOCK_SCRIPT = 
         "if redis.call('get', KEYS[1]) == ARGV[1] then " +
@@ -33,6 +53,9 @@ public class RedisServiceImpl implements RedisService {
         "    return 0 " +
         "end";
 
+    // SCAN每批返回与删除的key数量
+    private static final int SCAN_BATCH_SIZE = 500;
+
     // =============================通用操作=============================
 
     @Override
@@ -55,6 +78,45 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public Long unlink(Collection<String> keys) {
+        try {
+            return redisTemplate.unlink(keys);
+        } catch (Exception e) {
+            log.error("Redis批量unlink操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public long unlinkByPattern(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        long removed = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    removed += unlinkBatch(batch);
+                }
+            }
+            removed += unlinkBatch(batch);
+            return removed;
+        } catch (Exception e) {
+            log.error("Redis按模式unlink操作失败, pattern: {}", pattern, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    private long unlinkBatch(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long count = redisTemplate.unlink(batch);
+        batch.clear();
+        return count != null ? count : 0;
+    }
+
     @Override
     public Boolean hasKey(String key) {
         try {
@@ -95,6 +157,16 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public Long getExpire(String key, TimeUnit timeUnit) {
+        try {
+            return redisTemplate.getExpire(key, timeUnit);
+        } catch (Exception e) {
+            log.error("Redis getExpire操作失败, key: {}", key, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
     // =============================String操作=============================
 
     @Override
@@ -127,6 +199,28 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public void set(String key, Object value, long expire, TimeUnit timeUnit, String codec) {
+        if (codec == null || codec.isEmpty() || !(redisTemplate.getValueSerializer() instanceof CodecRedisSerializer serializer)) {
+            if (expire > 0) {
+                set(key, value, expire, timeUnit);
+            } else {
+                set(key, value);
+            }
+            return;
+        }
+        try {
+            byte[] rawKey = redisTemplate.getStringSerializer().serialize(key);
+            byte[] rawValue = serializer.serialize(value, codec);
+            Expiration expiration = expire > 0 ? Expiration.from(expire, timeUnit) : Expiration.persistent();
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                    .set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.upsert()));
+        } catch (Exception e) {
+            log.error("Redis set操作失败, key: {}, codec: {}", key, codec, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
     @Override
     public Object get(String key) {
         try {
@@ -317,6 +411,16 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public Long hIncrement(String key, String hashKey, long delta) {
+        try {
+            return redisTemplate.opsForHash().increment(key, hashKey, delta);
+        } catch (Exception e) {
+            log.error("Redis hIncrement操作失败, key: {}, hashKey: {}", key, hashKey, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
     // =============================List操作=============================
 
     @Override
@@ -504,4 +608,221 @@ public class RedisServiceImpl implements RedisService {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // =============================脚本操作=============================
+
+    @Override
+    public <T> T executeScript(RedisScript<T> script, List<String> keys, String... args) {
+        try {
+            return stringRedisTemplate.execute(script, keys, (Object[]) args);
+        } catch (Exception e) {
+            log.error("Redis executeScript操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public <T> T executeScriptOutsideTransaction(RedisScript<T> script, List<String> keys, String... args) {
+        try {
+            return nonTransactionalTemplate.execute(script, keys, (Object[]) args);
+        } catch (Exception e) {
+            log.error("Redis executeScriptOutsideTransaction操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    // =============================批量与管道操作=============================
+
+    @Override
+    public List<Object> mGet(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            return values != null ? values : new ArrayList<>(Collections.nCopies(keys.size(), null));
+        } catch (Exception e) {
+            log.error("Redis mGet操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public List<String> mGetString(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            return values != null ? values : new ArrayList<>(Collections.nCopies(keys.size(), null));
+        } catch (Exception e) {
+            log.error("Redis mGetString操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public void mSet(Map<String, Object> map) {
+        if (map == null || map.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().multiSet(map);
+        } catch (Exception e) {
+            log.error("Redis mSet操作失败, keys: {}", map.keySet(), e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public void mSet(Map<String, Object> map, long expire, TimeUnit timeUnit) {
+        if (map == null || map.isEmpty()) {
+            return;
+        }
+        try {
+            // MSET不支持过期时间，改为管道批量SET
+            redisTemplate.executePipelined(callback(operations ->
+                    map.forEach((key, value) -> operations.opsForValue().set(key, value, expire, timeUnit))));
+        } catch (Exception e) {
+            log.error("Redis mSet操作失败, keys: {}", map.keySet(), e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public Map<String, Boolean> expire(Collection<String> keys, long expire, TimeUnit timeUnit) {
+        if (keys == null || keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<Object> results = redisTemplate.executePipelined(callback(operations ->
+                    keyList.forEach(key -> operations.expire(key, expire, timeUnit))));
+            Map<String, Boolean> expired = new LinkedHashMap<>(keyList.size());
+            for (int i = 0; i < keyList.size(); i++) {
+                expired.put(keyList.get(i), Boolean.TRUE.equals(results.get(i)));
+            }
+            return expired;
+        } catch (Exception e) {
+            log.error("Redis批量expire操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public List<Object> hMultiGet(String key, Collection<String> hashKeys) {
+        if (hashKeys == null || hashKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return redisTemplate.opsForHash().multiGet(key, new ArrayList<>(hashKeys));
+        } catch (Exception e) {
+            log.error("Redis hMultiGet操作失败, key: {}, hashKeys: {}", key, hashKeys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<Object, Object>> hGetAll(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<Object> results = redisTemplate.executePipelined(callback(operations ->
+                    keyList.forEach(key -> operations.opsForHash().entries(key))));
+            Map<String, Map<Object, Object>> entries = new LinkedHashMap<>(keyList.size());
+            for (int i = 0; i < keyList.size(); i++) {
+                Object result = results.get(i);
+                entries.put(keyList.get(i), result instanceof Map ? (Map<Object, Object>) result : new HashMap<>());
+            }
+            return entries;
+        } catch (Exception e) {
+            log.error("Redis批量hGetAll操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Set<Object>> sMembers(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<Object> results = redisTemplate.executePipelined(callback(operations ->
+                    keyList.forEach(key -> operations.opsForSet().members(key))));
+            Map<String, Set<Object>> members = new LinkedHashMap<>(keyList.size());
+            for (int i = 0; i < keyList.size(); i++) {
+                Object result = results.get(i);
+                members.put(keyList.get(i), result instanceof Set ? (Set<Object>) result : new HashSet<>());
+            }
+            return members;
+        } catch (Exception e) {
+            log.error("Redis批量sMembers操作失败, keys: {}", keys, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public Map<Object, Boolean> sIsMembers(String key, Collection<?> values) {
+        if (values == null || values.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            Map<Object, Boolean> result = redisTemplate.opsForSet().isMember(key, values.toArray());
+            return result != null ? result : new LinkedHashMap<>();
+        } catch (Exception e) {
+            log.error("Redis sIsMembers操作失败, key: {}", key, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public List<Object> executePipelined(Consumer<RedisOperations<String, Object>> actions) {
+        try {
+            return redisTemplate.executePipelined(callback(actions));
+        } catch (Exception e) {
+            log.error("Redis管道操作失败", e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    @Override
+    public List<Object> executeStringPipelined(Consumer<RedisOperations<String, String>> actions) {
+        try {
+            return stringRedisTemplate.executePipelined(callback(actions));
+        } catch (Exception e) {
+            log.error("Redis管道操作失败", e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+
+    /**
+     * 将命令回调包装为管道会话回调
+     */
+    private static <V> SessionCallback<Object> callback(Consumer<RedisOperations<String, V>> actions) {
+        return new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, HV> Object execute(RedisOperations<K, HV> operations) throws DataAccessException {
+                actions.accept((RedisOperations<String, V>) operations);
+                return null;
+            }
+        };
+    }
+
+    // =============================发布订阅操作=============================
+
+    @Override
+    public void publish(String channel, String message) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.error("Redis publish操作失败, channel: {}", channel, e);
+            throw new RuntimeException("Redis操作失败", e);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import ink.charter.website.common.redis.service.RedisService;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
@@ -11,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis工具类
@@ -51,6 +54,26 @@ public class RedisUtils implements ApplicationContextAware {
         return redisService.delete(keys);
     }
 
+    /**
+     * 批量异步删除缓存（UNLINK）
+     *
+     * @param keys 键集合
+     * @return 删除的数量
+     */
+    public static Long unlink(Collection<String> keys) {
+        return redisService.unlink(keys);
+    }
+
+    /**
+     * 按模式增量扫描并异步删除缓存（SCAN + UNLINK，不阻塞Redis）
+     *
+     * @param pattern 键模式
+     * @return 删除的数量
+     */
+    public static long unlinkByPattern(String pattern) {
+        return redisService.unlinkByPattern(pattern);
+    }
+
     /**
      * 判断键是否存在
      *
@@ -94,6 +117,17 @@ public class RedisUtils implements ApplicationContextAware {
         return redisService.getExpire(key);
     }
 
+    /**
+     * 获取过期时间
+     *
+     * @param key 键
+     * @param timeUnit 时间单位
+     * @return 过期时间，-1表示永不过期，-2表示键不存在
+     */
+    public static Long getExpire(String key, TimeUnit timeUnit) {
+        return redisService.getExpire(key, timeUnit);
+    }
+
     // =============================String操作=============================
 
     /**
@@ -317,6 +351,18 @@ public class RedisUtils implements ApplicationContextAware {
         return redisService.hHasKey(key, hashKey);
     }
 
+    /**
+     * Hash字段值递增
+     *
+     * @param key     键
+     * @param hashKey Hash键
+     * @param delta   递增量
+     * @return 递增后的值
+     */
+    public static Long hIncrement(String key, String hashKey, long delta) {
+        return redisService.hIncrement(key, hashKey, delta);
+    }
+
     // =============================List操作=============================
 
     /**
@@ -509,4 +555,147 @@ public class RedisUtils implements ApplicationContextAware {
     public static Boolean releaseLock(String lockKey, String requestId) {
         return redisService.releaseLock(lockKey, requestId);
     }
-}
\ No newline at end of file
+
+    // =============================脚本操作=============================
+
+    /**
+     * 执行Lua脚本（键与参数均按字符串序列化）
+     *
+     * @param script 脚本
+     * @param keys   键列表
+     * @param args   参数
+     * @param <T>    返回类型
+     * @return 脚本返回值
+     */
+    public static <T> T executeScript(RedisScript<T> script, List<String> keys, String... args) {
+        return redisService.executeScript(script, keys, args);
+    }
+
+    // =============================批量与管道操作=============================
+
+    /**
+     * 批量获取（MGET，一次往返）
+     *
+     * @param keys 键集合
+     * @return 值列表，与键的顺序一致，不存在的键对应null
+     */
+    public static List<Object> mGet(Collection<String> keys) {
+        return redisService.mGet(keys);
+    }
+
+    /**
+     * 批量获取字符串值（MGET，一次往返）
+     *
+     * @param keys 键集合
+     * @return 值列表，与键的顺序一致，不存在的键对应null
+     */
+    public static List<String> mGetString(Collection<String> keys) {
+        return redisService.mGetString(keys);
+    }
+
+    /**
+     * 批量设置（MSET，一次往返）
+     *
+     * @param map 键值对
+     */
+    public static void mSet(Map<String, Object> map) {
+        redisService.mSet(map);
+    }
+
+    /**
+     * 批量设置并指定过期时间（管道执行，一次往返）
+     *
+     * @param map 键值对
+     * @param expire 过期时间
+     * @param timeUnit 时间单位
+     */
+    public static void mSet(Map<String, Object> map, long expire, TimeUnit timeUnit) {
+        redisService.mSet(map, expire, timeUnit);
+    }
+
+    /**
+     * 批量设置过期时间（管道执行，一次往返）
+     *
+     * @param keys 键集合
+     * @param expire 过期时间
+     * @param timeUnit 时间单位
+     * @return 键 -> 是否设置成功（键不存在时为false）
+     */
+    public static Map<String, Boolean> expire(Collection<String> keys, long expire, TimeUnit timeUnit) {
+        return redisService.expire(keys, expire, timeUnit);
+    }
+
+    /**
+     * 批量获取Hash中的多个字段（HMGET，一次往返）
+     *
+     * @param key 键
+     * @param hashKeys Hash键集合
+     * @return 值列表，与Hash键的顺序一致，不存在的字段对应null
+     */
+    public static List<Object> hMultiGet(String key, Collection<String> hashKeys) {
+        return redisService.hMultiGet(key, hashKeys);
+    }
+
+    /**
+     * 批量获取多个Hash的所有字段（管道执行，一次往返）
+     *
+     * @param keys 键集合
+     * @return 键 -> Hash内容
+     */
+    public static Map<String, Map<Object, Object>> hGetAll(Collection<String> keys) {
+        return redisService.hGetAll(keys);
+    }
+
+    /**
+     * 批量获取多个Set的所有成员（管道执行，一次往返）
+     *
+     * @param keys 键集合
+     * @return 键 -> 成员集合
+     */
+    public static Map<String, Set<Object>> sMembers(Collection<String> keys) {
+        return redisService.sMembers(keys);
+    }
+
+    /**
+     * 批量判断是否为Set成员（SMISMEMBER，一次往返）
+     *
+     * @param key 键
+     * @param values 值集合
+     * @return 值 -> 是否为成员
+     */
+    public static Map<Object, Boolean> sIsMembers(String key, Collection<?> values) {
+        return redisService.sIsMembers(key, values);
+    }
+
+    /**
+     * 管道执行多条命令（一次往返）
+     *
+     * @param actions 命令回调
+     * @return 各条命令的结果，按命令发出的顺序排列
+     */
+    public static List<Object> executePipelined(Consumer<RedisOperations<String, Object>> actions) {
+        return redisService.executePipelined(actions);
+    }
+
+    /**
+     * 管道执行多条字符串命令（一次往返）
+     *
+     * @param actions 命令回调
+     * @return 各条命令的结果，按命令发出的顺序排列
+     */
+    public static List<Object> executeStringPipelined(Consumer<RedisOperations<String, String>> actions) {
+        return redisService.executeStringPipelined(actions);
+    }
+
+    // =============================发布订阅操作=============================
+
+    /**
+     * 发布消息到指定频道
+     *
+     * @param channel 频道
+     * @param message 消息内容
+     */
+    public static void publish(String channel, String message) {
+        redisService.publish(channel, message);
+    }
+}
@@ -0,0 +1,215 @@
+package ink.charter.website.common.auth.cache;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.model.TokenAuthResult;
+import ink.charter.website.common.redis.cache.LocalCache;
+import ink.charter.website.common.redis.service.RedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 登录用户本地缓存
+ * 按令牌在进程内缓存登录用户信息，避免每次请求都从Redis反序列化LoginUser；
+ * 登出、踢人等操作通过Redis发布订阅通知所有节点同步失效
+ *
+ * @author charter
+ * @create 2025/11/21
+ */
+@Slf4j
+@Component
+public class LoginUserCache implements MessageListener {
+
+    /**
+     * 失效通知频道
+     */
+    public static final String INVALIDATE_CHANNEL = "auth:token:invalidate";
+
+    private static final String TOKEN_MESSAGE_PREFIX = "token:";
+    private static final String USER_MESSAGE_PREFIX = "user:";
+    private static final String USERS_MESSAGE_PREFIX = "users:";
+    private static final String USERS_SEPARATOR = ",";
+
+    private final RedisService redisService;
+    private final boolean enabled;
+    private final LocalCache<String, CachedUser> cache;
+
+    public LoginUserCache(AuthProperties authProperties, RedisService redisService,
+                          RedisMessageListenerContainer listenerContainer) {
+        this.redisService = redisService;
+        AuthProperties.Cache config = authProperties.getCache();
+        this.enabled = Boolean.TRUE.equals(config.getEnabled());
+        this.cache = new LocalCache<>(config.getTtl() * 1000, config.getMaxSize());
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+        }
+    }
+
+    /**
+     * 获取缓存的认证结果
+     *
+     * @param token 令牌
+     * @return 认证结果，未命中时返回null
+     */
+    public TokenAuthResult get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        CachedUser cached = cache.get(token);
+        if (cached == null) {
+            return null;
+        }
+        long expireSeconds = (cached.expireAt - System.currentTimeMillis()) / 1000;
+        if (expireSeconds <= 0) {
+            cache.invalidate(token);
+            return null;
+        }
+        return TokenAuthResult.success(cached.loginUser, expireSeconds);
+    }
+
+    /**
+     * 缓存登录用户信息
+     *
+     * @param token 令牌
+     * @param loginUser 登录用户信息
+     * @param expireSeconds 令牌剩余有效期（秒）
+     */
+    public void put(String token, LoginUser loginUser, long expireSeconds) {
+        if (!enabled || loginUser == null || expireSeconds <= 0) {
+            return;
+        }
+        long expireAt = System.currentTimeMillis() + expireSeconds * 1000;
+        cache.put(token, new CachedUser(loginUser, expireAt), expireSeconds * 1000);
+    }
+
+    /**
+     * 更新本地缓存中令牌的剩余有效期（令牌续期后调用）
+     *
+     * @param token 令牌
+     * @param expireSeconds 新的有效期（秒）
+     */
+    public void updateExpire(String token, long expireSeconds) {
+        if (!enabled) {
+            return;
+        }
+        CachedUser cached = cache.get(token);
+        if (cached != null) {
+            put(token, cached.loginUser, expireSeconds);
+        }
+    }
+
+    /**
+     * 使指定令牌的缓存失效，并通知其他节点
+     *
+     * @param token 令牌
+     */
+    public void invalidateToken(String token) {
+        if (!enabled || !StringUtils.hasText(token)) {
+            return;
+        }
+        cache.invalidate(token);
+        publish(TOKEN_MESSAGE_PREFIX + token);
+    }
+
+    /**
+     * 使指定用户所有令牌的缓存失效，并通知其他节点
+     *
+     * @param userId 用户ID
+     */
+    public void invalidateUser(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        evictUser(userId);
+        publish(USER_MESSAGE_PREFIX + userId);
+    }
+
+    /**
+     * 使一批用户所有令牌的缓存失效，只遍历一次本地缓存并合并为一条通知
+     *
+     * @param userIds 用户ID集合
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        if (!enabled || userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(userIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return;
+        }
+        evictUsers(ids);
+        publish(USERS_MESSAGE_PREFIX + ids.stream().map(String::valueOf).collect(Collectors.joining(USERS_SEPARATOR)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(TOKEN_MESSAGE_PREFIX)) {
+                cache.invalidate(body.substring(TOKEN_MESSAGE_PREFIX.length()));
+            } else if (body.startsWith(USER_MESSAGE_PREFIX)) {
+                evictUser(Long.valueOf(body.substring(USER_MESSAGE_PREFIX.length())));
+            } else if (body.startsWith(USERS_MESSAGE_PREFIX)) {
+                Set<Long> ids = new HashSet<>();
+                for (String id : body.substring(USERS_MESSAGE_PREFIX.length()).split(USERS_SEPARATOR)) {
+                    ids.add(Long.valueOf(id));
+                }
+                evictUsers(ids);
+            }
+        } catch (Exception e) {
+            log.warn("处理登录用户缓存失效通知失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 移除指定用户的本地缓存
+     */
+    private void evictUser(Long userId) {
+        cache.invalidateIf((token, cached) -> userId.equals(cached.loginUser.getUserId()));
+    }
+
+    /**
+     * 移除一批用户的本地缓存
+     */
+    private void evictUsers(Set<Long> userIds) {
+        cache.invalidateIf((token, cached) -> userIds.contains(cached.loginUser.getUserId()));
+    }
+
+    /**
+     * 发布失效通知，失败时仅记录日志（本地缓存TTL兜底）
+     */
+    private void publish(String message) {
+        try {
+            redisService.publish(INVALIDATE_CHANNEL, message);
+        } catch (Exception e) {
+            log.error("发布登录用户缓存失效通知失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 缓存条目：登录用户信息及令牌过期时刻
+     */
+    private static final class CachedUser {
+
+        private final LoginUser loginUser;
+
+        private final long expireAt;
+
+        private CachedUser(LoginUser loginUser, long expireAt) {
+            this.loginUser = loginUser;
+            this.expireAt = expireAt;
+        }
+    }
+}
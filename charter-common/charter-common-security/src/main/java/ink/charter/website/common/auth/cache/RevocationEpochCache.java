@@ -0,0 +1,233 @@
+package ink.charter.website.common.auth.cache;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.redis.service.RedisService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户令牌吊销纪元本地副本
+ * 每个用户在Redis Hash中维护一个递增的纪元，无状态令牌签发时写入当时的纪元，
+ * 纪元小于当前值的令牌视为已吊销。本地副本通过发布订阅实时更新并定期全量重载，
+ * 使无状态模式下的认证不依赖Redis
+ *
+ * @author charter
+ * @create 2025/11/24
+ */
+@Slf4j
+@Component
+public class RevocationEpochCache implements MessageListener {
+
+    /**
+     * Redis中纪元Hash键
+     */
+    public static final String EPOCH_KEY = "auth:revoke:epoch";
+
+    /**
+     * 纪元变更频道
+     */
+    public static final String EPOCH_CHANNEL = "auth:revoke:epoch";
+
+    private static final String FIELD_SEPARATOR = ":";
+    private static final String ENTRY_SEPARATOR = ",";
+
+    /**
+     * 批量递增纪元
+     * KEYS: 1 纪元Hash
+     * ARGV: 用户ID列表
+     * 返回: 与ARGV顺序一致的新纪元
+     */
+    private static final String REVOKE_ALL_SCRIPT =
+            "local epochs = {} " +
+            "for i = 1, #ARGV do " +
+            "  epochs[i] = redis.call('HINCRBY', KEYS[1], ARGV[i], 1) " +
+            "end " +
+            "return epochs";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> REVOKE_ALL = new DefaultRedisScript<>(REVOKE_ALL_SCRIPT, List.class);
+
+    private final RedisService redisService;
+    private final boolean enabled;
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 首次加载完成前不可用于无状态认证
+     */
+    private volatile boolean ready = false;
+
+    public RevocationEpochCache(AuthProperties authProperties, RedisService redisService,
+                                RedisMessageListenerContainer listenerContainer) {
+        this.redisService = redisService;
+        AuthProperties.Stateless config = authProperties.getStateless();
+        this.enabled = Boolean.TRUE.equals(config.getEnabled());
+
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(EPOCH_CHANNEL));
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "revocation-epoch-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::reload, 0, config.getEpochReloadInterval(), TimeUnit.SECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 本地副本是否可用
+     *
+     * @return 是否可用
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 获取用户当前纪元（本地副本）
+     *
+     * @param userId 用户ID
+     * @return 纪元，未吊销过的用户为0
+     */
+    public long getEpoch(Long userId) {
+        Long epoch = userId != null ? epochs.get(userId) : null;
+        return epoch != null ? epoch : 0L;
+    }
+
+    /**
+     * 从Redis读取用户最新纪元并更新本地副本（签发令牌时使用，避免本地副本滞后）
+     *
+     * @param userId 用户ID
+     * @return 纪元
+     */
+    public long loadEpoch(Long userId) {
+        if (userId == null) {
+            return 0L;
+        }
+        try {
+            Object value = redisService.hGet(EPOCH_KEY, String.valueOf(userId));
+            if (value instanceof Number number) {
+                epochs.merge(userId, number.longValue(), Math::max);
+            }
+        } catch (Exception e) {
+            log.warn("读取用户令牌纪元失败，使用本地副本, userId: {}", userId);
+        }
+        return getEpoch(userId);
+    }
+
+    /**
+     * 吊销用户当前所有无状态令牌（递增纪元并通知其他节点）
+     *
+     * @param userId 用户ID
+     */
+    public void revoke(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        try {
+            Long epoch = redisService.hIncrement(EPOCH_KEY, String.valueOf(userId), 1L);
+            if (epoch != null) {
+                epochs.merge(userId, epoch, Math::max);
+                redisService.publish(EPOCH_CHANNEL, userId + FIELD_SEPARATOR + epoch);
+            }
+        } catch (Exception e) {
+            log.error("吊销用户令牌纪元失败, userId: {}", userId, e);
+        }
+    }
+
+    /**
+     * 批量吊销用户当前所有无状态令牌（一次脚本调用递增全部纪元，合并为一条通知）
+     *
+     * @param userIds 用户ID集合
+     */
+    public void revokeAll(Collection<Long> userIds) {
+        if (!enabled || userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            String[] fields = ids.stream().map(String::valueOf).toArray(String[]::new);
+            List<?> result = redisService.executeScript(REVOKE_ALL, List.of(EPOCH_KEY), fields);
+            if (result == null || result.size() != ids.size()) {
+                return;
+            }
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < ids.size(); i++) {
+                long epoch = ((Number) result.get(i)).longValue();
+                epochs.merge(ids.get(i), epoch, Math::max);
+                if (i > 0) {
+                    body.append(ENTRY_SEPARATOR);
+                }
+                body.append(ids.get(i)).append(FIELD_SEPARATOR).append(epoch);
+            }
+            redisService.publish(EPOCH_CHANNEL, body.toString());
+        } catch (Exception e) {
+            log.error("批量吊销用户令牌纪元失败, userIds: {}", ids, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String entry : body.split(ENTRY_SEPARATOR)) {
+            int index = entry.indexOf(FIELD_SEPARATOR);
+            if (index <= 0) {
+                continue;
+            }
+            try {
+                epochs.merge(Long.valueOf(entry.substring(0, index)), Long.valueOf(entry.substring(index + 1)), Math::max);
+            } catch (NumberFormatException e) {
+                log.warn("忽略格式错误的令牌纪元消息: {}", entry);
+            }
+        }
+    }
+
+    /**
+     * 从Redis全量重载纪元
+     */
+    private void reload() {
+        try {
+            Map<Object, Object> entries = redisService.hGetAll(EPOCH_KEY);
+            if (entries != null) {
+                entries.forEach((field, value) -> {
+                    if (value instanceof Number number) {
+                        epochs.merge(Long.valueOf(String.valueOf(field)), number.longValue(), Math::max);
+                    }
+                });
+            }
+            ready = true;
+        } catch (Exception e) {
+            log.error("重载用户令牌纪元失败: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
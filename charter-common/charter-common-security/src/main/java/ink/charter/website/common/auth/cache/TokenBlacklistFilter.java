@@ -0,0 +1,259 @@
+package ink.charter.website.common.auth.cache;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.redis.cache.BloomFilter;
+import ink.charter.website.common.redis.service.RedisService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌黑名单本地副本
+ * 以布隆过滤器在进程内保存已拉黑令牌，过滤器判定"不存在"时无需访问Redis；
+ * 过滤器按令牌过期时间分段，整段过期后整体丢弃，避免无限增长。
+ * 通过Redis发布订阅实时同步新增条目，并定期从Redis全量重建以纠正遗漏
+ *
+ * @author charter
+ * @create 2025/11/22
+ */
+@Slf4j
+@Component
+public class TokenBlacklistFilter implements MessageListener {
+
+    /**
+     * 黑名单同步频道
+     */
+    public static final String BLACKLIST_CHANNEL = "auth:token:blacklist";
+
+    /**
+     * Redis中黑名单键前缀
+     */
+    public static final String BLACKLIST_KEY_PREFIX = "token:blacklist:";
+
+    private static final int SCAN_COUNT = 1000;
+    private static final String ENTRY_SEPARATOR = "\n";
+    private static final String FIELD_SEPARATOR = ":";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisService redisService;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final long segmentMillis;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 分段过滤器（分段结束时刻 -> 过滤器）
+     */
+    private volatile ConcurrentSkipListMap<Long, BloomFilter> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * 首次重建完成前过滤器不可用，所有判断回源Redis
+     */
+    private volatile boolean ready = false;
+
+    /**
+     * 重建期间收到的新增条目，重建完成后回放到新过滤器
+     */
+    private final Map<String, Long> pendingEntries = new ConcurrentHashMap<>();
+    private volatile boolean rebuilding = false;
+
+    public TokenBlacklistFilter(AuthProperties authProperties, RedisService redisService,
+                                RedisTemplate<String, Object> redisTemplate,
+                                RedisMessageListenerContainer listenerContainer) {
+        this.redisService = redisService;
+        this.redisTemplate = redisTemplate;
+        AuthProperties.Blacklist config = authProperties.getBlacklist();
+        this.enabled = Boolean.TRUE.equals(config.getFilterEnabled());
+        this.expectedInsertions = config.getExpectedInsertions();
+        this.fpp = config.getFpp();
+        this.segmentMillis = config.getSegmentSeconds() * 1000;
+
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(BLACKLIST_CHANNEL));
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "token-blacklist-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::rebuild, 0, config.getRebuildInterval(), TimeUnit.SECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 判断令牌是否可能在黑名单中
+     *
+     * @param tokenId 令牌标识（黑名单键去掉前缀后的部分）
+     * @return false表示一定不在黑名单中，true表示需要查询Redis确认
+     */
+    public boolean mightContain(String tokenId) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        for (BloomFilter filter : segments.tailMap(now, false).values()) {
+            if (filter.mightContain(tokenId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 添加黑名单令牌并通知其他节点
+     *
+     * @param tokenId 令牌标识
+     * @param expireAt 令牌过期时刻（毫秒时间戳）
+     */
+    public void add(String tokenId, long expireAt) {
+        addAll(Map.of(tokenId, expireAt));
+    }
+
+    /**
+     * 批量添加黑名单令牌并通知其他节点（合并为一条消息）
+     *
+     * @param entries 令牌标识 -> 过期时刻（毫秒时间戳）
+     */
+    public void addAll(Map<String, Long> entries) {
+        if (!enabled || entries == null || entries.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        entries.forEach((tokenId, expireAt) -> {
+            addLocal(tokenId, expireAt);
+            if (message.length() > 0) {
+                message.append(ENTRY_SEPARATOR);
+            }
+            message.append(expireAt).append(FIELD_SEPARATOR).append(tokenId);
+        });
+        try {
+            redisService.publish(BLACKLIST_CHANNEL, message.toString());
+        } catch (Exception e) {
+            log.error("发布令牌黑名单同步消息失败: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String entry : body.split(ENTRY_SEPARATOR)) {
+            int index = entry.indexOf(FIELD_SEPARATOR);
+            if (index <= 0) {
+                continue;
+            }
+            try {
+                addLocal(entry.substring(index + 1), Long.parseLong(entry.substring(0, index)));
+            } catch (NumberFormatException e) {
+                log.warn("忽略格式错误的令牌黑名单同步消息: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 写入本地过滤器
+     */
+    private void addLocal(String tokenId, long expireAt) {
+        if (!StringUtils.hasText(tokenId) || expireAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (rebuilding) {
+            pendingEntries.put(tokenId, expireAt);
+        }
+        putInto(segments, tokenId, expireAt);
+    }
+
+    /**
+     * 按过期时刻写入对应分段
+     */
+    private void putInto(ConcurrentSkipListMap<Long, BloomFilter> target, String tokenId, long expireAt) {
+        long segmentEnd = (expireAt / segmentMillis + 1) * segmentMillis;
+        target.computeIfAbsent(segmentEnd, k -> new BloomFilter(expectedInsertions, fpp)).put(tokenId);
+    }
+
+    /**
+     * 从Redis全量重建过滤器：SCAN黑名单键并以管道批量获取剩余有效期
+     */
+    private void rebuild() {
+        pendingEntries.clear();
+        rebuilding = true;
+        try {
+            ConcurrentSkipListMap<Long, BloomFilter> fresh = new ConcurrentSkipListMap<>();
+            ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_KEY_PREFIX + "*").count(SCAN_COUNT).build();
+            List<String> batch = new ArrayList<>(SCAN_COUNT);
+            int total = 0;
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() >= SCAN_COUNT) {
+                        total += loadBatch(batch, fresh);
+                        batch.clear();
+                    }
+                }
+            }
+            total += loadBatch(batch, fresh);
+
+            segments = fresh;
+            pendingEntries.forEach((tokenId, expireAt) -> putInto(fresh, tokenId, expireAt));
+            ready = true;
+            log.debug("令牌黑名单本地过滤器重建完成，条目数: {}", total);
+        } catch (Exception e) {
+            log.error("重建令牌黑名单本地过滤器失败: {}", e.getMessage(), e);
+        } finally {
+            rebuilding = false;
+            pendingEntries.clear();
+        }
+        // 丢弃已整体过期的分段
+        segments.headMap(System.currentTimeMillis(), true).clear();
+    }
+
+    /**
+     * 管道批量获取一批黑名单键的剩余有效期并写入过滤器
+     */
+    private int loadBatch(List<String> keys, ConcurrentSkipListMap<Long, BloomFilter> target) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> ttls = redisService.executePipelined(ops -> {
+            for (String key : keys) {
+                ops.getExpire(key, TimeUnit.MILLISECONDS);
+            }
+        });
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            Object ttl = ttls.get(i);
+            if (ttl instanceof Long millis && millis > 0) {
+                putInto(target, keys.get(i).substring(BLACKLIST_KEY_PREFIX.length()), now + millis);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
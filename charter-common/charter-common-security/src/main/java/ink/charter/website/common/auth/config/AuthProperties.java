@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 认证相关配置属性
  *
@@ -20,6 +25,12 @@ public class AuthProperties {
      */
     private Boolean enabled = true;
 
+    /**
+     * 额外的白名单路径（无需认证），支持 * 与 ** 通配
+     * 与内置白名单合并后在启动时编译
+     */
+    private List<String> whitelist = new ArrayList<>();
+
     /**
      * JWT配置
      */
@@ -40,6 +51,41 @@ public class AuthProperties {
      */
     private Session session = new Session();
 
+    /**
+     * 本地缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 令牌黑名单配置
+     */
+    private Blacklist blacklist = new Blacklist();
+
+    /**
+     * 无状态令牌配置
+     */
+    private Stateless stateless = new Stateless();
+
+    /**
+     * 密码哈希配置
+     */
+    private Password password = new Password();
+
+    /**
+     * 令牌续期配置
+     */
+    private Renewal renewal = new Renewal();
+
+    /**
+     * 会话写回配置
+     */
+    private SessionWrite sessionWrite = new SessionWrite();
+
+    /**
+     * 权限版本配置
+     */
+    private PermissionVersion permissionVersion = new PermissionVersion();
+
     @Data
     public static class Jwt {
         /**
@@ -47,6 +93,23 @@ public class AuthProperties {
          */
         private String secret = "charter-website-jwt-secret-key-2025";
 
+        /**
+         * 当前签名密钥ID（写入JWT头部kid）
+         */
+        private String keyId = "default";
+
+        /**
+         * 已轮换下线的密钥（kid -> secret）
+         * 轮换期间仍用于验签，待旧令牌全部过期后即可移除
+         */
+        private Map<String, String> retiredSecrets = new LinkedHashMap<>();
+
+        /**
+         * 是否兼容读取旧格式的令牌键（以完整JWT作为键）
+         * 升级后旧令牌仍可使用，待旧令牌全部过期后可关闭
+         */
+        private Boolean legacyKeyMigration = true;
+
         /**
          * 访问令牌过期时间（秒）
          */
@@ -57,6 +120,12 @@ public class AuthProperties {
          */
         private Long refreshTokenExpire = 604800L; // 7天
 
+        /**
+         * 刷新令牌重复使用宽限期（秒）
+         * 宽限期内再次使用刚轮换的刷新令牌返回同一组新令牌，0表示不设宽限期
+         */
+        private Long refreshReuseGrace = 10L;
+
         /**
          * 令牌发行者
          */
@@ -75,6 +144,31 @@ public class AuthProperties {
          */
         private Long lockTime = 1800L; // 30分钟
 
+        /**
+         * 失败计数滑动窗口长度（秒）
+         */
+        private Long failWindow = 3600L; // 1小时
+
+        /**
+         * 同一IP在窗口内的最大失败次数（超过后锁定该IP）
+         */
+        private Integer ipMaxAttempts = 50;
+
+        /**
+         * 是否启用本地IP令牌桶预过滤
+         */
+        private Boolean localRateLimit = true;
+
+        /**
+         * 单个IP令牌桶容量（允许的突发登录请求数）
+         */
+        private Integer ipBurst = 20;
+
+        /**
+         * 单个IP令牌桶每秒补充的令牌数
+         */
+        private Double ipRefillPerSecond = 5.0;
+
         // TODO 验证码功能待后续开发
         /**
          * 是否启用验证码
@@ -105,6 +199,144 @@ public class AuthProperties {
         private Long timeoutCheckInterval = 300L; // 5分钟
     }
 
+    @Data
+    public static class Cache {
+        /**
+         * 是否启用登录用户本地缓存
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 本地缓存时间（秒），跨节点失效通知丢失时的兜底时长
+         */
+        private Long ttl = 30L;
+
+        /**
+         * 本地缓存最大条目数
+         */
+        private Integer maxSize = 10000;
+    }
+
+    @Data
+    public static class Blacklist {
+        /**
+         * 是否启用本地布隆过滤器副本（关闭后每次都查询Redis）
+         */
+        private Boolean filterEnabled = true;
+
+        /**
+         * 每个时间分段的预期黑名单令牌数
+         */
+        private Integer expectedInsertions = 10000;
+
+        /**
+         * 布隆过滤器期望误判率
+         */
+        private Double fpp = 0.01;
+
+        /**
+         * 时间分段长度（秒），令牌按过期时间落入分段，整段过期后整体丢弃
+         */
+        private Long segmentSeconds = 3600L; // 1小时
+
+        /**
+         * 从Redis全量重建的间隔（秒）
+         */
+        private Long rebuildInterval = 300L; // 5分钟
+    }
+
+    @Data
+    public static class Stateless {
+        /**
+         * 是否启用无状态令牌模式
+         * 访问令牌内嵌权限位图与角色，认证时仅校验令牌及本地吊销纪元，不再读取Redis令牌记录
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 吊销纪元从Redis全量重载的间隔（秒）
+         */
+        private Long epochReloadInterval = 60L;
+    }
+
+    @Data
+    public static class Password {
+        /**
+         * 密码哈希线程数（0表示CPU核数）
+         */
+        private Integer hashThreads = 0;
+
+        /**
+         * 等待队列容量，队列满时直接拒绝登录请求
+         */
+        private Integer queueCapacity = 64;
+
+        /**
+         * 请求线程等待哈希结果的超时时间（毫秒）
+         */
+        private Long waitTimeout = 3000L;
+
+        /**
+         * BCrypt编码强度（cost factor）
+         */
+        private Integer strength = 10;
+
+        /**
+         * 是否在登录成功后将低于编码强度的密码重新哈希
+         */
+        private Boolean rehashOnLogin = false;
+    }
+
+    @Data
+    public static class Renewal {
+        /**
+         * 合并窗口（秒），同一令牌在窗口内只续期一次
+         */
+        private Long coalesceWindow = 60L;
+
+        /**
+         * 续期请求批量发送间隔（毫秒）
+         */
+        private Long flushInterval = 200L;
+
+        /**
+         * 会话过期时间写回数据库的间隔（秒）
+         */
+        private Long sessionSyncInterval = 30L;
+    }
+
+    @Data
+    public static class SessionWrite {
+        /**
+         * 写回队列容量，队列满时改为同步写入
+         */
+        private Integer queueCapacity = 10000;
+
+        /**
+         * 写回间隔（毫秒）
+         */
+        private Long flushInterval = 500L;
+
+        /**
+         * 每批写入的最大条数
+         */
+        private Integer batchSize = 500;
+    }
+
+    @Data
+    public static class PermissionVersion {
+        /**
+         * 是否启用权限版本检查
+         * 角色或资源分配变更后，仅重新加载受影响用户的权限，无需重新登录
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 权限版本从Redis全量重载的间隔（秒）
+         */
+        private Long reloadInterval = 300L;
+    }
+
     @Data
     public static class Crypto {
         /**
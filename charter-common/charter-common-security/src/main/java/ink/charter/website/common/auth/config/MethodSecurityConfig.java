@@ -0,0 +1,85 @@
+package ink.charter.website.common.auth.config;
+
+import ink.charter.website.common.auth.permission.PermissionAuthorizationManager;
+import ink.charter.website.common.auth.permission.PermissionRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PostFilterAuthorizationMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PreFilterAuthorizationMethodInterceptor;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+
+/**
+ * 方法级安全配置
+ * 关闭默认的@PreAuthorize等拦截器，改为注册基于权限位图的授权管理器，
+ * @PostAuthorize、@PreFilter、@PostFilter保持Spring Security默认行为
+ *
+ * @author charter
+ * @create 2025/11/25
+ */
+@Configuration
+@EnableMethodSecurity(prePostEnabled = false)
+public class MethodSecurityConfig {
+
+    /**
+     * @PreAuthorize拦截器（简单hasAuthority表达式走权限位图，其余委托默认实现）
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(ObjectProvider<PermissionRegistry> permissionRegistry,
+                                                              ApplicationContext applicationContext) {
+        PreAuthorizeAuthorizationManager delegate = new PreAuthorizeAuthorizationManager();
+        delegate.setExpressionHandler(expressionHandler(applicationContext));
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(
+                new PermissionAuthorizationManager(permissionRegistry, delegate));
+    }
+
+    /**
+     * @PostAuthorize拦截器
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        PostAuthorizeAuthorizationManager manager = new PostAuthorizeAuthorizationManager();
+        manager.setExpressionHandler(expressionHandler(applicationContext));
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize(manager);
+    }
+
+    /**
+     * @PreFilter拦截器
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preFilterAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        PreFilterAuthorizationMethodInterceptor interceptor = new PreFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler(applicationContext));
+        return interceptor;
+    }
+
+    /**
+     * @PostFilter拦截器
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postFilterAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        PostFilterAuthorizationMethodInterceptor interceptor = new PostFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler(applicationContext));
+        return interceptor;
+    }
+
+    private static MethodSecurityExpressionHandler expressionHandler(ApplicationContext applicationContext) {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setApplicationContext(applicationContext);
+        return handler;
+    }
+}
@@ -1,24 +1,41 @@
 package ink.charter.website.common.auth.config;
 
+import ink.charter.website.common.auth.cache.LoginUserCache;
+import ink.charter.website.common.auth.cache.RevocationEpochCache;
+import ink.charter.website.common.auth.cache.TokenBlacklistFilter;
 import ink.charter.website.common.auth.filter.JwtAuthenticationFilter;
 import ink.charter.website.common.auth.handler.AccessDeniedHandlerImpl;
 import ink.charter.website.common.auth.handler.AuthenticationEntryPointImpl;
+import ink.charter.website.common.auth.limiter.LoginAttemptLimiter;
+import ink.charter.website.common.auth.matcher.SecurityWhitelistMatcher;
+import ink.charter.website.common.auth.metrics.AuthMetrics;
+import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.password.PasswordHashExecutor;
+import ink.charter.website.common.auth.permission.PermissionRegistry;
+import ink.charter.website.common.auth.permission.PermissionVersionService;
+import ink.charter.website.common.auth.provider.AuthUserProvider;
 import ink.charter.website.common.auth.service.AuthService;
 import ink.charter.website.common.auth.service.TokenService;
+import ink.charter.website.common.auth.session.SessionWriteBehindQueue;
+import ink.charter.website.common.auth.session.TokenRenewalCoalescer;
 import ink.charter.website.common.auth.service.impl.AuthServiceImpl;
 import ink.charter.website.common.auth.service.impl.TokenServiceImpl;
 import ink.charter.website.common.auth.service.impl.UserDetailsServiceImpl;
 import ink.charter.website.common.auth.utils.JwtUtils;
+import ink.charter.website.common.redis.codec.CodecTypeRegistrar;
+import ink.charter.website.common.redis.codec.CodecTypeRegistry;
 import ink.charter.website.common.redis.service.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
-import org.springframework.context.ApplicationContext;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -34,9 +51,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Slf4j
 @AutoConfiguration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true)
 @ConditionalOnClass(name = "org.springframework.security.config.annotation.web.configuration.EnableWebSecurity")
-@Import({SecurityConfig.class})
+@Import({SecurityConfig.class, MethodSecurityConfig.class})
 public class SecurityAutoConfiguration {
 
     /**
@@ -49,6 +65,14 @@ public class SecurityAutoConfiguration {
         return new AuthProperties();
     }
 
+    /**
+     * 注册登录用户的Redis编码类型编号（编号写入缓存数据，不得修改）
+     */
+    @Bean
+    public CodecTypeRegistrar authCodecTypeRegistrar() {
+        return registry -> registry.register(CodecTypeRegistry.APPLICATION_ID_START, LoginUser.class);
+    }
+
     /**
      * 注册密码编码器
      */
@@ -69,15 +93,91 @@ public class SecurityAutoConfiguration {
         return new JwtUtils(authProperties);
     }
 
+    /**
+     * 注册登录用户本地缓存
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LoginUserCache loginUserCache(AuthProperties authProperties, RedisService redisService,
+                                         RedisMessageListenerContainer redisMessageListenerContainer) {
+        log.info("初始化登录用户本地缓存");
+        return new LoginUserCache(authProperties, redisService, redisMessageListenerContainer);
+    }
+
+    /**
+     * 注册令牌黑名单本地过滤器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TokenBlacklistFilter tokenBlacklistFilter(AuthProperties authProperties, RedisService redisService,
+                                                     RedisTemplate<String, Object> redisTemplate,
+                                                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        log.info("初始化令牌黑名单本地过滤器");
+        return new TokenBlacklistFilter(authProperties, redisService, redisTemplate, redisMessageListenerContainer);
+    }
+
+    /**
+     * 注册权限码注册表
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PermissionRegistry permissionRegistry() {
+        log.info("初始化权限码注册表");
+        return new PermissionRegistry();
+    }
+
+    /**
+     * 注册用户令牌吊销纪元本地副本
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RevocationEpochCache revocationEpochCache(AuthProperties authProperties, RedisService redisService,
+                                                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        log.info("初始化用户令牌吊销纪元本地副本");
+        return new RevocationEpochCache(authProperties, redisService, redisMessageListenerContainer);
+    }
+
+    /**
+     * 注册权限版本服务
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PermissionVersionService permissionVersionService(AuthProperties authProperties, RedisService redisService,
+                                                             RedisMessageListenerContainer redisMessageListenerContainer,
+                                                             ObjectProvider<AuthUserProvider> authUserProvider) {
+        log.info("初始化权限版本服务");
+        return new PermissionVersionService(authProperties, redisService, redisMessageListenerContainer, authUserProvider);
+    }
+
+    /**
+     * 注册认证链路指标
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthMetrics authMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("初始化认证链路指标");
+        return new AuthMetrics(meterRegistry);
+    }
+
     /**
      * 注册令牌服务实现
      */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public TokenService tokenService(JwtUtils jwtUtils, AuthProperties authProperties, RedisService redisService) {
+    public TokenService tokenService(JwtUtils jwtUtils, AuthProperties authProperties, RedisService redisService,
+                                     RedisTemplate<String, Object> redisTemplate, LoginUserCache loginUserCache,
+                                     TokenBlacklistFilter tokenBlacklistFilter, PermissionRegistry permissionRegistry,
+                                     RevocationEpochCache revocationEpochCache,
+                                     PermissionVersionService permissionVersionService,
+                                     AuthMetrics authMetrics) {
         log.info("初始化令牌服务");
-        return new TokenServiceImpl(jwtUtils, authProperties, redisService);
+        return new TokenServiceImpl(jwtUtils, authProperties, redisService, redisTemplate, loginUserCache,
+                tokenBlacklistFilter, permissionRegistry, revocationEpochCache, permissionVersionService, authMetrics);
     }
 
     /**
@@ -86,9 +186,36 @@ public class SecurityAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public AuthService authService(TokenService tokenService, AuthProperties authProperties, RedisService redisService, ApplicationContext applicationContext) {
+    public AuthService authService(TokenService tokenService, AuthProperties authProperties,
+                                   ObjectProvider<AuthUserProvider> authUserProvider,
+                                   PasswordHashExecutor passwordHashExecutor,
+                                   LoginAttemptLimiter loginAttemptLimiter,
+                                   SessionWriteBehindQueue sessionWriteBehindQueue,
+                                   PermissionVersionService permissionVersionService) {
         log.info("初始化认证服务");
-        return new AuthServiceImpl(tokenService, authProperties, redisService, applicationContext);
+        return new AuthServiceImpl(tokenService, authProperties, authUserProvider,
+                passwordHashExecutor, loginAttemptLimiter, sessionWriteBehindQueue, permissionVersionService);
+    }
+
+    /**
+     * 注册登录尝试限制器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LoginAttemptLimiter loginAttemptLimiter(AuthProperties authProperties, RedisService redisService) {
+        log.info("初始化登录尝试限制器");
+        return new LoginAttemptLimiter(authProperties, redisService);
+    }
+
+    /**
+     * 注册密码哈希执行器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordHashExecutor passwordHashExecutor(AuthProperties authProperties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("初始化密码哈希执行器");
+        return new PasswordHashExecutor(authProperties, meterRegistry);
     }
 
     /**
@@ -97,9 +224,9 @@ public class SecurityAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public UserDetailsService userDetailsService(ApplicationContext applicationContext) {
+    public UserDetailsService userDetailsService(ObjectProvider<AuthUserProvider> authUserProvider) {
         log.info("初始化用户详情服务");
-        return new UserDetailsServiceImpl(applicationContext);
+        return new UserDetailsServiceImpl(authUserProvider);
     }
 
     /**
@@ -122,14 +249,51 @@ public class SecurityAutoConfiguration {
         return new AccessDeniedHandlerImpl();
     }
 
+    /**
+     * 注册安全白名单匹配器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SecurityWhitelistMatcher securityWhitelistMatcher(AuthProperties authProperties) {
+        log.info("初始化安全白名单匹配器");
+        return new SecurityWhitelistMatcher(authProperties);
+    }
+
     /**
      * 注册JWT认证过滤器
      */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "charter.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public JwtAuthenticationFilter jwtAuthenticationFilter(TokenService tokenService) {
+    public JwtAuthenticationFilter jwtAuthenticationFilter(TokenService tokenService,
+                                                           SecurityWhitelistMatcher securityWhitelistMatcher,
+                                                           TokenRenewalCoalescer tokenRenewalCoalescer,
+                                                           PermissionVersionService permissionVersionService,
+                                                           AuthMetrics authMetrics) {
         log.info("初始化JWT认证过滤器");
-        return new JwtAuthenticationFilter(tokenService);
+        return new JwtAuthenticationFilter(tokenService, securityWhitelistMatcher, tokenRenewalCoalescer,
+                permissionVersionService, authMetrics);
+    }
+
+    /**
+     * 注册令牌续期合并器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenRenewalCoalescer tokenRenewalCoalescer(AuthProperties authProperties, TokenService tokenService,
+                                                       ObjectProvider<AuthUserProvider> authUserProvider) {
+        log.info("初始化令牌续期合并器");
+        return new TokenRenewalCoalescer(authProperties, tokenService, authUserProvider);
+    }
+
+    /**
+     * 注册会话写回队列
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SessionWriteBehindQueue sessionWriteBehindQueue(AuthProperties authProperties,
+                                                           ObjectProvider<AuthUserProvider> authUserProvider) {
+        log.info("初始化会话写回队列");
+        return new SessionWriteBehindQueue(authProperties, authUserProvider);
     }
-}
\ No newline at end of file
+}
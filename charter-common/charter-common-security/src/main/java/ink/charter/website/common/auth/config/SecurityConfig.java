@@ -3,12 +3,12 @@ package ink.charter.website.common.auth.config;
 import ink.charter.website.common.auth.filter.JwtAuthenticationFilter;
 import ink.charter.website.common.auth.handler.AuthenticationEntryPointImpl;
 import ink.charter.website.common.auth.handler.AccessDeniedHandlerImpl;
+import ink.charter.website.common.auth.matcher.SecurityWhitelistMatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -32,13 +32,13 @@ import java.util.Collections;
  */
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationEntryPointImpl authenticationEntryPoint;
     private final AccessDeniedHandlerImpl accessDeniedHandler;
+    private final SecurityWhitelistMatcher securityWhitelistMatcher;
 
     /**
      * 密码编码器
@@ -80,7 +80,7 @@ public class SecurityConfig {
                 // 配置请求授权
                 .authorizeHttpRequests(auth -> auth
                         // 白名单接口（无需认证）
-                        .requestMatchers(SecurityWhitelistConfig.getAllWhitelist()).permitAll()
+                        .requestMatchers(securityWhitelistMatcher).permitAll()
                         
                         // 管理员接口
 //                        .requestMatchers("/api-admin/backend/**").hasRole("ADMIN")
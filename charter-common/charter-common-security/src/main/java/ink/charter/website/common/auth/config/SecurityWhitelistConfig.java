@@ -1,5 +1,7 @@
 package ink.charter.website.common.auth.config;
 
+import ink.charter.website.common.auth.matcher.PathPatternTrie;
+
 import java.util.Arrays;
 
 /**
@@ -44,69 +46,43 @@ public final class SecurityWhitelistConfig {
     };
 
     /**
-     * 静态资源和系统接口
+     * 静态资源和系统接口（监控端点仅公开健康检查，其余端点需登录）
      */
     private static final String[] SYSTEM_WHITELIST = {
             "/favicon.ico",
             "/error",
-            "/actuator/**"
+            "/actuator/health",
+            "/actuator/health/**"
     };
 
     /**
-     * 获取所有白名单路径（用于SecurityConfig）
+     * 全部内置白名单路径（类加载时合并一次）
+     */
+    private static final String[] ALL_WHITELIST = mergeArrays(AUTH_WHITELIST, PUBLIC_WHITELIST, SWAGGER_WHITELIST, SYSTEM_WHITELIST);
+
+    /**
+     * 内置白名单编译后的路径前缀树
+     */
+    private static final PathPatternTrie WHITELIST_TRIE = new PathPatternTrie(Arrays.asList(ALL_WHITELIST));
+
+    /**
+     * 获取所有内置白名单路径
+     * 运行时匹配请使用 {@link ink.charter.website.common.auth.matcher.SecurityWhitelistMatcher}，其额外包含配置项中的白名单
      *
      * @return 白名单路径数组
      */
     public static String[] getAllWhitelist() {
-        return mergeArrays(AUTH_WHITELIST, PUBLIC_WHITELIST, SWAGGER_WHITELIST, SYSTEM_WHITELIST);
+        return ALL_WHITELIST.clone();
     }
 
     /**
-     * 判断路径是否在白名单中（用于JwtAuthenticationFilter）
+     * 判断路径是否在内置白名单中
      *
      * @param path 请求路径
      * @return 是否在白名单中
      */
     public static boolean isWhitelisted(String path) {
-        if (path == null) {
-            return false;
-        }
-
-        String[] allWhitelist = getAllWhitelist();
-        for (String pattern : allWhitelist) {
-            if (matchesPattern(path, pattern)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * 路径匹配（支持通配符）
-     *
-     * @param path 请求路径
-     * @param pattern 匹配模式
-     * @return 是否匹配
-     */
-    private static boolean matchesPattern(String path, String pattern) {
-        // 精确匹配
-        if (pattern.equals(path)) {
-            return true;
-        }
-
-        // 处理 /** 通配符
-        if (pattern.endsWith("/**")) {
-            String prefix = pattern.substring(0, pattern.length() - 3);
-            return path.startsWith(prefix);
-        }
-
-        // 处理 /* 通配符
-        if (pattern.endsWith("/*")) {
-            String prefix = pattern.substring(0, pattern.length() - 2);
-            return path.startsWith(prefix) && !path.substring(prefix.length()).contains("/");
-        }
-
-        return false;
+        return WHITELIST_TRIE.matches(path);
     }
 
     /**
@@ -1,8 +1,12 @@
 package ink.charter.website.common.auth.filter;
 
-import ink.charter.website.common.auth.config.SecurityWhitelistConfig;
+import ink.charter.website.common.auth.matcher.SecurityWhitelistMatcher;
+import ink.charter.website.common.auth.metrics.AuthMetrics;
 import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.model.TokenAuthResult;
+import ink.charter.website.common.auth.permission.PermissionVersionService;
 import ink.charter.website.common.auth.service.TokenService;
+import ink.charter.website.common.auth.session.TokenRenewalCoalescer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,10 +34,24 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
+    private final SecurityWhitelistMatcher securityWhitelistMatcher;
+    private final TokenRenewalCoalescer tokenRenewalCoalescer;
+    private final PermissionVersionService permissionVersionService;
+    private final AuthMetrics authMetrics;
 
     private static final String TOKEN_HEADER = "Authorization";
     private static final String TOKEN_PREFIX = "Bearer ";
 
+    /**
+     * 令牌续期阈值（秒），剩余有效期低于该值时续期
+     */
+    private static final long RENEW_THRESHOLD_SECONDS = 30L;
+
+    /**
+     * 令牌续期时长（秒）
+     */
+    private static final long RENEW_EXTEND_SECONDS = 3600L;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
@@ -44,39 +62,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         if (StringUtils.hasText(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                // 验证token有效性
-                if (tokenService.verifyToken(token)) {
-                    // 获取用户信息
-                    LoginUser loginUser = tokenService.getLoginUserFromToken(token);
+                // 认证token（一次JWT解析 + 一次Redis往返）
+                long start = System.nanoTime();
+                TokenAuthResult authResult = tokenService.authenticate(token);
+                authMetrics.recordAuthentication(start, authResult.getStatus());
+                
+                if (authResult.isAuthenticated()) {
+                    LoginUser loginUser = authResult.getLoginUser();
                     
-                    if (loginUser != null) {
-                        // 检查token是否在黑名单中
-                        if (!tokenService.isTokenBlacklisted(token)) {
-                            // 创建认证对象
-                            UsernamePasswordAuthenticationToken authentication = 
-                                    new UsernamePasswordAuthenticationToken(
-                                            loginUser, 
-                                            null, 
-                                            loginUser.getAuthorities()
-                                    );
-                            
-                            // 设置认证详情
-                            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                            
-                            // 设置到安全上下文
-                            SecurityContextHolder.getContext().setAuthentication(authentication);
-                            
-                            log.debug("用户 {} 认证成功", loginUser.getUsername());
-                            
-                            // 检查token是否即将过期，如果是则延长有效期
-                            if (tokenService.isTokenExpiringSoon(token, 30)) {
-                                tokenService.extendTokenExpire(token, 3600L); // 延长1小时
-                                log.debug("延长用户 {} 的token有效期", loginUser.getUsername());
-                            }
-                        } else {
-                            log.warn("Token已被加入黑名单: {}", token.substring(0, Math.min(token.length(), 20)) + "...");
+                    // 权限版本已变更时重新加载该用户的权限（仅比较本地版本副本）
+                    if (permissionVersionService.isStale(loginUser)) {
+                        LoginUser refreshed = permissionVersionService.refresh(loginUser);
+                        if (refreshed != null) {
+                            tokenService.updateLoginUser(token, refreshed, authResult.getExpireSeconds());
+                            authMetrics.permissionRefreshed();
+                            loginUser = refreshed;
                         }
                     }
+                    
+                    // 创建认证对象
+                    UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(
+                                    loginUser, 
+                                    null, 
+                                    loginUser.getAuthorities()
+                            );
+                    
+                    // 设置认证详情
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    // 设置到安全上下文
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    
+                    log.debug("用户 {} 认证成功", loginUser.getUsername());
+                    
+                    // 检查token是否即将过期，如果是则提交续期（合并后异步批量执行）
+                    if (authResult.isExpiringSoon(RENEW_THRESHOLD_SECONDS)) {
+                        tokenRenewalCoalescer.requestRenewal(token, RENEW_EXTEND_SECONDS);
+                        authMetrics.renewalRequested();
+                        log.debug("提交用户 {} 的token续期", loginUser.getUsername());
+                    }
                 }
             } catch (Exception e) {
                 log.warn("Token验证失败: {}", e.getMessage());
@@ -117,7 +142,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        return SecurityWhitelistConfig.isWhitelisted(path);
+        return securityWhitelistMatcher.matches(request);
     }
 }
\ No newline at end of file
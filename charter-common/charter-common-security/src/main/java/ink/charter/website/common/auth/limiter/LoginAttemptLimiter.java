@@ -0,0 +1,181 @@
+package ink.charter.website.common.auth.limiter;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.redis.cache.LocalCache;
+import ink.charter.website.common.redis.service.RedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 登录尝试限制器
+ * 1. 本地按IP的令牌桶预过滤，明显的洪泛请求不会到达Redis与BCrypt
+ * 2. 按账户与IP的滑动窗口失败计数，检查、计数与锁定在同一个Lua脚本中原子完成
+ *
+ * @author charter
+ * @create 2025/11/27
+ */
+@Slf4j
+@Component
+public class LoginAttemptLimiter {
+
+    private static final String ACCOUNT_WINDOW_KEY = "login:window:";
+    private static final String ACCOUNT_LOCK_KEY = "login:lock:";
+    private static final String IP_WINDOW_KEY = "login:ip:window:";
+    private static final String IP_LOCK_KEY = "login:ip:lock:";
+
+    /**
+     * 未知IP时使用的占位（IP阈值传0，脚本不做IP计数）
+     */
+    private static final String UNKNOWN_IP = "-";
+
+    private static final String MODE_CHECK = "check";
+    private static final String MODE_FAIL = "fail";
+
+    /**
+     * 令牌桶本地缓存时间（毫秒）
+     */
+    private static final long BUCKET_TTL_MILLIS = 10 * 60 * 1000L;
+    private static final int BUCKET_MAX_SIZE = 10000;
+
+    /**
+     * KEYS: 1 账户失败窗口 2 账户锁定 3 IP失败窗口 4 IP锁定
+     * ARGV: 1 模式 2 当前时间(毫秒) 3 窗口长度(毫秒) 4 锁定时间(毫秒) 5 账户阈值 6 IP阈值(0为不限制) 7 本次失败标识
+     * 返回: {是否允许(1/0), 剩余锁定时间(毫秒)}
+     */
+    private static final String LIMIT_SCRIPT =
+            "local lockMs = tonumber(ARGV[4]) " +
+            "local function ttl(key) " +
+            "  local t = redis.call('PTTL', key) " +
+            "  if t == -1 then return lockMs end " +
+            "  return t " +
+            "end " +
+            "local remaining = math.max(ttl(KEYS[2]), ttl(KEYS[4])) " +
+            "if remaining > 0 then return {0, remaining} end " +
+            "if ARGV[1] ~= 'fail' then return {1, 0} end " +
+            "local now = tonumber(ARGV[2]) " +
+            "local window = tonumber(ARGV[3]) " +
+            "local function hit(windowKey, lockKey, limit) " +
+            "  if limit <= 0 then return 0 end " +
+            "  redis.call('ZREMRANGEBYSCORE', windowKey, '-inf', now - window) " +
+            "  redis.call('ZADD', windowKey, now, ARGV[7]) " +
+            "  redis.call('PEXPIRE', windowKey, window) " +
+            "  if redis.call('ZCARD', windowKey) >= limit then " +
+            "    redis.call('SET', lockKey, '1', 'PX', lockMs) " +
+            "    redis.call('DEL', windowKey) " +
+            "    return lockMs " +
+            "  end " +
+            "  return 0 " +
+            "end " +
+            "remaining = math.max(hit(KEYS[1], KEYS[2], tonumber(ARGV[5])), hit(KEYS[3], KEYS[4], tonumber(ARGV[6]))) " +
+            "if remaining > 0 then return {0, remaining} end " +
+            "return {1, 0}";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> SCRIPT = new DefaultRedisScript<>(LIMIT_SCRIPT, List.class);
+
+    private final RedisService redisService;
+    private final AuthProperties.Login config;
+    private final LocalCache<String, TokenBucket> buckets;
+
+    public LoginAttemptLimiter(AuthProperties authProperties, RedisService redisService) {
+        this.redisService = redisService;
+        this.config = authProperties.getLogin();
+        this.buckets = Boolean.TRUE.equals(config.getLocalRateLimit())
+                ? new LocalCache<>(BUCKET_TTL_MILLIS, BUCKET_MAX_SIZE)
+                : null;
+    }
+
+    /**
+     * 登录前检查（先经过本地令牌桶，再检查账户与IP是否被锁定）
+     *
+     * @param account 用户名或邮箱
+     * @param ip 客户端IP（可为空）
+     * @return 检查结果
+     */
+    public LoginAttemptResult check(String account, String ip) {
+        if (!tryAcquireLocal(ip)) {
+            log.warn("IP {} 登录请求过于频繁，已被本地限流", ip);
+            return LoginAttemptResult.throttled();
+        }
+        return execute(MODE_CHECK, account, ip);
+    }
+
+    /**
+     * 记录一次登录失败，达到阈值时锁定账户或IP
+     *
+     * @param account 用户名或邮箱
+     * @param ip 客户端IP（可为空）
+     * @return 记录后的状态
+     */
+    public LoginAttemptResult recordFailure(String account, String ip) {
+        LoginAttemptResult result = execute(MODE_FAIL, account, ip);
+        if (!result.isAllowed()) {
+            log.warn("用户 {} (IP: {}) 登录失败次数过多，已被锁定 {} 秒", account, ip, result.getLockRemainingSeconds());
+        }
+        return result;
+    }
+
+    /**
+     * 清除账户的失败记录与锁定（登录成功后调用，不清除IP维度）
+     *
+     * @param account 用户名或邮箱
+     */
+    public void reset(String account) {
+        redisService.delete(List.of(ACCOUNT_WINDOW_KEY + account, ACCOUNT_LOCK_KEY + account));
+    }
+
+    /**
+     * 执行限流脚本，Redis不可用时放行（仍受本地令牌桶与密码哈希线程池保护）
+     */
+    private LoginAttemptResult execute(String mode, String account, String ip) {
+        boolean hasIp = StringUtils.hasText(ip);
+        String ipKey = hasIp ? ip : UNKNOWN_IP;
+        List<String> keys = List.of(
+                ACCOUNT_WINDOW_KEY + account,
+                ACCOUNT_LOCK_KEY + account,
+                IP_WINDOW_KEY + ipKey,
+                IP_LOCK_KEY + ipKey);
+        try {
+            List<?> result = redisService.executeScript(SCRIPT, keys,
+                    mode,
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(config.getFailWindow() * 1000L),
+                    String.valueOf(config.getLockTime() * 1000L),
+                    String.valueOf(config.getMaxAttempts()),
+                    String.valueOf(hasIp ? config.getIpMaxAttempts() : 0),
+                    Long.toHexString(ThreadLocalRandom.current().nextLong()));
+            if (result == null || result.size() < 2) {
+                return LoginAttemptResult.allowed();
+            }
+            if (((Number) result.get(0)).longValue() == 1L) {
+                return LoginAttemptResult.allowed();
+            }
+            long remainingMillis = ((Number) result.get(1)).longValue();
+            return LoginAttemptResult.locked((remainingMillis + 999) / 1000);
+        } catch (Exception e) {
+            log.error("登录限制检查失败: {}", e.getMessage(), e);
+            return LoginAttemptResult.allowed();
+        }
+    }
+
+    /**
+     * 本地令牌桶预过滤
+     */
+    private boolean tryAcquireLocal(String ip) {
+        if (buckets == null || !StringUtils.hasText(ip)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        TokenBucket bucket = buckets.get(ip);
+        if (bucket == null) {
+            bucket = new TokenBucket(config.getIpBurst(), config.getIpRefillPerSecond(), now);
+            buckets.put(ip, bucket);
+        }
+        return bucket.tryAcquire(now);
+    }
+}
@@ -0,0 +1,65 @@
+package ink.charter.website.common.auth.limiter;
+
+import lombok.Getter;
+
+/**
+ * 登录尝试检查结果
+ *
+ * @author charter
+ * @create 2025/11/27
+ */
+@Getter
+public final class LoginAttemptResult {
+
+    private static final LoginAttemptResult ALLOWED = new LoginAttemptResult(true, false, 0L);
+    private static final LoginAttemptResult THROTTLED = new LoginAttemptResult(false, true, 0L);
+
+    /**
+     * 是否允许本次登录
+     */
+    private final boolean allowed;
+
+    /**
+     * 是否被本地限流拦截
+     */
+    private final boolean throttled;
+
+    /**
+     * 剩余锁定时间（秒）
+     */
+    private final long lockRemainingSeconds;
+
+    private LoginAttemptResult(boolean allowed, boolean throttled, long lockRemainingSeconds) {
+        this.allowed = allowed;
+        this.throttled = throttled;
+        this.lockRemainingSeconds = lockRemainingSeconds;
+    }
+
+    public static LoginAttemptResult allowed() {
+        return ALLOWED;
+    }
+
+    public static LoginAttemptResult throttled() {
+        return THROTTLED;
+    }
+
+    public static LoginAttemptResult locked(long lockRemainingSeconds) {
+        return new LoginAttemptResult(false, false, lockRemainingSeconds);
+    }
+
+    /**
+     * 获取拒绝提示信息
+     *
+     * @return 提示信息
+     */
+    public String getMessage() {
+        if (allowed) {
+            return null;
+        }
+        if (throttled) {
+            return "登录请求过于频繁，请稍后重试";
+        }
+        long minutes = Math.max(1L, (lockRemainingSeconds + 59) / 60);
+        return "登录失败次数过多，账户已被锁定，请" + minutes + "分钟后重试";
+    }
+}
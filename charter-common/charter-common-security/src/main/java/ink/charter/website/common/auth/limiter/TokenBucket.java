@@ -0,0 +1,47 @@
+package ink.charter.website.common.auth.limiter;
+
+/**
+ * 令牌桶
+ * 按固定速率补充令牌，桶满后不再累积，用于本地限流
+ *
+ * @author charter
+ * @create 2025/11/27
+ */
+final class TokenBucket {
+
+    private final double capacity;
+
+    /**
+     * 每毫秒补充的令牌数
+     */
+    private final double refillPerMillis;
+
+    private double tokens;
+
+    private long lastRefillTime;
+
+    TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerMillis = refillPerSecond / 1000D;
+        this.tokens = capacity;
+        this.lastRefillTime = now;
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param now 当前时间（毫秒）
+     * @return 是否获取成功
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (now > lastRefillTime) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillTime) * refillPerMillis);
+            lastRefillTime = now;
+        }
+        if (tokens >= 1D) {
+            tokens -= 1D;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,206 @@
+package ink.charter.website.common.auth.matcher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 路径模式前缀树
+ * 启动时将全部路径模式按"/"分段编译为前缀树，匹配时逐段下降，无需逐个模式比对。
+ * 支持的分段写法：
+ * 1. 普通分段（精确匹配）
+ * 2. *  匹配任意一个分段
+ * 3. ** 匹配零个或多个分段
+ * 4. 含*或?的分段（如 *.html），按通配符匹配单个分段
+ * 普通分段的匹配基于原路径下标比较，不产生临时字符串
+ *
+ * @author charter
+ * @create 2025/11/26
+ */
+public final class PathPatternTrie {
+
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String MULTI_WILDCARD = "**";
+
+    private final Node root = new Node();
+
+    /**
+     * 构建路径模式前缀树
+     *
+     * @param patterns 路径模式集合
+     */
+    public PathPatternTrie(Collection<String> patterns) {
+        for (String pattern : patterns) {
+            add(pattern);
+        }
+    }
+
+    /**
+     * 判断路径是否匹配任一模式
+     *
+     * @param path 请求路径
+     * @return 是否匹配
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        return match(root, path, skipSlashes(path, 0));
+    }
+
+    /**
+     * 添加路径模式
+     */
+    private void add(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            return;
+        }
+        Node node = root;
+        for (String segment : pattern.trim().split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            node = node.child(segment);
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * 从指定位置开始匹配剩余路径
+     *
+     * @param node 当前节点
+     * @param path 请求路径
+     * @param pos 下一分段的起始位置（已跳过"/"），等于路径长度表示路径已结束
+     */
+    private static boolean match(Node node, String path, int pos) {
+        if (node.multiWildcard != null && matchMultiWildcard(node.multiWildcard, path, pos)) {
+            return true;
+        }
+        int length = path.length();
+        if (pos >= length) {
+            return node.terminal;
+        }
+
+        int end = path.indexOf('/', pos);
+        if (end < 0) {
+            end = length;
+        }
+        int next = skipSlashes(path, end);
+        int segmentLength = end - pos;
+
+        List<String> literals = node.literals;
+        for (int i = 0; i < literals.size(); i++) {
+            String literal = literals.get(i);
+            if (literal.length() == segmentLength && path.regionMatches(pos, literal, 0, segmentLength)
+                    && match(node.literalNodes.get(i), path, next)) {
+                return true;
+            }
+        }
+        if (node.singleWildcard != null && match(node.singleWildcard, path, next)) {
+            return true;
+        }
+        for (int i = 0; i < node.globs.size(); i++) {
+            if (node.globs.get(i).matcher(path).region(pos, end).matches()
+                    && match(node.globNodes.get(i), path, next)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * ** 依次尝试消耗零个、一个、多个分段后继续匹配
+     */
+    private static boolean matchMultiWildcard(Node node, String path, int pos) {
+        int length = path.length();
+        int current = pos;
+        while (true) {
+            if (match(node, path, current)) {
+                return true;
+            }
+            if (current >= length) {
+                return false;
+            }
+            int end = path.indexOf('/', current);
+            current = end < 0 ? length : skipSlashes(path, end);
+        }
+    }
+
+    private static int skipSlashes(String path, int pos) {
+        int length = path.length();
+        while (pos < length && path.charAt(pos) == '/') {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        private final List<String> literals = new ArrayList<>();
+        private final List<Node> literalNodes = new ArrayList<>();
+        private final List<Pattern> globs = new ArrayList<>();
+        private final List<Node> globNodes = new ArrayList<>();
+        private Node singleWildcard;
+        private Node multiWildcard;
+        private boolean terminal;
+
+        private Node child(String segment) {
+            if (MULTI_WILDCARD.equals(segment)) {
+                if (multiWildcard == null) {
+                    multiWildcard = new Node();
+                }
+                return multiWildcard;
+            }
+            if (SINGLE_WILDCARD.equals(segment)) {
+                if (singleWildcard == null) {
+                    singleWildcard = new Node();
+                }
+                return singleWildcard;
+            }
+            if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+                String regex = toRegex(segment);
+                for (int i = 0; i < globs.size(); i++) {
+                    if (globs.get(i).pattern().equals(regex)) {
+                        return globNodes.get(i);
+                    }
+                }
+                Node node = new Node();
+                globs.add(Pattern.compile(regex));
+                globNodes.add(node);
+                return node;
+            }
+            int index = literals.indexOf(segment);
+            if (index >= 0) {
+                return literalNodes.get(index);
+            }
+            Node node = new Node();
+            literals.add(segment);
+            literalNodes.add(node);
+            return node;
+        }
+
+        private static String toRegex(String segment) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (char c : segment.toCharArray()) {
+                if (c == '*' || c == '?') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '*' ? "[^/]*" : "[^/]");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            return regex.toString();
+        }
+    }
+}
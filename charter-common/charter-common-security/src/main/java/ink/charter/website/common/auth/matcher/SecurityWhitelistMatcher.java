@@ -0,0 +1,80 @@
+package ink.charter.website.common.auth.matcher;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.auth.config.SecurityWhitelistConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 安全白名单请求匹配器
+ * 合并内置白名单与配置项 charter.auth.whitelist，启动时编译为路径前缀树；
+ * SecurityConfig的放行规则与JwtAuthenticationFilter的跳过判断共用同一实例
+ *
+ * @author charter
+ * @create 2025/11/26
+ */
+@Slf4j
+@Component
+public class SecurityWhitelistMatcher implements RequestMatcher {
+
+    private final List<String> patterns;
+    private final PathPatternTrie trie;
+
+    public SecurityWhitelistMatcher(AuthProperties authProperties) {
+        List<String> all = new ArrayList<>(Arrays.asList(SecurityWhitelistConfig.getAllWhitelist()));
+        if (authProperties.getWhitelist() != null) {
+            for (String pattern : authProperties.getWhitelist()) {
+                if (StringUtils.hasText(pattern)) {
+                    all.add(pattern.trim());
+                }
+            }
+        }
+        this.patterns = Collections.unmodifiableList(all);
+        this.trie = new PathPatternTrie(all);
+        log.info("安全白名单编译完成，共 {} 条规则", all.size());
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return isWhitelisted(getRequestPath(request));
+    }
+
+    /**
+     * 判断路径是否在白名单中
+     *
+     * @param path 请求路径（不含上下文路径）
+     * @return 是否在白名单中
+     */
+    public boolean isWhitelisted(String path) {
+        return trie.matches(path);
+    }
+
+    /**
+     * 获取全部白名单规则
+     *
+     * @return 白名单规则
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * 获取应用内请求路径（去除上下文路径）
+     */
+    private static String getRequestPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (StringUtils.hasLength(contextPath) && uri.startsWith(contextPath)) {
+            return uri.substring(contextPath.length());
+        }
+        return uri;
+    }
+}
@@ -0,0 +1,184 @@
+package ink.charter.website.common.auth.metrics;
+
+import ink.charter.website.common.auth.model.TokenAuthResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证链路指标
+ * 按阶段记录认证耗时（JWT解析、黑名单判定、Redis往返）、本地缓存命中、续期次数与认证结果。
+ * 所有计量器在启动时注册，请求路径上只做计数与计时，不拼接标签或字符串
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Component
+public class AuthMetrics {
+
+    private static final String METRIC_PREFIX = "charter.auth.";
+
+    /**
+     * Redis操作类型
+     */
+    public enum RedisOperation {
+        /**
+         * 查询令牌记录与黑名单
+         */
+        LOOKUP,
+        /**
+         * 回写登录用户信息
+         */
+        UPDATE_LOGIN_USER,
+        /**
+         * 批量续期
+         */
+        RENEW,
+        /**
+         * 刷新令牌轮换
+         */
+        ROTATE,
+        /**
+         * 批量吊销
+         */
+        REVOKE
+    }
+
+    private final Timer authenticateTimer;
+    private final Timer parseTimer;
+    private final Timer blacklistTimer;
+    private final Map<RedisOperation, Timer> redisTimers = new EnumMap<>(RedisOperation.class);
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+    private final Counter statelessCounter;
+    private final Counter renewalCounter;
+    private final Counter permissionRefreshCounter;
+    private final Map<TokenAuthResult.Status, Counter> resultCounters = new EnumMap<>(TokenAuthResult.Status.class);
+
+    public AuthMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.authenticateTimer = Timer.builder(METRIC_PREFIX + "authenticate")
+                .description("认证过滤器令牌认证总耗时")
+                .register(registry);
+        this.parseTimer = Timer.builder(METRIC_PREFIX + "stage")
+                .description("认证阶段耗时")
+                .tag("stage", "jwt_parse")
+                .register(registry);
+        this.blacklistTimer = Timer.builder(METRIC_PREFIX + "stage")
+                .description("认证阶段耗时")
+                .tag("stage", "blacklist")
+                .register(registry);
+        for (RedisOperation operation : RedisOperation.values()) {
+            redisTimers.put(operation, Timer.builder(METRIC_PREFIX + "redis")
+                    .description("认证相关Redis往返耗时")
+                    .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        this.cacheHitCounter = Counter.builder(METRIC_PREFIX + "cache")
+                .description("登录用户本地缓存访问次数")
+                .tag("result", "hit")
+                .register(registry);
+        this.cacheMissCounter = Counter.builder(METRIC_PREFIX + "cache")
+                .description("登录用户本地缓存访问次数")
+                .tag("result", "miss")
+                .register(registry);
+        this.statelessCounter = Counter.builder(METRIC_PREFIX + "cache")
+                .description("登录用户本地缓存访问次数")
+                .tag("result", "stateless")
+                .register(registry);
+        this.renewalCounter = Counter.builder(METRIC_PREFIX + "renewal")
+                .description("提交的令牌续期次数")
+                .register(registry);
+        this.permissionRefreshCounter = Counter.builder(METRIC_PREFIX + "permission.refresh")
+                .description("权限版本变更后重新加载登录用户权限的次数")
+                .register(registry);
+        for (TokenAuthResult.Status status : TokenAuthResult.Status.values()) {
+            resultCounters.put(status, Counter.builder(METRIC_PREFIX + "result")
+                    .description("令牌认证结果")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    /**
+     * 记录认证总耗时与认证结果
+     *
+     * @param startNanos 开始时间（System.nanoTime）
+     * @param status 认证状态
+     */
+    public void recordAuthentication(long startNanos, TokenAuthResult.Status status) {
+        authenticateTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        resultCounters.get(status).increment();
+    }
+
+    /**
+     * 记录JWT解析耗时
+     *
+     * @param startNanos 开始时间（System.nanoTime）
+     */
+    public void recordParse(long startNanos) {
+        parseTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录本地黑名单判定耗时
+     *
+     * @param startNanos 开始时间（System.nanoTime）
+     */
+    public void recordBlacklistCheck(long startNanos) {
+        blacklistTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次Redis往返耗时
+     *
+     * @param operation 操作类型
+     * @param startNanos 开始时间（System.nanoTime）
+     */
+    public void recordRedis(RedisOperation operation, long startNanos) {
+        redisTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 本地缓存命中
+     */
+    public void cacheHit() {
+        cacheHitCounter.increment();
+    }
+
+    /**
+     * 本地缓存未命中
+     */
+    public void cacheMiss() {
+        cacheMissCounter.increment();
+    }
+
+    /**
+     * 无状态令牌直接完成认证
+     */
+    public void statelessHit() {
+        statelessCounter.increment();
+    }
+
+    /**
+     * 提交一次令牌续期
+     */
+    public void renewalRequested() {
+        renewalCounter.increment();
+    }
+
+    /**
+     * 重新加载一次登录用户权限
+     */
+    public void permissionRefreshed() {
+        permissionRefreshCounter.increment();
+    }
+}
@@ -0,0 +1,29 @@
+package ink.charter.website.common.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 设备会话（每次登录对应一个会话，刷新令牌轮换不改变会话ID）
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceSession {
+
+    /**
+     * 会话ID
+     */
+    private String sessionId;
+
+    /**
+     * 刷新令牌过期时间
+     */
+    private LocalDateTime expireTime;
+}
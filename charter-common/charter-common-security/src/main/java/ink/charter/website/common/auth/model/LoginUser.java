@@ -1,17 +1,26 @@
 package ink.charter.website.common.auth.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import ink.charter.website.common.auth.permission.PermissionBits;
+import ink.charter.website.common.auth.permission.PermissionRegistry;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 登录用户信息
@@ -67,13 +76,25 @@ public class LoginUser implements UserDetails {
     /**
      * 权限列表
      */
+    @Setter(AccessLevel.NONE)
     private Set<String> permissions;
 
     /**
      * 角色列表
      */
+    @Setter(AccessLevel.NONE)
     private Set<String> roles;
 
+    /**
+     * 角色ID列表
+     */
+    private Set<Long> roleIds;
+
+    /**
+     * 权限版本戳（加载权限时全局、用户及所属角色的权限版本之和，为空时不做版本比较）
+     */
+    private Long permissionVersion;
+
     /**
      * 登录时间
      */
@@ -94,6 +115,24 @@ public class LoginUser implements UserDetails {
      */
     private String sessionId;
 
+    /**
+     * 权限列表缓存（不序列化，权限或角色变更时重建）
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile List<GrantedAuthority> authorities;
+
+    /**
+     * 权限位图缓存（不序列化，权限变更或权限码重新登记时重建）
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile PermissionBits permissionBits;
+
     public LoginUser(Long userId, String username, String password, Integer status, 
                      Set<String> permissions, Set<String> roles) {
         this.userId = userId;
@@ -104,20 +143,39 @@ public class LoginUser implements UserDetails {
         this.roles = roles;
     }
 
+    public void setPermissions(Set<String> permissions) {
+        this.permissions = permissions;
+        this.authorities = null;
+        this.permissionBits = null;
+    }
+
+    public void setRoles(Set<String> roles) {
+        this.roles = roles;
+        this.authorities = null;
+    }
+
     @Override
     @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        List<GrantedAuthority> cached = authorities;
+        if (cached != null) {
+            return cached;
+        }
+        
         // 合并权限和角色
-        List<GrantedAuthority> authorities = permissions.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        List<GrantedAuthority> result = new ArrayList<>();
+        if (permissions != null) {
+            permissions.forEach(permission -> result.add(new SimpleGrantedAuthority(permission)));
+        }
         
         // 添加角色权限（角色需要以ROLE_开头）
-        roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .forEach(authorities::add);
+        if (roles != null) {
+            roles.forEach(role -> result.add(new SimpleGrantedAuthority("ROLE_" + role)));
+        }
         
-        return authorities;
+        cached = Collections.unmodifiableList(result);
+        authorities = cached;
+        return cached;
     }
 
     @Override
@@ -165,6 +223,38 @@ public class LoginUser implements UserDetails {
         return permissions != null && permissions.contains(permission);
     }
 
+    /**
+     * 基于权限位图检查用户是否有指定权限
+     * 位图按权限码注册表的下标分配计算并缓存，未登记的权限码回退为集合查找
+     *
+     * @param permission 权限
+     * @param registry 权限码注册表
+     * @return 是否有权限
+     */
+    public boolean hasPermission(String permission, PermissionRegistry registry) {
+        int index = registry.indexOf(permission);
+        if (index < 0) {
+            return hasPermission(permission);
+        }
+        PermissionBits bits = permissionBits;
+        String fingerprint = registry.getFingerprint();
+        if (bits == null || !bits.matches(fingerprint)) {
+            bits = new PermissionBits(fingerprint, registry.toBits(permissions));
+            permissionBits = bits;
+        }
+        return bits.get(index);
+    }
+
+    /**
+     * 直接绑定权限位图（如从无状态令牌中解码得到）
+     *
+     * @param fingerprint 下标分配指纹
+     * @param bits 权限位图
+     */
+    public void bindPermissionBits(String fingerprint, BitSet bits) {
+        this.permissionBits = new PermissionBits(fingerprint, bits);
+    }
+
     /**
      * 检查用户是否有指定角色
      *
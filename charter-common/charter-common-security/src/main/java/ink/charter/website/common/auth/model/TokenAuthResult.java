@@ -0,0 +1,102 @@
+package ink.charter.website.common.auth.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 令牌认证结果
+ * 一次性携带认证状态、登录用户信息及令牌剩余有效期，供认证过滤器直接消费
+ *
+ * @author charter
+ * @create 2025/11/20
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenAuthResult {
+
+    /**
+     * 认证状态
+     */
+    private final Status status;
+
+    /**
+     * 登录用户信息（仅认证成功时存在）
+     */
+    private final LoginUser loginUser;
+
+    /**
+     * 令牌剩余有效期（秒），未知时为-1
+     */
+    private final long expireSeconds;
+
+    /**
+     * 认证成功
+     *
+     * @param loginUser 登录用户信息
+     * @param expireSeconds 令牌剩余有效期（秒）
+     * @return 认证结果
+     */
+    public static TokenAuthResult success(LoginUser loginUser, long expireSeconds) {
+        return new TokenAuthResult(Status.SUCCESS, loginUser, expireSeconds);
+    }
+
+    /**
+     * 认证失败
+     *
+     * @param status 失败状态
+     * @return 认证结果
+     */
+    public static TokenAuthResult fail(Status status) {
+        return new TokenAuthResult(status, null, -1L);
+    }
+
+    /**
+     * 是否认证成功
+     *
+     * @return 是否认证成功
+     */
+    public boolean isAuthenticated() {
+        return status == Status.SUCCESS && loginUser != null;
+    }
+
+    /**
+     * 令牌是否即将过期
+     *
+     * @param thresholdSeconds 阈值时间（秒）
+     * @return 是否即将过期
+     */
+    public boolean isExpiringSoon(long thresholdSeconds) {
+        return expireSeconds > 0 && expireSeconds <= thresholdSeconds;
+    }
+
+    /**
+     * 认证状态枚举
+     */
+    public enum Status {
+        /**
+         * 认证成功
+         */
+        SUCCESS,
+
+        /**
+         * 令牌无效（为空、格式错误、签名错误或已过期）
+         */
+        INVALID,
+
+        /**
+         * 令牌已被加入黑名单
+         */
+        BLACKLISTED,
+
+        /**
+         * 令牌已被吊销（无状态令牌的纪元早于用户当前纪元）
+         */
+        REVOKED,
+
+        /**
+         * 令牌在缓存中不存在（已登出或已失效）
+         */
+        NOT_FOUND
+    }
+}
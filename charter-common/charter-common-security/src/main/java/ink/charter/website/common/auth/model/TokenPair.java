@@ -0,0 +1,37 @@
+package ink.charter.website.common.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 令牌对（同一会话的访问令牌与刷新令牌）
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenPair {
+
+    /**
+     * 访问令牌
+     */
+    private String accessToken;
+
+    /**
+     * 刷新令牌
+     */
+    private String refreshToken;
+
+    /**
+     * 会话ID（同一设备登录后多次轮换保持不变）
+     */
+    private String sessionId;
+
+    /**
+     * 访问令牌有效期（秒）
+     */
+    private Long expiresIn;
+}
@@ -0,0 +1,83 @@
+package ink.charter.website.common.auth.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 刷新令牌轮换结果
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenRotationResult {
+
+    /**
+     * 轮换状态
+     */
+    private final Status status;
+
+    /**
+     * 新的令牌对（仅轮换成功时存在）
+     */
+    private final TokenPair tokenPair;
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 新访问令牌是否已关联登录用户信息
+     * 旧访问令牌记录已过期时为false，需由调用方重新构建登录用户后绑定
+     */
+    private final boolean loginUserBound;
+
+    /**
+     * 轮换成功
+     *
+     * @param tokenPair 新的令牌对
+     * @param userId 用户ID
+     * @param username 用户名
+     * @param loginUserBound 新访问令牌是否已关联登录用户信息
+     * @return 轮换结果
+     */
+    public static TokenRotationResult rotated(TokenPair tokenPair, Long userId, String username, boolean loginUserBound) {
+        return new TokenRotationResult(Status.ROTATED, tokenPair, userId, username, loginUserBound);
+    }
+
+    /**
+     * 刷新令牌无效（签名错误、已过期或会话已结束）
+     *
+     * @return 轮换结果
+     */
+    public static TokenRotationResult invalid() {
+        return new TokenRotationResult(Status.INVALID, null, null, null, false);
+    }
+
+    /**
+     * 检测到已轮换的刷新令牌被再次使用
+     *
+     * @param userId 用户ID
+     * @return 轮换结果
+     */
+    public static TokenRotationResult reused(Long userId) {
+        return new TokenRotationResult(Status.REUSED, null, userId, null, false);
+    }
+
+    /**
+     * 轮换状态
+     */
+    public enum Status {
+        ROTATED,
+        INVALID,
+        REUSED
+    }
+}
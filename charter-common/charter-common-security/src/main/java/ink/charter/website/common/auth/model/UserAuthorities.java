@@ -0,0 +1,31 @@
+package ink.charter.website.common.auth.model;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 用户授权信息（角色ID、角色编码与权限码）
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Data
+public class UserAuthorities {
+
+    /**
+     * 角色ID列表
+     */
+    private Set<Long> roleIds = new HashSet<>();
+
+    /**
+     * 角色编码列表
+     */
+    private Set<String> roles = new HashSet<>();
+
+    /**
+     * 权限码列表
+     */
+    private Set<String> permissions = new HashSet<>();
+}
@@ -0,0 +1,196 @@
+package ink.charter.website.common.auth.password;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.core.common.enums.ResCodeEnum;
+import ink.charter.website.common.core.exception.SystemException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 密码哈希执行器
+ * BCrypt校验与编码在独立的有界线程池中执行，不占用Tomcat请求线程的CPU时间；
+ * 等待队列满或等待超时时立即失败，避免登录高峰拖垮其他接口。
+ * 可选在登录成功后将低于配置强度的密码重新哈希
+ *
+ * @author charter
+ * @create 2025/11/26
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    private static final String METRIC_PREFIX = "charter.auth.password.";
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeout;
+    private final boolean rehashOnLogin;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public PasswordHashExecutor(AuthProperties authProperties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        AuthProperties.Password config = authProperties.getPassword();
+        int threads = config.getHashThreads() != null && config.getHashThreads() > 0
+                ? config.getHashThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = new BCryptPasswordEncoder(config.getStrength());
+        this.waitTimeout = config.getWaitTimeout();
+        this.rehashOnLogin = Boolean.TRUE.equals(config.getRehashOnLogin());
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.matchesTimer = Timer.builder(METRIC_PREFIX + "hash")
+                .description("密码哈希耗时")
+                .tag("operation", "matches")
+                .register(registry);
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + "hash")
+                .description("密码哈希耗时")
+                .tag("operation", "encode")
+                .register(registry);
+        this.queueFullCounter = Counter.builder(METRIC_PREFIX + "rejected")
+                .description("被拒绝的密码哈希请求数")
+                .tag("reason", "queue_full")
+                .register(registry);
+        this.timeoutCounter = Counter.builder(METRIC_PREFIX + "rejected")
+                .description("被拒绝的密码哈希请求数")
+                .tag("reason", "timeout")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "queue.depth", executor, e -> e.getQueue().size())
+                .description("等待中的密码哈希任务数")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("执行中的密码哈希任务数")
+                .register(registry);
+
+        log.info("密码哈希执行器初始化完成，线程数: {}，队列容量: {}，编码强度: {}",
+                threads, config.getQueueCapacity(), config.getStrength());
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword 原始密码
+     * @param encodedPassword 已编码的密码
+     * @return 是否匹配
+     * @throws SystemException 队列已满或等待超时
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (!StringUtils.hasText(rawPassword) || !StringUtils.hasText(encodedPassword)) {
+            return false;
+        }
+        return execute(() -> matchesTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * 编码密码
+     *
+     * @param rawPassword 原始密码
+     * @return 已编码的密码
+     * @throws SystemException 队列已满或等待超时
+     */
+    public String encode(String rawPassword) {
+        return execute(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * 是否需要按配置的编码强度重新哈希
+     *
+     * @param encodedPassword 已编码的密码
+     * @return 是否需要重新哈希
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (!rehashOnLogin || !StringUtils.hasText(encodedPassword)) {
+            return false;
+        }
+        try {
+            return passwordEncoder.upgradeEncoding(encodedPassword);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 异步重新哈希密码，队列已满时放弃（下次登录再处理）
+     *
+     * @param rawPassword 原始密码
+     * @param callback 新密码回调
+     */
+    public void rehashAsync(String rawPassword, Consumer<String> callback) {
+        try {
+            executor.execute(() -> {
+                try {
+                    String encoded = encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword));
+                    callback.accept(encoded);
+                } catch (Exception e) {
+                    log.warn("密码重新哈希失败: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("密码哈希队列已满，跳过重新哈希");
+        }
+    }
+
+    /**
+     * 提交任务并等待结果
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            throw new SystemException(ResCodeEnum.RATE_LIMIT_EXCEEDED.getCode(), "登录请求繁忙，请稍后重试");
+        }
+
+        try {
+            return future.get(waitTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutCounter.increment();
+            throw new SystemException(ResCodeEnum.REQUEST_TIMEOUT.getCode(), "登录请求繁忙，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SystemException(ResCodeEnum.SYSTEM_ERROR.getCode(), "密码校验被中断", e);
+        } catch (ExecutionException e) {
+            throw new SystemException(ResCodeEnum.SYSTEM_ERROR.getCode(), "密码校验失败", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
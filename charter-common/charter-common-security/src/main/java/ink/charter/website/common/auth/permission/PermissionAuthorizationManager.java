@@ -0,0 +1,118 @@
+package ink.charter.website.common.auth.permission;
+
+import ink.charter.website.common.auth.model.LoginUser;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 基于权限位图的方法授权管理器
+ * 对形如 hasAuthority('xxx') 的简单表达式，按方法预先提取权限码，授权时直接检查登录用户的权限位图，
+ * 无需解析SpEL及构建权限列表；其余表达式交由Spring Security默认的@PreAuthorize管理器处理
+ *
+ * @author charter
+ * @create 2025/11/25
+ */
+public class PermissionAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final Pattern SIMPLE_AUTHORITY_PATTERN =
+            Pattern.compile("^\\s*hasAuthority\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)\\s*$");
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    /**
+     * 非简单表达式的占位标记
+     */
+    private static final String NOT_SIMPLE = "";
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final ObjectProvider<PermissionRegistry> registryProvider;
+    private final AuthorizationManager<MethodInvocation> delegate;
+
+    /**
+     * 方法 -> 权限码（非简单表达式为NOT_SIMPLE）
+     */
+    private final Map<MethodClassKey, String> authorityCache = new ConcurrentHashMap<>();
+
+    private volatile PermissionRegistry registry;
+
+    public PermissionAuthorizationManager(ObjectProvider<PermissionRegistry> registryProvider,
+                                          AuthorizationManager<MethodInvocation> delegate) {
+        this.registryProvider = registryProvider;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        String authority = resolveAuthority(invocation);
+        if (NOT_SIMPLE.equals(authority)) {
+            return delegate.check(authentication, invocation);
+        }
+
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated() || !(current.getPrincipal() instanceof LoginUser loginUser)) {
+            return delegate.check(authentication, invocation);
+        }
+
+        if (authority.startsWith(ROLE_PREFIX)) {
+            return loginUser.hasRole(authority.substring(ROLE_PREFIX.length())) ? GRANTED : DENIED;
+        }
+
+        PermissionRegistry permissionRegistry = getRegistry();
+        boolean granted = permissionRegistry != null
+                ? loginUser.hasPermission(authority, permissionRegistry)
+                : loginUser.hasPermission(authority);
+        return granted ? GRANTED : DENIED;
+    }
+
+    /**
+     * 获取方法上简单表达式的权限码
+     */
+    private String resolveAuthority(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        return authorityCache.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> extractAuthority(method, targetClass));
+    }
+
+    /**
+     * 从@PreAuthorize注解中提取简单表达式的权限码（方法注解优先于类注解）
+     */
+    private static String extractAuthority(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize preAuthorize = AnnotationUtils.findAnnotation(specificMethod, PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotationUtils.findAnnotation(targetClass, PreAuthorize.class);
+        }
+        if (preAuthorize == null) {
+            return NOT_SIMPLE;
+        }
+        Matcher matcher = SIMPLE_AUTHORITY_PATTERN.matcher(preAuthorize.value());
+        return matcher.matches() ? matcher.group(1) : NOT_SIMPLE;
+    }
+
+    private PermissionRegistry getRegistry() {
+        PermissionRegistry current = registry;
+        if (current == null) {
+            current = registryProvider.getIfAvailable();
+            registry = current;
+        }
+        return current;
+    }
+}
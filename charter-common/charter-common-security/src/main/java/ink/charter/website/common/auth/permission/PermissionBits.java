@@ -0,0 +1,42 @@
+package ink.charter.website.common.auth.permission;
+
+import java.util.BitSet;
+
+/**
+ * 权限位图
+ * 记录位图所对应的权限下标分配指纹，指纹变化（权限码重新登记）后需重新计算
+ *
+ * @author charter
+ * @create 2025/11/25
+ */
+public final class PermissionBits {
+
+    private final String fingerprint;
+
+    private final BitSet bits;
+
+    public PermissionBits(String fingerprint, BitSet bits) {
+        this.fingerprint = fingerprint;
+        this.bits = bits;
+    }
+
+    /**
+     * 是否与指定的下标分配一致
+     *
+     * @param fingerprint 下标分配指纹
+     * @return 是否一致
+     */
+    public boolean matches(String fingerprint) {
+        return this.fingerprint.equals(fingerprint);
+    }
+
+    /**
+     * 是否拥有指定下标的权限
+     *
+     * @param index 权限下标
+     * @return 是否拥有
+     */
+    public boolean get(int index) {
+        return bits.get(index);
+    }
+}
@@ -0,0 +1,184 @@
+package ink.charter.website.common.auth.permission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 权限码注册表
+ * 启动时由资源扫描器登记全部权限码，按字典序分配整数下标，
+ * 使权限集合可以用位图表示；指纹用于判断令牌中的位图是否与当前节点的下标分配一致
+ *
+ * @author charter
+ * @create 2025/11/24
+ */
+@Slf4j
+@Component
+public class PermissionRegistry {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], Collections.emptyMap(), "");
+
+    /**
+     * 登记权限码（整体替换）
+     *
+     * @param codes 权限码集合
+     */
+    public void register(Collection<String> codes) {
+        TreeSet<String> sorted = new TreeSet<>();
+        if (codes != null) {
+            for (String code : codes) {
+                if (StringUtils.hasText(code)) {
+                    sorted.add(code);
+                }
+            }
+        }
+        String[] array = sorted.toArray(new String[0]);
+        Map<String, Integer> index = new HashMap<>(array.length * 2);
+        for (int i = 0; i < array.length; i++) {
+            index.put(array[i], i);
+        }
+        this.snapshot = new Snapshot(array, index, fingerprint(array));
+        log.info("权限码注册完成，共 {} 个，指纹: {}", array.length, snapshot.fingerprint);
+    }
+
+    /**
+     * 是否已完成登记
+     *
+     * @return 是否已登记
+     */
+    public boolean isReady() {
+        return snapshot.codes.length > 0;
+    }
+
+    /**
+     * 获取当前下标分配的指纹
+     *
+     * @return 指纹
+     */
+    public String getFingerprint() {
+        return snapshot.fingerprint;
+    }
+
+    /**
+     * 获取权限码下标
+     *
+     * @param code 权限码
+     * @return 下标，未登记时返回-1
+     */
+    public int indexOf(String code) {
+        Integer index = code != null ? snapshot.index.get(code) : null;
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 权限码集合转位图（未登记的权限码忽略）
+     *
+     * @param codes 权限码集合
+     * @return 位图
+     */
+    public BitSet toBits(Collection<String> codes) {
+        Snapshot current = snapshot;
+        BitSet bits = new BitSet(current.codes.length);
+        if (codes != null) {
+            for (String code : codes) {
+                Integer index = code != null ? current.index.get(code) : null;
+                if (index != null) {
+                    bits.set(index);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * 位图转权限码集合
+     *
+     * @param bits 位图
+     * @return 权限码集合
+     */
+    public Set<String> toCodes(BitSet bits) {
+        String[] codes = snapshot.codes;
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = bits.nextSetBit(0); i >= 0 && i < codes.length; i = bits.nextSetBit(i + 1)) {
+            result.add(codes[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 权限码集合编码为紧凑字符串（位图的Base64Url编码）
+     *
+     * @param codes 权限码集合
+     * @return 编码结果
+     */
+    public String encode(Collection<String> codes) {
+        return ENCODER.encodeToString(toBits(codes).toByteArray());
+    }
+
+    /**
+     * 解码紧凑字符串为位图
+     *
+     * @param encoded 编码结果
+     * @return 位图
+     */
+    public BitSet decode(String encoded) {
+        if (!StringUtils.hasText(encoded)) {
+            return new BitSet();
+        }
+        return BitSet.valueOf(DECODER.decode(encoded));
+    }
+
+    /**
+     * 计算下标分配指纹（有序权限码的SHA-256前8字节）
+     */
+    private static String fingerprint(String[] codes) {
+        if (codes.length == 0) {
+            return "";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String code : codes) {
+                digest.update(code.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return ENCODER.encodeToString(Arrays.copyOf(digest.digest(), 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前环境不支持SHA-256算法", e);
+        }
+    }
+
+    /**
+     * 不可变的下标分配快照
+     */
+    private static final class Snapshot {
+
+        private final String[] codes;
+
+        private final Map<String, Integer> index;
+
+        private final String fingerprint;
+
+        private Snapshot(String[] codes, Map<String, Integer> index, String fingerprint) {
+            this.codes = codes;
+            this.index = index;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package ink.charter.website.common.auth.permission;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.model.UserAuthorities;
+import ink.charter.website.common.auth.provider.AuthUserProvider;
+import ink.charter.website.common.redis.cache.LocalCache;
+import ink.charter.website.common.redis.service.RedisService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限版本服务
+ * 在Redis Hash中维护全局、每个角色及每个用户的权限版本，分配关系变更时递增对应版本。
+ * 登录用户记录加载权限时的版本戳（全局 + 用户 + 所属角色版本之和），认证时与本地副本比较，
+ * 版本变化的用户才重新加载权限，无需强制全部用户重新登录。
+ * 本地副本通过发布订阅实时更新并定期全量重载；版本只增不减，副本滞后最多导致一次多余的重新加载
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Slf4j
+@Component
+public class PermissionVersionService implements MessageListener {
+
+    /**
+     * Redis中权限版本Hash键
+     */
+    public static final String VERSION_KEY = "auth:perm:version";
+
+    /**
+     * 权限版本变更频道
+     */
+    public static final String VERSION_CHANNEL = "auth:perm:version";
+
+    private static final String GLOBAL_FIELD = "g";
+    private static final String USER_FIELD_PREFIX = "u:";
+    private static final String ROLE_FIELD_PREFIX = "r:";
+    private static final String VALUE_SEPARATOR = "=";
+    private static final String ENTRY_SEPARATOR = ",";
+
+    /**
+     * 重新加载结果的本地缓存，同一用户的多个令牌或并发请求共用一次查询
+     */
+    private static final long REFRESHED_TTL_MILLIS = 60 * 1000L;
+    private static final int REFRESHED_MAX_SIZE = 10000;
+
+    /**
+     * 批量递增版本并发布变更通知
+     * KEYS: 1 版本Hash
+     * ARGV: 1 通知频道 2.. 字段列表
+     * 返回: 与字段顺序一致的新版本
+     */
+    private static final String BUMP_SCRIPT =
+            "local versions = {} " +
+            "local entries = {} " +
+            "for i = 2, #ARGV do " +
+            "  local version = redis.call('HINCRBY', KEYS[1], ARGV[i], 1) " +
+            "  versions[i - 1] = version " +
+            "  entries[i - 1] = ARGV[i] .. '" + VALUE_SEPARATOR + "' .. version " +
+            "end " +
+            "redis.call('PUBLISH', ARGV[1], table.concat(entries, '" + ENTRY_SEPARATOR + "')) " +
+            "return versions";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> BUMP = new DefaultRedisScript<>(BUMP_SCRIPT, List.class);
+
+    private final RedisService redisService;
+    private final ObjectProvider<AuthUserProvider> authUserProviderProvider;
+    private final boolean enabled;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final LocalCache<Long, Refreshed> refreshed;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 首次加载完成前不签发版本戳、不做版本比较
+     */
+    private volatile boolean ready = false;
+
+    public PermissionVersionService(AuthProperties authProperties, RedisService redisService,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    ObjectProvider<AuthUserProvider> authUserProviderProvider) {
+        this.redisService = redisService;
+        this.authUserProviderProvider = authUserProviderProvider;
+        AuthProperties.PermissionVersion config = authProperties.getPermissionVersion();
+        this.enabled = Boolean.TRUE.equals(config.getEnabled());
+        this.refreshed = new LocalCache<>(REFRESHED_TTL_MILLIS, REFRESHED_MAX_SIZE);
+
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(VERSION_CHANNEL));
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "permission-version-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::reload, 0, config.getReloadInterval(), TimeUnit.SECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 获取版本快照
+     * 必须在查询权限之前获取：快照不高于查询时的真实版本，之后的变更一定会被检测到
+     *
+     * @param userId 用户ID
+     * @return 版本快照，本地副本未就绪时返回null
+     */
+    public Snapshot snapshot(Long userId) {
+        if (!enabled || !ready || userId == null) {
+            return null;
+        }
+        Map<Long, Long> roleVersions = new HashMap<>();
+        versions.forEach((field, version) -> {
+            if (field.startsWith(ROLE_FIELD_PREFIX)) {
+                roleVersions.put(Long.valueOf(field.substring(ROLE_FIELD_PREFIX.length())), version);
+            }
+        });
+        return new Snapshot(getVersion(GLOBAL_FIELD) + getVersion(USER_FIELD_PREFIX + userId), roleVersions);
+    }
+
+    /**
+     * 登录用户的权限是否已过期（仅比较本地副本）
+     *
+     * @param loginUser 登录用户
+     * @return 是否需要重新加载权限
+     */
+    public boolean isStale(LoginUser loginUser) {
+        if (!enabled || !ready || loginUser == null || loginUser.getPermissionVersion() == null) {
+            return false;
+        }
+        return currentVersion(loginUser.getUserId(), loginUser.getRoleIds()) > loginUser.getPermissionVersion();
+    }
+
+    /**
+     * 重新加载登录用户的权限
+     *
+     * @param loginUser 权限已过期的登录用户
+     * @return 权限更新后的登录用户副本，加载失败时返回null
+     */
+    public LoginUser refresh(LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
+        Refreshed cached = refreshed.get(userId);
+        if (cached == null || currentVersion(userId, cached.authorities.getRoleIds()) > cached.version) {
+            AuthUserProvider provider = authUserProviderProvider.getIfAvailable();
+            Snapshot snapshot = snapshot(userId);
+            if (provider == null || snapshot == null) {
+                return null;
+            }
+            UserAuthorities authorities = provider.getUserAuthorities(List.of(userId)).get(userId);
+            if (authorities == null) {
+                authorities = new UserAuthorities();
+            }
+            cached = new Refreshed(snapshot.versionOf(authorities.getRoleIds()), authorities);
+            refreshed.put(userId, cached);
+            log.debug("用户 {} 权限版本已变更，重新加载权限", userId);
+        }
+        return copyWith(loginUser, cached.authorities, cached.version);
+    }
+
+    /**
+     * 递增用户权限版本（用户角色分配变更后调用，事务中调用时在提交后执行）
+     *
+     * @param userIds 用户ID集合
+     */
+    public void bumpUsers(Collection<Long> userIds) {
+        bump(toFields(USER_FIELD_PREFIX, userIds));
+    }
+
+    /**
+     * 递增角色权限版本（角色资源分配或角色状态变更后调用，事务中调用时在提交后执行）
+     *
+     * @param roleIds 角色ID集合
+     */
+    public void bumpRoles(Collection<Long> roleIds) {
+        bump(toFields(ROLE_FIELD_PREFIX, roleIds));
+    }
+
+    /**
+     * 递增全局权限版本（资源本身变更，影响范围无法按角色确定时调用）
+     */
+    public void bumpAll() {
+        bump(List.of(GLOBAL_FIELD));
+    }
+
+    private List<String> toFields(String prefix, Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> fields = new ArrayList<>(ids.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id != null) {
+                fields.add(prefix + id);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 递增版本，存在活动事务时推迟到提交之后，避免其他请求在提交前按新版本加载到旧数据
+     */
+    private void bump(List<String> fields) {
+        if (!enabled || fields.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doBump(fields);
+                }
+            });
+        } else {
+            doBump(fields);
+        }
+    }
+
+    /**
+     * 执行递增（afterCommit回调中Redis事务绑定仍然有效，需在不参与事务的连接上执行才能立即拿到新版本）
+     */
+    private void doBump(List<String> fields) {
+        try {
+            List<String> args = new ArrayList<>(fields.size() + 1);
+            args.add(VERSION_CHANNEL);
+            args.addAll(fields);
+            List<?> result = redisService.executeScriptOutsideTransaction(BUMP, List.of(VERSION_KEY),
+                    args.toArray(new String[0]));
+            if (result == null || result.size() != fields.size()) {
+                log.warn("递增权限版本未返回结果, fields: {}", fields);
+                return;
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                versions.merge(fields.get(i), ((Number) result.get(i)).longValue(), Math::max);
+            }
+        } catch (Exception e) {
+            log.error("递增权限版本失败, fields: {}", fields, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String entry : body.split(ENTRY_SEPARATOR)) {
+            int index = entry.indexOf(VALUE_SEPARATOR);
+            if (index <= 0) {
+                continue;
+            }
+            try {
+                versions.merge(entry.substring(0, index), Long.valueOf(entry.substring(index + 1)), Math::max);
+            } catch (NumberFormatException e) {
+                log.warn("忽略格式错误的权限版本消息: {}", entry);
+            }
+        }
+    }
+
+    /**
+     * 按本地副本计算当前版本
+     */
+    private long currentVersion(Long userId, Collection<Long> roleIds) {
+        long version = getVersion(GLOBAL_FIELD) + getVersion(USER_FIELD_PREFIX + userId);
+        if (roleIds != null) {
+            for (Long roleId : roleIds) {
+                version += getVersion(ROLE_FIELD_PREFIX + roleId);
+            }
+        }
+        return version;
+    }
+
+    private long getVersion(String field) {
+        Long version = versions.get(field);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * 从Redis全量重载版本
+     */
+    private void reload() {
+        try {
+            Map<Object, Object> entries = redisService.hGetAll(VERSION_KEY);
+            if (entries != null) {
+                entries.forEach((field, value) -> {
+                    if (value instanceof Number number) {
+                        versions.merge(String.valueOf(field), number.longValue(), Math::max);
+                    }
+                });
+            }
+            ready = true;
+        } catch (Exception e) {
+            log.error("重载权限版本失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 复制登录用户并替换授权信息
+     */
+    private static LoginUser copyWith(LoginUser source, UserAuthorities authorities, long version) {
+        LoginUser target = new LoginUser(source.getUserId(), source.getUsername(), source.getPassword(),
+                source.getStatus(), new HashSet<>(authorities.getPermissions()), new HashSet<>(authorities.getRoles()));
+        target.setNickname(source.getNickname());
+        target.setEmail(source.getEmail());
+        target.setPhone(source.getPhone());
+        target.setAvatar(source.getAvatar());
+        target.setLoginTime(source.getLoginTime());
+        target.setLoginIp(source.getLoginIp());
+        target.setUserAgent(source.getUserAgent());
+        target.setSessionId(source.getSessionId());
+        target.setRoleIds(new HashSet<>(authorities.getRoleIds()));
+        target.setPermissionVersion(version);
+        return target;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 版本快照（全局与用户版本之和及全部角色版本）
+     */
+    public static final class Snapshot {
+
+        private final long baseVersion;
+        private final Map<Long, Long> roleVersions;
+
+        private Snapshot(long baseVersion, Map<Long, Long> roleVersions) {
+            this.baseVersion = baseVersion;
+            this.roleVersions = roleVersions;
+        }
+
+        /**
+         * 按查询到的角色计算版本戳
+         *
+         * @param roleIds 角色ID集合
+         * @return 版本戳
+         */
+        public long versionOf(Set<Long> roleIds) {
+            long version = baseVersion;
+            if (roleIds != null) {
+                for (Long roleId : roleIds) {
+                    version += roleVersions.getOrDefault(roleId, 0L);
+                }
+            }
+            return version;
+        }
+    }
+
+    /**
+     * 重新加载结果
+     */
+    private static final class Refreshed {
+
+        private final long version;
+        private final UserAuthorities authorities;
+
+        private Refreshed(long version, UserAuthorities authorities) {
+            this.version = version;
+            this.authorities = authorities;
+        }
+    }
+}
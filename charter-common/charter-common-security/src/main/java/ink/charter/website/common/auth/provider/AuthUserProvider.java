@@ -0,0 +1,114 @@
+package ink.charter.website.common.auth.provider;
+
+import ink.charter.website.common.auth.model.UserAuthorities;
+import ink.charter.website.common.core.entity.sys.SysUserEntity;
+import ink.charter.website.common.core.entity.sys.SysUserSessionEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 认证用户数据提供者接口
+ * 由具体的业务模块实现，为认证流程提供用户查询及会话记录能力
+ *
+ * @author charter
+ * @create 2025/11/26
+ */
+public interface AuthUserProvider {
+
+    /**
+     * 根据用户名或邮箱查询用户
+     *
+     * @param usernameOrEmail 用户名或邮箱
+     * @return 用户信息
+     */
+    SysUserEntity getUserByUsernameOrEmail(String usernameOrEmail);
+
+    /**
+     * 检查用户状态是否正常
+     *
+     * @param user 用户信息
+     * @return 是否正常
+     */
+    boolean isUserStatusNormal(SysUserEntity user);
+
+    /**
+     * 获取用户权限码
+     *
+     * @param userId 用户ID
+     * @return 权限码集合
+     */
+    Set<String> getUserPermissions(Long userId);
+
+    /**
+     * 获取用户角色编码
+     *
+     * @param userId 用户ID
+     * @return 角色编码集合
+     */
+    Set<String> getUserRoles(Long userId);
+
+    /**
+     * 批量获取用户授权信息（角色ID、角色编码与权限码，一次查询）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 授权信息，无角色的用户返回空授权信息
+     */
+    Map<Long, UserAuthorities> getUserAuthorities(Collection<Long> userIds);
+
+    /**
+     * 批量更新用户登录信息
+     *
+     * @param loginInfos 登录信息（id、loginCount为登录次数增量、lastLoginTime、lastLoginIp）
+     */
+    void updateLoginInfos(List<SysUserEntity> loginInfos);
+
+    /**
+     * 更新用户密码（已编码，用于登录时按新的编码强度重新哈希）
+     * 仅当数据库中的密码仍为登录时校验通过的哈希才更新，避免覆盖期间修改或重置的新密码
+     *
+     * @param userId 用户ID
+     * @param verifiedPassword 登录时校验通过的密码哈希
+     * @param encodedPassword 已编码的密码
+     * @return 是否成功
+     */
+    boolean updateEncodedPassword(Long userId, String verifiedPassword, String encodedPassword);
+
+    /**
+     * 批量创建用户会话记录
+     *
+     * @param sessions 会话列表
+     */
+    void createSessions(List<SysUserSessionEntity> sessions);
+
+    /**
+     * 批量更新会话过期时间（令牌续期后异步同步）
+     *
+     * @param expireTimes 访问Token -> 过期时间
+     */
+    void updateSessionExpireTimes(Map<String, LocalDateTime> expireTimes);
+
+    /**
+     * 批量更新会话令牌（刷新令牌轮换后异步同步）
+     *
+     * @param sessions 会话列表（按会话ID匹配，携带新的访问Token、刷新Token与过期时间）
+     */
+    void rotateSessions(List<SysUserSessionEntity> sessions);
+
+    /**
+     * 批量使会话失效
+     *
+     * @param accessTokens 访问Token集合
+     */
+    void invalidateSessions(Collection<String> accessTokens);
+
+    /**
+     * 批量使用户所有会话失效
+     *
+     * @param userIds 用户ID集合
+     */
+    void invalidateUserSessions(Collection<Long> userIds);
+}
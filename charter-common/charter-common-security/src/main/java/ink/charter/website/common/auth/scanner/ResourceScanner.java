@@ -1,7 +1,9 @@
 package ink.charter.website.common.auth.scanner;
 
+import ink.charter.website.common.auth.permission.PermissionRegistry;
 import ink.charter.website.common.core.entity.sys.SysResourceEntity;
 import ink.charter.website.common.core.utils.IdGenerator;
+import ink.charter.website.common.redis.service.RedisService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
@@ -18,13 +20,17 @@ import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * 资源扫描器
- * 项目启动时自动扫描所有Controller的@PreAuthorize注解，生成资源记录
+ * 项目启动时自动扫描所有Controller的@PreAuthorize注解，生成资源记录。
+ * 扫描结果的指纹记录在Redis中，指纹未变化时跳过数据库同步；多节点同时启动时由分布式锁保证只有一个节点执行同步
  *
  * @author charter
  * @create 2025/11/12
@@ -36,6 +42,23 @@ public class ResourceScanner implements ApplicationRunner {
 
     private final RequestMappingHandlerMapping requestMappingHandlerMapping;
     private final ResourceScannerCallback callback;
+    private final PermissionRegistry permissionRegistry;
+    private final RedisService redisService;
+
+    /**
+     * 资源指纹键
+     */
+    private static final String FINGERPRINT_KEY = "auth:resource:fingerprint";
+
+    /**
+     * 资源同步锁键
+     */
+    private static final String SYNC_LOCK_KEY = "auth:resource:sync:lock";
+
+    /**
+     * 资源同步锁过期时间（毫秒）
+     */
+    private static final long SYNC_LOCK_EXPIRE = 60000L;
 
     /**
      * 权限码提取正则表达式
@@ -47,9 +70,13 @@ public class ResourceScanner implements ApplicationRunner {
     private static final Pattern DIRECT_PATTERN = Pattern.compile("^['\"]([^'\"]+)['\"]$");
 
     public ResourceScanner(RequestMappingHandlerMapping requestMappingHandlerMapping,
-                          ResourceScannerCallback callback) {
+                          ResourceScannerCallback callback,
+                          PermissionRegistry permissionRegistry,
+                          RedisService redisService) {
         this.requestMappingHandlerMapping = requestMappingHandlerMapping;
         this.callback = callback;
+        this.permissionRegistry = permissionRegistry;
+        this.redisService = redisService;
     }
 
     @Override
@@ -75,8 +102,11 @@ public class ResourceScanner implements ApplicationRunner {
                 }
             }
             
+            // 登记权限码，分配位图下标
+            permissionRegistry.register(scannedResources.stream().map(SysResourceEntity::getResourceCode).toList());
+            
             // 通过回调接口同步到数据库
-            callback.syncResources(scannedResources);
+            syncIfChanged(scannedResources);
             
             log.info("========== 资源权限扫描完成，共扫描到 {} 个资源 ==========", scannedResources.size());
         } catch (Exception e) {
@@ -84,6 +114,55 @@ public class ResourceScanner implements ApplicationRunner {
         }
     }
 
+    /**
+     * 资源指纹变化时同步到数据库
+     */
+    private void syncIfChanged(List<SysResourceEntity> scannedResources) {
+        String fingerprint = fingerprint(scannedResources);
+        String requestId = UUID.randomUUID().toString();
+        boolean locked;
+        try {
+            if (fingerprint.equals(redisService.getString(FINGERPRINT_KEY))) {
+                log.info("资源指纹未变化，跳过资源同步");
+                return;
+            }
+            locked = redisService.tryLock(SYNC_LOCK_KEY, requestId, SYNC_LOCK_EXPIRE);
+        } catch (Exception e) {
+            // Redis不可用时直接同步
+            log.warn("读取资源指纹失败，直接同步资源: {}", e.getMessage());
+            callback.syncResources(scannedResources);
+            return;
+        }
+        if (!locked) {
+            log.info("其他节点正在同步资源，跳过资源同步");
+            return;
+        }
+        try {
+            if (callback.syncResources(scannedResources)) {
+                redisService.setString(FINGERPRINT_KEY, fingerprint);
+            }
+        } finally {
+            redisService.releaseLock(SYNC_LOCK_KEY, requestId);
+        }
+    }
+
+    /**
+     * 计算资源指纹（按权限码排序后对映射信息做SHA-256）
+     */
+    private String fingerprint(List<SysResourceEntity> resources) {
+        List<String> lines = new ArrayList<>(resources.size());
+        for (SysResourceEntity resource : resources) {
+            lines.add(String.join("|", resource.getResourceCode(), resource.getModule(), resource.getUrl(), resource.getMethod()));
+        }
+        Collections.sort(lines);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前环境不支持SHA-256算法", e);
+        }
+    }
+
     /**
      * 解析资源信息
      */
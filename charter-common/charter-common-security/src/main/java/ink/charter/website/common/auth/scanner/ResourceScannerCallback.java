@@ -17,6 +17,7 @@ public interface ResourceScannerCallback {
      * 同步资源到数据库
      *
      * @param scannedResources 扫描到的资源列表
+     * @return 是否同步成功（成功后记录资源指纹，相同指纹的后续启动将跳过同步）
      */
-    void syncResources(List<SysResourceEntity> scannedResources);
+    boolean syncResources(List<SysResourceEntity> scannedResources);
 }
@@ -4,6 +4,8 @@ import ink.charter.website.common.auth.model.LoginResponse;
 import ink.charter.website.common.auth.model.LoginUser;
 import ink.charter.website.common.core.common.Result;
 
+import java.util.Collection;
+
 /**
  * 认证服务接口
  *
@@ -55,6 +57,14 @@ public interface AuthService {
      */
     boolean kickOutUser(Long userId);
 
+    /**
+     * 批量踢出用户
+     *
+     * @param userIds 用户ID集合
+     * @return 踢出是否成功
+     */
+    boolean kickOutUsers(Collection<Long> userIds);
+
     /**
      * 检查登录限制
      *
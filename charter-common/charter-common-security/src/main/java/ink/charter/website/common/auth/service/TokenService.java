@@ -1,8 +1,14 @@
 package ink.charter.website.common.auth.service;
 
+import ink.charter.website.common.auth.model.DeviceSession;
 import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.model.TokenAuthResult;
+import ink.charter.website.common.auth.model.TokenPair;
+import ink.charter.website.common.auth.model.TokenRotationResult;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Token服务接口
@@ -21,12 +27,40 @@ public interface TokenService {
     String createToken(LoginUser loginUser);
 
     /**
-     * 创建刷新令牌
+     * 创建令牌对并登记设备会话
+     * 会话记录在用户会话Hash中（会话ID -> 访问令牌摘要、刷新令牌摘要、过期时间），刷新时原子轮换
      *
+     * @param loginUser 登录用户信息（未设置会话ID时自动生成并回填）
+     * @return 令牌对，失败时返回null
+     */
+    TokenPair createTokenPair(LoginUser loginUser);
+
+    /**
+     * 轮换刷新令牌
+     * 仅解析一次刷新令牌，通过一个Lua脚本校验并同时轮换访问令牌与刷新令牌；
+     * 已被轮换过的刷新令牌在宽限期内再次使用时返回同一组新令牌（多标签页并发刷新、请求重试），
+     * 超过宽限期后再次使用视为泄露，吊销该用户全部令牌
+     *
+     * @param refreshToken 刷新令牌
+     * @return 轮换结果
+     */
+    TokenRotationResult rotateRefreshToken(String refreshToken);
+
+    /**
+     * 为访问令牌绑定登录用户信息（轮换时旧访问令牌记录已过期的情况）
+     *
+     * @param accessToken 访问令牌
      * @param loginUser 登录用户信息
-     * @return 刷新令牌
      */
-    String createRefreshToken(LoginUser loginUser);
+    void bindLoginUser(String accessToken, LoginUser loginUser);
+
+    /**
+     * 获取用户的设备会话列表
+     *
+     * @param userId 用户ID
+     * @return 未过期的设备会话
+     */
+    List<DeviceSession> listUserSessions(Long userId);
 
     /**
      * 验证令牌
@@ -35,7 +69,16 @@ public interface TokenService {
      * @return 令牌是否有效
      */
     boolean verifyToken(String token);
-    
+
+    /**
+     * 认证令牌
+     * 仅解析一次JWT，并通过一次Redis往返同时获取黑名单标记、登录用户信息及剩余有效期
+     *
+     * @param token 令牌
+     * @return 认证结果
+     */
+    TokenAuthResult authenticate(String token);
+
     /**
      * 从令牌获取登录用户信息
      *
@@ -45,12 +88,13 @@ public interface TokenService {
     LoginUser getLoginUserFromToken(String token);
 
     /**
-     * 刷新令牌
+     * 更新令牌记录中的登录用户信息（保持剩余有效期，令牌已删除时不写入）
      *
-     * @param refreshToken 刷新令牌
-     * @return 新的访问令牌
+     * @param token 令牌
+     * @param loginUser 登录用户信息
+     * @param expireSeconds 令牌剩余有效期（秒），小于等于0时仅更新本地缓存
      */
-    String refreshAccessToken(String refreshToken);
+    void updateLoginUser(String token, LoginUser loginUser, long expireSeconds);
 
     /**
      * 删除令牌
@@ -66,6 +110,14 @@ public interface TokenService {
      */
     void deleteUserTokens(Long userId);
 
+    /**
+     * 批量删除多个用户的所有令牌
+     * 令牌集合读取、剩余有效期读取、删除与拉黑分别通过一次管道完成，黑名单有效期取令牌记录的剩余有效期
+     *
+     * @param userIds 用户ID集合
+     */
+    void deleteUsersTokens(Collection<Long> userIds);
+
     /**
      * 获取令牌过期时间
      *
@@ -82,6 +134,15 @@ public interface TokenService {
      */
     void extendTokenExpire(String token, long expireSeconds);
 
+    /**
+     * 批量延长令牌有效期（管道一次往返）
+     *
+     * @param tokens 令牌集合
+     * @param expireSeconds 延长时间（秒）
+     * @return 成功续期的令牌
+     */
+    List<String> extendTokensExpire(Collection<String> tokens, long expireSeconds);
+
     /**
      * 检查令牌是否在黑名单中
      *
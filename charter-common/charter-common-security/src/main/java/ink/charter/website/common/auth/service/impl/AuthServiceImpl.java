@@ -1,27 +1,37 @@
 package ink.charter.website.common.auth.service.impl;
 
 import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.auth.limiter.LoginAttemptLimiter;
+import ink.charter.website.common.auth.limiter.LoginAttemptResult;
 import ink.charter.website.common.auth.model.LoginResponse;
 import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.model.TokenPair;
+import ink.charter.website.common.auth.model.TokenRotationResult;
+import ink.charter.website.common.auth.model.UserAuthorities;
+import ink.charter.website.common.auth.password.PasswordHashExecutor;
+import ink.charter.website.common.auth.permission.PermissionVersionService;
+import ink.charter.website.common.auth.provider.AuthUserProvider;
 import ink.charter.website.common.auth.service.AuthService;
 import ink.charter.website.common.auth.service.TokenService;
+import ink.charter.website.common.auth.session.SessionWriteBehindQueue;
 import ink.charter.website.common.auth.utils.SecurityUtils;
 import ink.charter.website.common.core.utils.IpUtils;
-import ink.charter.website.common.redis.service.RedisService;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpServletRequest;
 import ink.charter.website.common.core.common.Result;
 import ink.charter.website.common.core.entity.sys.SysUserEntity;
+import ink.charter.website.common.core.exception.SystemException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 认证服务实现类
@@ -36,15 +46,14 @@ public class AuthServiceImpl implements AuthService {
 
     private final TokenService tokenService;
     private final AuthProperties authProperties;
-    private final RedisService redisService;
-    private final ApplicationContext applicationContext;
-    
-    // 懒加载服务，避免循环依赖
-    private Object userService;
-    private Object userSessionService;
-    
-    private static final String LOGIN_FAIL_KEY = "login:fail:";
-    private static final String LOGIN_LOCK_KEY = "login:lock:";
+    private final ObjectProvider<AuthUserProvider> authUserProviderProvider;
+    private final PasswordHashExecutor passwordHashExecutor;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final SessionWriteBehindQueue sessionWriteBehindQueue;
+    private final PermissionVersionService permissionVersionService;
+
+    // 延迟解析一次并缓存，避免循环依赖
+    private volatile AuthUserProvider authUserProvider;
 
     @Override
     public Result<LoginResponse> login(String usernameOrEmail, String password, String ip, String userAgent) {
@@ -54,21 +63,22 @@ public class AuthServiceImpl implements AuthService {
                 return Result.error("用户名和密码不能为空");
             }
             
-            // 2. 检查登录限制
-            if (isLoginRestricted(usernameOrEmail)) {
-                return Result.error("登录失败次数过多，账户已被锁定");
+            // 2. 检查登录限制（本地IP令牌桶 + 账户/IP滑动窗口锁定）
+            LoginAttemptResult attempt = loginAttemptLimiter.check(usernameOrEmail, ip);
+            if (!attempt.isAllowed()) {
+                return Result.error(attempt.getMessage());
             }
             
-            // 3. 获取用户服务
-            Object userService = getUserService();
-            if (userService == null) {
+            // 3. 获取用户数据提供者
+            AuthUserProvider userProvider = getAuthUserProvider();
+            if (userProvider == null) {
                 return Result.error("用户服务不可用");
             }
             
             // 4. 查询用户信息
-            SysUserEntity user = null;
+            SysUserEntity user;
             try {
-                user = (SysUserEntity) userService.getClass().getMethod("getUserByUsernameOrEmail", String.class).invoke(userService, usernameOrEmail);
+                user = userProvider.getUserByUsernameOrEmail(usernameOrEmail);
             } catch (Exception e) {
                 log.error("查询用户信息失败: {}", e.getMessage(), e);
                 return Result.error("查询用户信息失败");
@@ -76,28 +86,29 @@ public class AuthServiceImpl implements AuthService {
             
             // 5. 验证用户存在性
             if (user == null) {
-                recordLoginFailure(usernameOrEmail);
-                return Result.error("用户名或密码错误");
+                return loginFailed(usernameOrEmail, ip);
             }
             
-            // 6. 验证密码
-            boolean passwordValid = false;
+            // 6. 验证密码（在独立的哈希线程池中执行，繁忙时快速失败）
+            boolean passwordValid;
             try {
-                passwordValid = (Boolean) userService.getClass().getMethod("validatePassword", SysUserEntity.class, String.class).invoke(userService, user, password);
+                passwordValid = passwordHashExecutor.matches(password, user.getPassword());
+            } catch (SystemException e) {
+                log.warn("密码校验被拒绝: {}", e.getErrorMessage());
+                return Result.error(e.getErrorCode(), e.getErrorMessage());
             } catch (Exception e) {
                 log.error("验证密码失败: {}", e.getMessage(), e);
                 return Result.error("密码验证失败");
             }
             
             if (!passwordValid) {
-                recordLoginFailure(usernameOrEmail);
-                return Result.error("用户名或密码错误");
+                return loginFailed(usernameOrEmail, ip);
             }
             
             // 7. 检查用户状态
-            boolean statusNormal = false;
+            boolean statusNormal;
             try {
-                statusNormal = (Boolean) userService.getClass().getMethod("isUserStatusNormal", SysUserEntity.class).invoke(userService, user);
+                statusNormal = userProvider.isUserStatusNormal(user);
             } catch (Exception e) {
                 log.error("检查用户状态失败: {}", e.getMessage(), e);
                 return Result.error("用户状态检查失败");
@@ -107,58 +118,45 @@ public class AuthServiceImpl implements AuthService {
                 return Result.error("账户已被禁用");
             }
             
-            // 8. 处理单点登录
+            // 8. 处理单点登录（数据库会话由写回队列异步失效）
             if (authProperties.getSession().getSingleLogin()) {
-                Object userSessionService = getUserSessionService();
-                if (userSessionService != null) {
-                    try {
-                        userSessionService.getClass().getMethod("invalidateUserSessions", Long.class).invoke(userSessionService, user.getId());
-                    } catch (Exception e) {
-                        log.warn("清理用户会话失败: {}", e.getMessage());
-                    }
-                }
+                sessionWriteBehindQueue.invalidateUserSessions(user.getId());
             }
             
             // 9. 构建登录用户信息
-            LoginUser loginUser = buildLoginUser(user);
+            LoginUser loginUser = buildLoginUser(user, userProvider);
             
-            // 10. 生成Token
-            String accessToken = tokenService.createToken(loginUser);
-            String refreshToken = tokenService.createRefreshToken(loginUser);
-            
-            if (!StringUtils.hasText(accessToken)) {
+            // 10. 生成Token对并登记设备会话
+            TokenPair tokenPair = tokenService.createTokenPair(loginUser);
+            if (tokenPair == null) {
                 return Result.error("生成访问Token失败");
             }
-            
-            // 11. 创建会话记录
-            Object userSessionService = getUserSessionService();
-            if (userSessionService != null) {
-                try {
-                    LocalDateTime expireTime = LocalDateTime.now().plusSeconds(authProperties.getJwt().getAccessTokenExpire());
-                    userSessionService.getClass().getMethod("createSession", Long.class, String.class, String.class, String.class, String.class, LocalDateTime.class)
-                        .invoke(userSessionService, user.getId(), accessToken, refreshToken, ip, userAgent, expireTime);
-                } catch (Exception e) {
-                    log.warn("创建用户会话失败: {}", e.getMessage());
-                }
-            }
-            
-            // 12. 更新用户登录信息
-            try {
-                userService.getClass().getMethod("updateLoginInfo", Long.class, String.class).invoke(userService, user.getId(), ip);
-            } catch (Exception e) {
-                log.warn("更新用户登录信息失败: {}", e.getMessage());
+            String accessToken = tokenPair.getAccessToken();
+            String refreshToken = tokenPair.getRefreshToken();
+            
+            // 11. 创建会话记录并更新用户登录信息（写回队列异步批量写入）
+            LocalDateTime expireTime = LocalDateTime.now().plusSeconds(authProperties.getJwt().getAccessTokenExpire());
+            sessionWriteBehindQueue.recordLogin(user.getId(), tokenPair.getSessionId(), accessToken, refreshToken,
+                    ip, userAgent, expireTime);
+            
+            // 12. 按配置的编码强度重新哈希密码
+            if (passwordHashExecutor.needsRehash(user.getPassword())) {
+                Long userId = user.getId();
+                String verifiedPassword = user.getPassword();
+                passwordHashExecutor.rehashAsync(password,
+                        encoded -> userProvider.updateEncodedPassword(userId, verifiedPassword, encoded));
             }
             
             // 13. 清除登录失败记录
             clearLoginRestriction(usernameOrEmail);
             
             // 14. 返回登录结果
-            LoginResponse loginResponse = LoginResponse.of(accessToken, refreshToken, loginUser);
+            LoginResponse loginResponse = LoginResponse.of(accessToken, refreshToken, loginUser, tokenPair.getExpiresIn());
             return Result.success(loginResponse);
             
         } catch (Exception e) {
             log.error("登录失败: {}", e.getMessage(), e);
-            recordLoginFailure(usernameOrEmail);
+            loginAttemptLimiter.recordFailure(usernameOrEmail, ip);
             return Result.error("登录失败，请稍后重试");
         }
     }
@@ -179,14 +177,7 @@ public class AuthServiceImpl implements AuthService {
             tokenService.deleteToken(token);
             
             // 3. 使会话失效
-            Object userSessionService = getUserSessionService();
-            if (userSessionService != null) {
-                try {
-                    userSessionService.getClass().getMethod("invalidateSession", String.class).invoke(userSessionService, token);
-                } catch (Exception e) {
-                    log.warn("使会话失效失败: {}", e.getMessage());
-                }
-            }
+            sessionWriteBehindQueue.invalidateSession(token);
             
             // 4. 清除Security上下文
             SecurityUtils.clearAuthentication();
@@ -205,27 +196,38 @@ public class AuthServiceImpl implements AuthService {
                 return Result.error("刷新Token不能为空");
             }
             
-            // 1. 验证刷新Token
-            if (!tokenService.verifyToken(refreshToken)) {
+            // 1. 轮换刷新Token（旧刷新Token与旧访问Token同时失效）
+            TokenRotationResult rotation = tokenService.rotateRefreshToken(refreshToken);
+            if (rotation.getStatus() == TokenRotationResult.Status.REUSED) {
+                sessionWriteBehindQueue.invalidateUserSessions(rotation.getUserId());
+                return Result.error("刷新Token已失效，请重新登录");
+            }
+            if (rotation.getStatus() != TokenRotationResult.Status.ROTATED) {
                 return Result.error("刷新Token无效");
             }
-            
-            // 2. 获取用户信息
-            Long userId = tokenService.getUserIdFromToken(refreshToken);
-            String username = tokenService.getUsernameFromToken(refreshToken);
-            
-            if (userId == null || !StringUtils.hasText(username)) {
-                return Result.error("Token信息无效");
+            TokenPair tokenPair = rotation.getTokenPair();
+            
+            // 2. 旧访问Token已过期时重新加载登录用户信息
+            if (!rotation.isLoginUserBound()) {
+                AuthUserProvider userProvider = getAuthUserProvider();
+                SysUserEntity user = userProvider != null ? userProvider.getUserByUsernameOrEmail(rotation.getUsername()) : null;
+                if (user == null || !user.getId().equals(rotation.getUserId()) || !userProvider.isUserStatusNormal(user)) {
+                    tokenService.deleteToken(tokenPair.getAccessToken());
+                    return Result.error("Token信息无效");
+                }
+                LoginUser loginUser = buildLoginUser(user, userProvider);
+                loginUser.setSessionId(tokenPair.getSessionId());
+                tokenService.bindLoginUser(tokenPair.getAccessToken(), loginUser);
             }
             
-            // 3. 生成新的Token
-            String newAccessToken = tokenService.refreshAccessToken(refreshToken);
-            if (!StringUtils.hasText(newAccessToken)) {
-                return Result.error("Token刷新失败");
-            }
+            // 3. 更新会话记录（写回队列异步批量写入）
+            LocalDateTime expireTime = LocalDateTime.now().plusSeconds(authProperties.getJwt().getAccessTokenExpire());
+            sessionWriteBehindQueue.rotateSession(tokenPair.getSessionId(), tokenPair.getAccessToken(),
+                    tokenPair.getRefreshToken(), expireTime);
             
             // 4. 返回新Token
-            LoginResponse loginResponse = LoginResponse.of(newAccessToken, refreshToken, null);
+            LoginResponse loginResponse = LoginResponse.of(tokenPair.getAccessToken(), tokenPair.getRefreshToken(),
+                    null, tokenPair.getExpiresIn());
             return Result.success(loginResponse);
             
         } catch (Exception e) {
@@ -250,18 +252,35 @@ public class AuthServiceImpl implements AuthService {
             tokenService.deleteUserTokens(userId);
             
             // 2. 使用户所有会话失效
-            Object userSessionService = getUserSessionService();
-            if (userSessionService != null) {
-                try {
-                    userSessionService.getClass().getMethod("invalidateUserSessions", Long.class).invoke(userSessionService, userId);
-                } catch (Exception e) {
-                    log.warn("使用户会话失效失败: {}", e.getMessage());
+            sessionWriteBehindQueue.invalidateUserSessions(userId);
+            
+            return true;
+        } catch (Exception e) {
+            log.error("踢出用户失败: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean kickOutUsers(Collection<Long> userIds) {
+        try {
+            if (userIds == null || userIds.isEmpty()) {
+                return false;
+            }
+            
+            // 1. 批量删除用户所有Token
+            tokenService.deleteUsersTokens(userIds);
+            
+            // 2. 使用户所有会话失效
+            for (Long userId : userIds) {
+                if (userId != null) {
+                    sessionWriteBehindQueue.invalidateUserSessions(userId);
                 }
             }
             
             return true;
         } catch (Exception e) {
-            log.error("踢出用户失败: {}", e.getMessage(), e);
+            log.error("批量踢出用户失败: {}", e.getMessage(), e);
             return false;
         }
     }
@@ -271,9 +290,7 @@ public class AuthServiceImpl implements AuthService {
         if (!StringUtils.hasText(usernameOrEmail)) {
             return false;
         }
-        
-        String lockKey = LOGIN_LOCK_KEY + usernameOrEmail;
-        return Boolean.TRUE.equals(redisService.hasKey(lockKey));
+        return !loginAttemptLimiter.check(usernameOrEmail, null).isAllowed();
     }
 
     @Override
@@ -281,27 +298,7 @@ public class AuthServiceImpl implements AuthService {
         if (!StringUtils.hasText(usernameOrEmail)) {
             return;
         }
-        
-        try {
-            String failKey = LOGIN_FAIL_KEY + usernameOrEmail;
-            String lockKey = LOGIN_LOCK_KEY + usernameOrEmail;
-            
-            // 获取失败次数
-            Integer failCount = (Integer) redisService.get(failKey);
-            failCount = failCount == null ? 0 : failCount;
-            failCount++;
-            
-            // 更新失败次数
-            redisService.set(failKey, failCount, 1, TimeUnit.HOURS);
-            
-            // 检查是否需要锁定
-            if (failCount >= authProperties.getLogin().getMaxAttempts()) {
-                redisService.set(lockKey, true, authProperties.getLogin().getLockTime(), TimeUnit.SECONDS);
-                log.warn("用户 {} 登录失败次数过多，已被锁定", usernameOrEmail);
-            }
-        } catch (Exception e) {
-            log.error("记录登录失败失败: {}", e.getMessage(), e);
-        }
+        loginAttemptLimiter.recordFailure(usernameOrEmail, null);
     }
 
     @Override
@@ -311,48 +308,43 @@ public class AuthServiceImpl implements AuthService {
         }
         
         try {
-            String failKey = LOGIN_FAIL_KEY + usernameOrEmail;
-            String lockKey = LOGIN_LOCK_KEY + usernameOrEmail;
-            
-            redisService.delete(failKey);
-            redisService.delete(lockKey);
+            loginAttemptLimiter.reset(usernameOrEmail);
         } catch (Exception e) {
             log.error("清除登录限制失败: {}", e.getMessage(), e);
         }
     }
     
     /**
-     * 获取用户服务
+     * 记录登录失败并返回错误结果（本次失败触发锁定时直接提示锁定）
      */
-    private Object getUserService() {
-        if (userService == null) {
-            try {
-                userService = applicationContext.getBean("userServiceImpl");
-            } catch (Exception e) {
-                log.warn("获取用户服务失败: {}", e.getMessage());
-            }
+    private Result<LoginResponse> loginFailed(String usernameOrEmail, String ip) {
+        LoginAttemptResult result = loginAttemptLimiter.recordFailure(usernameOrEmail, ip);
+        if (!result.isAllowed()) {
+            return Result.error(result.getMessage());
         }
-        return userService;
+        return Result.error("用户名或密码错误");
     }
     
     /**
-     * 获取用户会话服务
+     * 获取认证用户数据提供者
      */
-    private Object getUserSessionService() {
-        if (userSessionService == null) {
-            try {
-                userSessionService = applicationContext.getBean("userSessionServiceImpl");
-            } catch (Exception e) {
-                log.warn("获取用户会话服务失败: {}", e.getMessage());
+    private AuthUserProvider getAuthUserProvider() {
+        AuthUserProvider provider = authUserProvider;
+        if (provider == null) {
+            provider = authUserProviderProvider.getIfAvailable();
+            if (provider == null) {
+                log.warn("未找到认证用户数据提供者实现");
+                return null;
             }
+            authUserProvider = provider;
         }
-        return userSessionService;
+        return provider;
     }
     
     /**
      * 构建登录用户信息
      */
-    private LoginUser buildLoginUser(SysUserEntity user) {
+    private LoginUser buildLoginUser(SysUserEntity user, AuthUserProvider userProvider) {
         LoginUser loginUser = new LoginUser();
         loginUser.setUserId(user.getId());
         loginUser.setUsername(user.getUsername());
@@ -368,21 +360,23 @@ public class AuthServiceImpl implements AuthService {
         loginUser.setLoginIp(request != null ? IpUtils.getClientIp(request) : "unknown");
         loginUser.setUserAgent(request != null ? request.getHeader("User-Agent") : "unknown");
         
-        // 设置权限和角色
-        Object userService = getUserService();
-        if (userService != null) {
-            try {
-                @SuppressWarnings("unchecked")
-                Set<String> permissions = (Set<String>) userService.getClass().getMethod("getUserPermissions", Long.class).invoke(userService, user.getId());
-                @SuppressWarnings("unchecked")
-                Set<String> roles = (Set<String>) userService.getClass().getMethod("getUserRoles", Long.class).invoke(userService, user.getId());
-                loginUser.setPermissions(permissions);
-                loginUser.setRoles(roles);
-            } catch (Exception e) {
-                log.warn("获取用户权限和角色失败: {}", e.getMessage());
-                loginUser.setPermissions(Set.of());
-                loginUser.setRoles(Set.of());
+        // 设置权限和角色（版本快照须在查询之前获取）
+        try {
+            PermissionVersionService.Snapshot snapshot = permissionVersionService.snapshot(user.getId());
+            UserAuthorities authorities = userProvider.getUserAuthorities(List.of(user.getId())).get(user.getId());
+            if (authorities == null) {
+                authorities = new UserAuthorities();
+            }
+            loginUser.setPermissions(authorities.getPermissions());
+            loginUser.setRoles(authorities.getRoles());
+            loginUser.setRoleIds(authorities.getRoleIds());
+            if (snapshot != null) {
+                loginUser.setPermissionVersion(snapshot.versionOf(authorities.getRoleIds()));
             }
+        } catch (Exception e) {
+            log.warn("获取用户权限和角色失败: {}", e.getMessage());
+            loginUser.setPermissions(Set.of());
+            loginUser.setRoles(Set.of());
         }
         
         return loginUser;
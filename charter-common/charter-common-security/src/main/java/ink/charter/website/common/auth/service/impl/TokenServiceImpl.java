@@ -1,17 +1,43 @@
 package ink.charter.website.common.auth.service.impl;
 
+import ink.charter.website.common.auth.cache.LoginUserCache;
+import ink.charter.website.common.auth.cache.RevocationEpochCache;
+import ink.charter.website.common.auth.cache.TokenBlacklistFilter;
 import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.auth.metrics.AuthMetrics;
+import ink.charter.website.common.auth.model.DeviceSession;
 import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.model.TokenAuthResult;
+import ink.charter.website.common.auth.model.TokenPair;
+import ink.charter.website.common.auth.model.TokenRotationResult;
+import ink.charter.website.common.auth.permission.PermissionRegistry;
+import ink.charter.website.common.auth.permission.PermissionVersionService;
 import ink.charter.website.common.auth.service.TokenService;
 import ink.charter.website.common.auth.utils.JwtUtils;
+import ink.charter.website.common.auth.utils.TokenDigestUtils;
 import ink.charter.website.common.redis.service.RedisService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,11 +54,115 @@ public class TokenServiceImpl implements TokenService {
     private final JwtUtils jwtUtils;
     private final AuthProperties authProperties;
     private final RedisService redisService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final LoginUserCache loginUserCache;
+    private final TokenBlacklistFilter tokenBlacklistFilter;
+    private final PermissionRegistry permissionRegistry;
+    private final RevocationEpochCache revocationEpochCache;
+    private final PermissionVersionService permissionVersionService;
+    private final AuthMetrics authMetrics;
     
     private static final String TOKEN_KEY_PREFIX = "token:";
     private static final String USER_TOKEN_KEY_PREFIX = "user:token:";
     private static final String TOKEN_BLACKLIST_KEY_PREFIX = "token:blacklist:";
-    private static final String REFRESH_TOKEN_KEY_PREFIX = "refresh:token:";
+    private static final String USER_SESSION_KEY_PREFIX = "user:session:";
+    private static final String REFRESH_GRACE_KEY_PREFIX = "refresh:grace:";
+
+    /**
+     * 会话记录格式：访问令牌摘要|刷新令牌摘要|上一个刷新令牌摘要|刷新令牌过期时刻(毫秒)
+     */
+    private static final String SESSION_VALUE_SEPARATOR = "|";
+
+    /**
+     * 登记会话（顺带清理已过期的会话）
+     * KEYS: 1 用户会话Hash
+     * ARGV: 1 会话ID 2 会话记录 3 Hash有效期(毫秒) 4 当前时间(毫秒)
+     */
+    private static final String SESSION_BIND_SCRIPT =
+            "local fields = redis.call('HGETALL', KEYS[1]) " +
+            "for i = 1, #fields, 2 do " +
+            "  local expireAt = tonumber(string.match(fields[i + 1], '([^|]*)$')) " +
+            "  if expireAt and expireAt <= tonumber(ARGV[4]) then redis.call('HDEL', KEYS[1], fields[i]) end " +
+            "end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1";
+
+    /**
+     * 读取会话对应的登录用户信息（无状态模式下签发新访问令牌前使用）
+     * KEYS: 1 用户会话Hash
+     * ARGV: 1 会话ID 2 令牌键前缀
+     * 返回: 登录用户信息，会话或令牌记录不存在时返回false
+     */
+    private static final String SESSION_USER_SCRIPT =
+            "local v = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "if not v then return false end " +
+            "return redis.call('GET', ARGV[2] .. string.match(v, '^([^|]*)'))";
+
+    /**
+     * 轮换刷新令牌
+     * KEYS: 1 用户会话Hash
+     * ARGV: 1 会话ID 2 旧刷新令牌摘要 3 新访问令牌摘要 4 新刷新令牌摘要 5 新刷新令牌过期时刻(毫秒)
+     *       6 访问令牌有效期(毫秒) 7 Hash有效期(毫秒) 8 令牌键前缀 9 黑名单键前缀
+     *       10 宽限键前缀 11 宽限期(毫秒) 12 新访问令牌 13 新刷新令牌
+     * 返回: {0} 无效；{2} 重复使用；{3, 宽限期内已轮换的令牌对}；
+     *       {1, 旧访问令牌摘要, 旧访问令牌剩余有效期(毫秒), 是否已复制登录用户信息}
+     */
+    private static final String ROTATE_SCRIPT =
+            "local v = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "if not v then return {0} end " +
+            "local access, refresh, previous = string.match(v, '^([^|]*)|([^|]*)|([^|]*)|') " +
+            "if refresh ~= ARGV[2] then " +
+            "  if previous == ARGV[2] then " +
+            "    local grace = redis.call('GET', ARGV[10] .. ARGV[2]) " +
+            "    if grace then return {3, grace} end " +
+            "    redis.call('DEL', KEYS[1]) " +
+            "    return {2} " +
+            "  end " +
+            "  return {0} " +
+            "end " +
+            "local oldKey = ARGV[8] .. access " +
+            "local user = redis.call('GET', oldKey) " +
+            "local ttl = redis.call('PTTL', oldKey) " +
+            "if ttl > 0 then redis.call('SET', ARGV[9] .. access, 'true', 'PX', ttl) end " +
+            "redis.call('DEL', oldKey) " +
+            "local bound = 0 " +
+            "if user then " +
+            "  redis.call('SET', ARGV[8] .. ARGV[3], user, 'PX', ARGV[6]) " +
+            "  bound = 1 " +
+            "end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[3] .. '|' .. ARGV[4] .. '|' .. ARGV[2] .. '|' .. ARGV[5]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[7]) " +
+            "if tonumber(ARGV[11]) > 0 then " +
+            "  redis.call('SET', ARGV[10] .. ARGV[2], ARGV[12] .. '|' .. ARGV[13] .. '|' .. bound, 'PX', ARGV[11]) " +
+            "end " +
+            "return {1, access, ttl, bound}";
+
+    private static final String SESSION_LIST_SCRIPT = "return redis.call('HGETALL', KEYS[1])";
+
+    private static final DefaultRedisScript<Long> SESSION_BIND = new DefaultRedisScript<>(SESSION_BIND_SCRIPT, Long.class);
+    private static final DefaultRedisScript<Object> SESSION_USER = new DefaultRedisScript<>(SESSION_USER_SCRIPT, Object.class);
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> ROTATE = new DefaultRedisScript<>(ROTATE_SCRIPT, List.class);
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> SESSION_LIST = new DefaultRedisScript<>(SESSION_LIST_SCRIPT, List.class);
+
+    /**
+     * 无状态令牌声明：权限位图、角色、角色ID、权限版本戳、权限下标指纹、吊销纪元、昵称
+     */
+    private static final String CLAIM_PERMISSION_BITS = "pb";
+    private static final String CLAIM_ROLES = "rl";
+    private static final String CLAIM_ROLE_IDS = "ri";
+    private static final String CLAIM_PERMISSION_VERSION = "pv";
+    private static final String CLAIM_PERMISSION_FINGERPRINT = "pfp";
+    private static final String CLAIM_EPOCH = "ep";
+    private static final String CLAIM_NICKNAME = "nn";
+
+    /**
+     * 会话声明：会话ID、令牌唯一标识
+     */
+    private static final String CLAIM_SESSION_ID = "sid";
+    private static final String CLAIM_TOKEN_ID = "jti";
 
     @Override
     public String createToken(LoginUser loginUser) {
@@ -41,20 +171,23 @@ public class TokenServiceImpl implements TokenService {
                 return null;
             }
             
-            // 生成JWT Token
-            String token = jwtUtils.generateAccessToken(loginUser.getUserId(), loginUser.getUsername());
+            // 生成JWT Token（无状态模式下内嵌权限位图与吊销纪元）
+            String token = mintAccessToken(loginUser.getUserId(), loginUser.getUsername(),
+                    loginUser.getSessionId(), loginUser);
             
             if (StringUtils.hasText(token)) {
-                // 缓存Token信息
-                String tokenKey = TOKEN_KEY_PREFIX + token;
+                // 缓存Token信息（以令牌摘要作为键）
+                String tokenId = TokenDigestUtils.digest(token);
+                String tokenKey = TOKEN_KEY_PREFIX + tokenId;
                 String userTokenKey = USER_TOKEN_KEY_PREFIX + loginUser.getUserId();
                 
-                // 存储Token和用户信息
-                redisService.set(tokenKey, loginUser, authProperties.getJwt().getAccessTokenExpire(), TimeUnit.SECONDS);
-                
-                // 存储用户Token关联
-                redisService.sAdd(userTokenKey, token);
-                redisService.expire(userTokenKey, authProperties.getJwt().getAccessTokenExpire(), TimeUnit.SECONDS);
+                // 存储Token和用户信息及用户Token关联（一次往返）
+                long expireSeconds = authProperties.getJwt().getAccessTokenExpire();
+                redisService.executePipelined(ops -> {
+                    ops.opsForValue().set(tokenKey, loginUser, expireSeconds, TimeUnit.SECONDS);
+                    ops.opsForSet().add(userTokenKey, tokenId);
+                    ops.expire(userTokenKey, expireSeconds, TimeUnit.SECONDS);
+                });
             }
             
             return token;
@@ -64,87 +197,180 @@ public class TokenServiceImpl implements TokenService {
         }
     }
     
-    /**
-     * 创建Token（内部方法）
-     */
-    private String createToken(Long userId, String username) {
+    @Override
+    public TokenPair createTokenPair(LoginUser loginUser) {
         try {
-            if (userId == null || !StringUtils.hasText(username)) {
+            if (loginUser == null || loginUser.getUserId() == null || !StringUtils.hasText(loginUser.getUsername())) {
                 return null;
             }
-            
-            // 生成JWT Token
-            String token = jwtUtils.generateAccessToken(userId, username);
-            
-            if (StringUtils.hasText(token)) {
-                // 缓存Token信息
-                String tokenKey = TOKEN_KEY_PREFIX + token;
-                String userTokenKey = USER_TOKEN_KEY_PREFIX + userId;
-                
-                // 存储Token信息
-                redisService.set(tokenKey, userId, authProperties.getJwt().getAccessTokenExpire(), TimeUnit.SECONDS);
-                
-                // 存储用户Token关联
-                redisService.sAdd(userTokenKey, token);
-                redisService.expire(userTokenKey, authProperties.getJwt().getAccessTokenExpire(), TimeUnit.SECONDS);
+            if (!StringUtils.hasText(loginUser.getSessionId())) {
+                loginUser.setSessionId(UUID.randomUUID().toString().replace("-", ""));
             }
             
-            return token;
+            // 访问令牌（同时写入令牌记录与用户令牌集合）
+            String accessToken = createToken(loginUser);
+            if (!StringUtils.hasText(accessToken)) {
+                return null;
+            }
+            String refreshToken = jwtUtils.generateRefreshToken(loginUser.getUserId(), loginUser.getUsername(),
+                    loginUser.getSessionId());
+            
+            // 登记设备会话
+            long now = System.currentTimeMillis();
+            long refreshExpireMillis = authProperties.getJwt().getRefreshTokenExpire() * 1000;
+            String sessionValue = String.join(SESSION_VALUE_SEPARATOR, TokenDigestUtils.digest(accessToken),
+                    TokenDigestUtils.digest(refreshToken), "", String.valueOf(now + refreshExpireMillis));
+            redisService.executeScript(SESSION_BIND, List.of(USER_SESSION_KEY_PREFIX + loginUser.getUserId()),
+                    loginUser.getSessionId(), sessionValue, String.valueOf(refreshExpireMillis), String.valueOf(now));
+            
+            return new TokenPair(accessToken, refreshToken, loginUser.getSessionId(),
+                    authProperties.getJwt().getAccessTokenExpire());
         } catch (Exception e) {
-            log.error("创建Token失败: {}", e.getMessage(), e);
+            log.error("创建令牌对失败: {}", e.getMessage(), e);
             return null;
         }
     }
 
     @Override
-    public String createRefreshToken(LoginUser loginUser) {
+    public TokenRotationResult rotateRefreshToken(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            return TokenRotationResult.invalid();
+        }
+        
+        // 仅解析一次刷新令牌；未绑定会话的旧格式刷新令牌需重新登录
+        Claims claims = jwtUtils.parseTokenQuietly(refreshToken);
+        if (claims == null || !"refresh".equals(claims.get("type"))) {
+            return TokenRotationResult.invalid();
+        }
+        String username = claims.get("username", String.class);
+        String sessionId = claims.get(CLAIM_SESSION_ID, String.class);
+        if (!(claims.get("userId") instanceof Number userIdClaim)
+                || !StringUtils.hasText(username) || !StringUtils.hasText(sessionId)) {
+            return TokenRotationResult.invalid();
+        }
+        Long userId = userIdClaim.longValue();
+        String sessionKey = USER_SESSION_KEY_PREFIX + userId;
+        
         try {
-            if (loginUser == null || loginUser.getUserId() == null || !StringUtils.hasText(loginUser.getUsername())) {
-                return null;
+            // 无状态模式下新访问令牌需内嵌权限，先读取会话当前的登录用户信息
+            LoginUser loginUser = null;
+            if (isStatelessEnabled() && permissionRegistry.isReady()) {
+                // 令牌记录可能是二进制编码，脚本结果以值序列化器直接解码
+                Object user = redisTemplate.execute(SESSION_USER, RedisSerializer.string(), valueSerializer(),
+                        List.of(sessionKey), sessionId, TOKEN_KEY_PREFIX);
+                if (user instanceof LoginUser sessionUser) {
+                    loginUser = sessionUser;
+                }
             }
             
-            // 生成刷新Token
-            String refreshToken = jwtUtils.generateRefreshToken(loginUser.getUserId(), loginUser.getUsername());
+            String newAccessToken = mintAccessToken(userId, username, sessionId, loginUser);
+            String newRefreshToken = jwtUtils.generateRefreshToken(userId, username, sessionId);
+            String newTokenId = TokenDigestUtils.digest(newAccessToken);
+            long accessExpireMillis = authProperties.getJwt().getAccessTokenExpire() * 1000;
+            long refreshExpireMillis = authProperties.getJwt().getRefreshTokenExpire() * 1000;
+            Long refreshReuseGrace = authProperties.getJwt().getRefreshReuseGrace();
+            long graceMillis = refreshReuseGrace != null ? Math.max(refreshReuseGrace, 0L) * 1000 : 0L;
+            
+            long start = System.nanoTime();
+            List<?> result = redisService.executeScript(ROTATE, List.of(sessionKey),
+                    sessionId,
+                    TokenDigestUtils.digest(refreshToken),
+                    newTokenId,
+                    TokenDigestUtils.digest(newRefreshToken),
+                    String.valueOf(System.currentTimeMillis() + refreshExpireMillis),
+                    String.valueOf(accessExpireMillis),
+                    String.valueOf(refreshExpireMillis),
+                    TOKEN_KEY_PREFIX,
+                    TOKEN_BLACKLIST_KEY_PREFIX,
+                    REFRESH_GRACE_KEY_PREFIX,
+                    String.valueOf(graceMillis),
+                    newAccessToken,
+                    newRefreshToken);
+            authMetrics.recordRedis(AuthMetrics.RedisOperation.ROTATE, start);
+            long status = result != null && !result.isEmpty() ? ((Number) result.get(0)).longValue() : 0L;
+            
+            if (status == 2L) {
+                // 已轮换的刷新令牌被再次使用，视为泄露，吊销该用户全部令牌
+                log.warn("检测到刷新令牌重复使用，吊销用户 {} 的全部令牌", userId);
+                deleteUsersTokens(List.of(userId));
+                return TokenRotationResult.reused(userId);
+            }
+            if (status == 3L) {
+                // 宽限期内的并发刷新或重试，返回刚轮换出的同一组令牌
+                String[] grace = StringUtils.delimitedListToStringArray(String.valueOf(result.get(1)), SESSION_VALUE_SEPARATOR);
+                TokenPair tokenPair = new TokenPair(grace[0], grace[1], sessionId,
+                        authProperties.getJwt().getAccessTokenExpire());
+                return TokenRotationResult.rotated(tokenPair, userId, username, "1".equals(grace[2]));
+            }
+            if (status != 1L) {
+                return TokenRotationResult.invalid();
+            }
             
-            if (StringUtils.hasText(refreshToken)) {
-                // 缓存刷新Token信息
-                String refreshTokenKey = REFRESH_TOKEN_KEY_PREFIX + refreshToken;
-                
-                // 存储刷新Token信息
-                redisService.set(refreshTokenKey, loginUser.getUserId(), authProperties.getJwt().getRefreshTokenExpire(), TimeUnit.SECONDS);
+            // 更新用户令牌集合
+            String oldTokenId = (String) result.get(1);
+            long oldTtl = ((Number) result.get(2)).longValue();
+            boolean bound = ((Number) result.get(3)).longValue() == 1L;
+            String userTokenKey = USER_TOKEN_KEY_PREFIX + userId;
+            redisService.executePipelined(ops -> {
+                ops.opsForSet().remove(userTokenKey, oldTokenId);
+                ops.opsForSet().add(userTokenKey, newTokenId);
+                ops.expire(userTokenKey, accessExpireMillis, TimeUnit.MILLISECONDS);
+            });
+            
+            // 旧访问令牌已由脚本拉黑，同步到各节点
+            if (oldTtl > 0) {
+                tokenBlacklistFilter.add(oldTokenId, System.currentTimeMillis() + oldTtl);
             }
+            loginUserCache.invalidateToken(oldTokenId);
+            
+            TokenPair tokenPair = new TokenPair(newAccessToken, newRefreshToken, sessionId,
+                    authProperties.getJwt().getAccessTokenExpire());
+            return TokenRotationResult.rotated(tokenPair, userId, username, bound);
             
-            return refreshToken;
         } catch (Exception e) {
-            log.error("创建刷新Token失败: {}", e.getMessage(), e);
-            return null;
+            log.error("轮换刷新令牌失败: {}", e.getMessage(), e);
+            return TokenRotationResult.invalid();
         }
     }
-    
-    /**
-     * 创建刷新Token（内部方法）
-     */
-    private String createRefreshToken(Long userId, String username) {
+
+    @Override
+    public void bindLoginUser(String accessToken, LoginUser loginUser) {
         try {
-            if (userId == null || !StringUtils.hasText(username)) {
-                return null;
+            if (!StringUtils.hasText(accessToken) || loginUser == null) {
+                return;
             }
-            
-            // 生成刷新Token
-            String refreshToken = jwtUtils.generateRefreshToken(userId, username);
-            
-            if (StringUtils.hasText(refreshToken)) {
-                // 缓存刷新Token信息
-                String refreshTokenKey = REFRESH_TOKEN_KEY_PREFIX + refreshToken;
-                
-                // 存储刷新Token信息
-                redisService.set(refreshTokenKey, userId, authProperties.getJwt().getRefreshTokenExpire(), TimeUnit.SECONDS);
+            redisService.set(TOKEN_KEY_PREFIX + TokenDigestUtils.digest(accessToken), loginUser,
+                    authProperties.getJwt().getAccessTokenExpire(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.error("绑定令牌登录用户信息失败: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<DeviceSession> listUserSessions(Long userId) {
+        try {
+            if (userId == null) {
+                return List.of();
             }
             
-            return refreshToken;
+            List<?> entries = redisService.executeScript(SESSION_LIST, List.of(USER_SESSION_KEY_PREFIX + userId));
+            if (entries == null || entries.isEmpty()) {
+                return List.of();
+            }
+            long now = System.currentTimeMillis();
+            List<DeviceSession> sessions = new ArrayList<>(entries.size() / 2);
+            for (int i = 0; i + 1 < entries.size(); i += 2) {
+                String value = String.valueOf(entries.get(i + 1));
+                long expireAt = Long.parseLong(value.substring(value.lastIndexOf(SESSION_VALUE_SEPARATOR) + 1));
+                if (expireAt > now) {
+                    LocalDateTime expireTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(expireAt), ZoneId.systemDefault());
+                    sessions.add(new DeviceSession(String.valueOf(entries.get(i)), expireTime));
+                }
+            }
+            return sessions;
         } catch (Exception e) {
-            log.error("创建刷新Token失败: {}", e.getMessage(), e);
-            return null;
+            log.error("获取用户设备会话失败: {}", e.getMessage(), e);
+            return List.of();
         }
     }
 
@@ -166,8 +392,11 @@ public class TokenServiceImpl implements TokenService {
             }
             
             // 检查Redis中是否存在
-            String tokenKey = TOKEN_KEY_PREFIX + token;
-            return Boolean.TRUE.equals(redisService.hasKey(tokenKey));
+            String tokenKey = TOKEN_KEY_PREFIX + TokenDigestUtils.digest(token);
+            if (Boolean.TRUE.equals(redisService.hasKey(tokenKey))) {
+                return true;
+            }
+            return isLegacyKeyMigration() && Boolean.TRUE.equals(redisService.hasKey(TOKEN_KEY_PREFIX + token));
             
         } catch (Exception e) {
             log.error("验证Token失败: {}", e.getMessage(), e);
@@ -176,26 +405,206 @@ public class TokenServiceImpl implements TokenService {
     }
     
     @Override
-    public LoginUser getLoginUserFromToken(String token) {
+    public TokenAuthResult authenticate(String token) {
+        if (!StringUtils.hasText(token)) {
+            return TokenAuthResult.fail(TokenAuthResult.Status.INVALID);
+        }
+
+        // 验证JWT Token（仅解析一次）
+        long parseStart = System.nanoTime();
+        Claims claims = jwtUtils.parseTokenQuietly(token);
+        authMetrics.recordParse(parseStart);
+        if (claims == null) {
+            return TokenAuthResult.fail(TokenAuthResult.Status.INVALID);
+        }
+
+        String tokenId = TokenDigestUtils.digest(token);
+
+        // 无状态模式：仅凭令牌声明与本地吊销纪元完成认证
+        if (isStatelessEnabled()) {
+            TokenAuthResult stateless = authenticateStateless(tokenId, claims);
+            if (stateless != null) {
+                authMetrics.statelessHit();
+                return stateless;
+            }
+        }
+
+        // 优先命中本地缓存，登出/踢人会通过发布订阅同步失效
+        TokenAuthResult cached = loginUserCache.get(tokenId);
+        if (cached != null) {
+            authMetrics.cacheHit();
+            return cached;
+        }
+        authMetrics.cacheMiss();
+
         try {
-            if (!StringUtils.hasText(token)) {
-                return null;
+            // 本地黑名单过滤器判定不存在时，无需查询Redis黑名单
+            long blacklistStart = System.nanoTime();
+            boolean checkBlacklist = tokenBlacklistFilter.mightContain(tokenId);
+            authMetrics.recordBlacklistCheck(blacklistStart);
+            TokenAuthResult result = lookupToken(TOKEN_KEY_PREFIX + tokenId,
+                    checkBlacklist ? TOKEN_BLACKLIST_KEY_PREFIX + tokenId : null);
+
+            // 兼容旧格式：以完整JWT作为键存储的令牌
+            if (result.getStatus() == TokenAuthResult.Status.NOT_FOUND && isLegacyKeyMigration()) {
+                result = lookupToken(TOKEN_KEY_PREFIX + token, TOKEN_BLACKLIST_KEY_PREFIX + token);
             }
-            
-            // 验证Token
-            if (!verifyToken(token)) {
+
+            if (result.isAuthenticated()) {
+                loginUserCache.put(tokenId, result.getLoginUser(), result.getExpireSeconds());
+            }
+            return result;
+
+        } catch (Exception e) {
+            log.error("认证Token失败: {}", e.getMessage(), e);
+            return TokenAuthResult.fail(TokenAuthResult.Status.INVALID);
+        }
+    }
+
+    /**
+     * 无状态认证
+     * 令牌未携带无状态声明、权限下标指纹与本节点不一致、吊销纪元副本未就绪，
+     * 或黑名单过滤器判定可能已拉黑时返回null，交由有状态流程处理
+     *
+     * @param tokenId 令牌摘要
+     * @param claims 令牌声明
+     * @return 认证结果，无法判定时返回null
+     */
+    private TokenAuthResult authenticateStateless(String tokenId, Claims claims) {
+        Object epoch = claims.get(CLAIM_EPOCH);
+        Object fingerprint = claims.get(CLAIM_PERMISSION_FINGERPRINT);
+        if (!(epoch instanceof Number) || !permissionRegistry.getFingerprint().equals(fingerprint)
+                || !revocationEpochCache.isReady()) {
+            return null;
+        }
+
+        Object userIdClaim = claims.get("userId");
+        if (!(userIdClaim instanceof Number)) {
+            return null;
+        }
+        Long userId = ((Number) userIdClaim).longValue();
+        if (((Number) epoch).longValue() < revocationEpochCache.getEpoch(userId)) {
+            return TokenAuthResult.fail(TokenAuthResult.Status.REVOKED);
+        }
+        if (tokenBlacklistFilter.mightContain(tokenId)) {
+            return null;
+        }
+
+        Set<String> roles = new HashSet<>();
+        if (claims.get(CLAIM_ROLES) instanceof Collection<?> roleClaims) {
+            roleClaims.forEach(role -> roles.add(String.valueOf(role)));
+        }
+        BitSet permissionBits = permissionRegistry.decode(claims.get(CLAIM_PERMISSION_BITS, String.class));
+        Set<String> permissions = permissionRegistry.toCodes(permissionBits);
+
+        LoginUser loginUser = new LoginUser(userId, claims.get("username", String.class), null, 1, permissions, roles);
+        loginUser.setNickname(claims.get(CLAIM_NICKNAME, String.class));
+        if (claims.get(CLAIM_PERMISSION_VERSION) instanceof Number version) {
+            Set<Long> roleIds = new HashSet<>();
+            if (claims.get(CLAIM_ROLE_IDS) instanceof Collection<?> roleIdClaims) {
+                roleIdClaims.forEach(roleId -> roleIds.add(Long.valueOf(String.valueOf(roleId))));
+            }
+            loginUser.setRoleIds(roleIds);
+            loginUser.setPermissionVersion(version.longValue());
+            // 令牌内嵌的权限已过期，交由有状态流程重新加载
+            if (permissionVersionService.isStale(loginUser)) {
                 return null;
             }
-            
-            // 从Redis获取用户信息
-            String tokenKey = TOKEN_KEY_PREFIX + token;
-            Object userObj = redisService.get(tokenKey);
-            
-            if (userObj instanceof LoginUser) {
-                return (LoginUser) userObj;
+        }
+        // 直接复用令牌中的位图，授权检查无需再由权限码计算
+        loginUser.bindPermissionBits(permissionRegistry.getFingerprint(), permissionBits);
+        // 无状态令牌以JWT过期时间为准，无需续期Redis记录
+        return TokenAuthResult.success(loginUser, -1L);
+    }
+
+    /**
+     * 生成访问令牌（仅签名，不写入Redis）
+     *
+     * @param userId 用户ID
+     * @param username 用户名
+     * @param sessionId 会话ID，可为空
+     * @param loginUser 登录用户信息，无状态模式下用于内嵌权限，可为空
+     * @return 访问令牌
+     */
+    private String mintAccessToken(Long userId, String username, String sessionId, LoginUser loginUser) {
+        Map<String, Object> claims = loginUser != null && isStatelessEnabled() && permissionRegistry.isReady()
+                ? buildStatelessClaims(loginUser)
+                : new HashMap<>();
+        if (StringUtils.hasText(sessionId)) {
+            claims.put(CLAIM_SESSION_ID, sessionId);
+            claims.put(CLAIM_TOKEN_ID, UUID.randomUUID().toString());
+        }
+        return claims.isEmpty()
+                ? jwtUtils.generateAccessToken(userId, username)
+                : jwtUtils.generateAccessToken(userId, username, claims);
+    }
+
+    /**
+     * 构建无状态令牌声明
+     *
+     * @param loginUser 登录用户信息
+     * @return 附加声明
+     */
+    private Map<String, Object> buildStatelessClaims(LoginUser loginUser) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_PERMISSION_BITS, permissionRegistry.encode(loginUser.getPermissions()));
+        claims.put(CLAIM_ROLES, loginUser.getRoles() != null ? List.copyOf(loginUser.getRoles()) : List.of());
+        if (loginUser.getPermissionVersion() != null) {
+            // 角色ID以字符串写入，避免雪花ID在JSON中丢失精度
+            claims.put(CLAIM_ROLE_IDS, loginUser.getRoleIds() != null
+                    ? loginUser.getRoleIds().stream().map(String::valueOf).toList() : List.of());
+            claims.put(CLAIM_PERMISSION_VERSION, loginUser.getPermissionVersion());
+        }
+        claims.put(CLAIM_PERMISSION_FINGERPRINT, permissionRegistry.getFingerprint());
+        claims.put(CLAIM_EPOCH, revocationEpochCache.loadEpoch(loginUser.getUserId()));
+        if (StringUtils.hasText(loginUser.getNickname())) {
+            claims.put(CLAIM_NICKNAME, loginUser.getNickname());
+        }
+        return claims;
+    }
+
+    /**
+     * 通过管道一次往返获取：黑名单标记（按需）、用户信息、剩余有效期
+     *
+     * @param tokenKey 令牌键
+     * @param blacklistKey 黑名单键，为null时不查询黑名单
+     * @return 认证结果
+     */
+    private TokenAuthResult lookupToken(String tokenKey, String blacklistKey) {
+        long start = System.nanoTime();
+        List<Object> results = redisService.executePipelined(ops -> {
+            if (blacklistKey != null) {
+                ops.hasKey(blacklistKey);
+            }
+            ops.opsForValue().get(tokenKey);
+            ops.getExpire(tokenKey, TimeUnit.SECONDS);
+        });
+        authMetrics.recordRedis(AuthMetrics.RedisOperation.LOOKUP, start);
+
+        int index = 0;
+        if (blacklistKey != null && Boolean.TRUE.equals(results.get(index++))) {
+            return TokenAuthResult.fail(TokenAuthResult.Status.BLACKLISTED);
+        }
+
+        Object userObj = results.get(index++);
+        if (!(userObj instanceof LoginUser loginUser)) {
+            return TokenAuthResult.fail(TokenAuthResult.Status.NOT_FOUND);
+        }
+
+        Object expire = results.get(index);
+        long expireSeconds = expire instanceof Long ? (Long) expire : -1L;
+        return TokenAuthResult.success(loginUser, expireSeconds);
+    }
+    
+    @Override
+    public LoginUser getLoginUserFromToken(String token) {
+        try {
+            if (!StringUtils.hasText(token)) {
+                return null;
             }
             
-            return null;
+            // 认证Token并获取用户信息
+            return authenticate(token).getLoginUser();
         } catch (Exception e) {
             log.error("从Token获取登录用户信息失败: {}", e.getMessage(), e);
             return null;
@@ -203,31 +612,27 @@ public class TokenServiceImpl implements TokenService {
     }
 
     @Override
-    public String refreshAccessToken(String refreshToken) {
+    public void updateLoginUser(String token, LoginUser loginUser, long expireSeconds) {
         try {
-            if (!StringUtils.hasText(refreshToken)) {
-                return null;
-            }
-            
-            // 验证刷新Token
-            if (!verifyToken(refreshToken)) {
-                return null;
+            if (!StringUtils.hasText(token) || loginUser == null) {
+                return;
             }
             
-            // 获取用户信息
-            Long userId = getUserIdFromToken(refreshToken);
-            String username = getUsernameFromToken(refreshToken);
-            
-            if (userId == null || !StringUtils.hasText(username)) {
-                return null;
+            String tokenId = TokenDigestUtils.digest(token);
+            if (expireSeconds > 0) {
+                // 仅在令牌记录仍存在时覆盖，避免与登出、踢人并发时恢复已删除的令牌
+                long start = System.nanoTime();
+                Boolean updated = redisTemplate.opsForValue()
+                        .setIfPresent(TOKEN_KEY_PREFIX + tokenId, loginUser, expireSeconds, TimeUnit.SECONDS);
+                authMetrics.recordRedis(AuthMetrics.RedisOperation.UPDATE_LOGIN_USER, start);
+                if (!Boolean.TRUE.equals(updated)) {
+                    return;
+                }
             }
-            
-            // 生成新的访问Token
-            return createToken(userId, username);
+            loginUserCache.put(tokenId, loginUser, expireSeconds);
             
         } catch (Exception e) {
-            log.error("刷新访问Token失败: {}", e.getMessage(), e);
-            return null;
+            log.error("更新令牌登录用户信息失败: {}", e.getMessage(), e);
         }
     }
 
@@ -238,21 +643,39 @@ public class TokenServiceImpl implements TokenService {
                 return;
             }
             
-            // 获取用户ID
-            Long userId = getUserIdFromToken(token);
-            
-            // 删除Token缓存
-            String tokenKey = TOKEN_KEY_PREFIX + token;
-            redisService.delete(tokenKey);
+            // 获取用户ID与会话ID（仅解析一次）
+            Claims claims = jwtUtils.parseTokenQuietly(token);
+            Long userId = claims != null && claims.get("userId") instanceof Number id ? id.longValue() : null;
+            String sessionId = claims != null ? claims.get(CLAIM_SESSION_ID, String.class) : null;
+            String tokenId = TokenDigestUtils.digest(token);
+            boolean legacy = isLegacyKeyMigration();
+            
+            // 删除Token缓存、从用户Token集合中移除并结束设备会话（一次往返）
+            String tokenKey = TOKEN_KEY_PREFIX + tokenId;
+            redisService.executePipelined(ops -> {
+                ops.delete(legacy ? List.of(tokenKey, TOKEN_KEY_PREFIX + token) : List.of(tokenKey));
+                if (userId != null) {
+                    String userTokenKey = USER_TOKEN_KEY_PREFIX + userId;
+                    if (legacy) {
+                        ops.opsForSet().remove(userTokenKey, tokenId, token);
+                    } else {
+                        ops.opsForSet().remove(userTokenKey, tokenId);
+                    }
+                    // 结束设备会话，对应的刷新令牌随之失效
+                    if (StringUtils.hasText(sessionId)) {
+                        ops.opsForHash().delete(USER_SESSION_KEY_PREFIX + userId, sessionId);
+                    }
+                }
+            });
             
-            // 从用户Token集合中移除
-            if (userId != null) {
-                String userTokenKey = USER_TOKEN_KEY_PREFIX + userId;
-                redisService.sRemove(userTokenKey, token);
+            // 添加到黑名单
+            Long expireAt = blacklistToken(token, tokenId);
+            if (expireAt != null) {
+                tokenBlacklistFilter.add(tokenId, expireAt);
             }
             
-            // 添加到黑名单
-            addTokenToBlacklist(token);
+            // 通知所有节点失效本地缓存
+            loginUserCache.invalidateToken(tokenId);
             
         } catch (Exception e) {
             log.error("删除Token失败: {}", e.getMessage(), e);
@@ -261,34 +684,95 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public void deleteUserTokens(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        deleteUsersTokens(List.of(userId));
+    }
+
+    @Override
+    public void deleteUsersTokens(Collection<Long> userIds) {
         try {
-            if (userId == null) {
+            if (userIds == null || userIds.isEmpty()) {
                 return;
             }
             
-            String userTokenKey = USER_TOKEN_KEY_PREFIX + userId;
+            List<Long> userIdList = new ArrayList<>(new LinkedHashSet<>(userIds));
+            userIdList.remove(null);
+            if (userIdList.isEmpty()) {
+                return;
+            }
+            
+            long start = System.nanoTime();
+            List<String> userTokenKeys = new ArrayList<>(userIdList.size());
+            for (Long userId : userIdList) {
+                userTokenKeys.add(USER_TOKEN_KEY_PREFIX + userId);
+            }
+            
+            // 1. 获取所有用户的Token集合（新格式为令牌摘要，旧格式为完整JWT）
+            List<Object> memberSets = redisService.executePipelined(ops -> {
+                for (String userTokenKey : userTokenKeys) {
+                    ops.opsForSet().members(userTokenKey);
+                }
+            });
+            
+            List<String> tokenIds = new ArrayList<>();
+            List<String> tokenKeys = new ArrayList<>();
+            for (Object memberSet : memberSets) {
+                if (!(memberSet instanceof Collection<?> members)) {
+                    continue;
+                }
+                for (Object member : members) {
+                    String memberId = (String) member;
+                    tokenIds.add(TokenDigestUtils.isRawToken(memberId) ? TokenDigestUtils.digest(memberId) : memberId);
+                    tokenKeys.add(TOKEN_KEY_PREFIX + memberId);
+                }
+            }
+            
+            // 2. 以令牌记录的剩余有效期作为黑名单有效期，无需重新解析JWT
+            List<Object> ttls = tokenKeys.isEmpty() ? List.of() : redisService.executePipelined(ops -> {
+                for (String tokenKey : tokenKeys) {
+                    ops.getExpire(tokenKey, TimeUnit.MILLISECONDS);
+                }
+            });
             
-            // 获取用户所有Token
-            Set<Object> tokens = redisService.sMembers(userTokenKey);
-            
-            if (tokens != null && !tokens.isEmpty()) {
-                for (Object tokenObj : tokens) {
-                    String token = (String) tokenObj;
-                    
-                    // 删除Token缓存
-                    String tokenKey = TOKEN_KEY_PREFIX + token;
-                    redisService.delete(tokenKey);
-                    
-                    // 添加到黑名单
-                    addTokenToBlacklist(token);
+            long now = System.currentTimeMillis();
+            Map<String, Long> blacklistTtls = new HashMap<>();
+            for (int i = 0; i < tokenIds.size(); i++) {
+                if (ttls.get(i) instanceof Long millis && millis > 0) {
+                    blacklistTtls.put(tokenIds.get(i), millis);
                 }
             }
             
-            // 删除用户Token集合
-            redisService.delete(userTokenKey);
+            // 3. 删除Token缓存、用户Token集合与设备会话，并写入黑名单
+            List<String> deleteKeys = new ArrayList<>(tokenKeys.size() + userTokenKeys.size() * 2);
+            deleteKeys.addAll(tokenKeys);
+            deleteKeys.addAll(userTokenKeys);
+            for (Long userId : userIdList) {
+                deleteKeys.add(USER_SESSION_KEY_PREFIX + userId);
+            }
+            redisService.executePipelined(ops -> {
+                ops.delete(deleteKeys);
+                blacklistTtls.forEach((tokenId, millis) ->
+                        ops.opsForValue().set(TOKEN_BLACKLIST_KEY_PREFIX + tokenId, true, millis, TimeUnit.MILLISECONDS));
+            });
+            authMetrics.recordRedis(AuthMetrics.RedisOperation.REVOKE, start);
+            
+            // 合并为一条消息同步到各节点的黑名单过滤器
+            Map<String, Long> blacklisted = new HashMap<>(blacklistTtls.size());
+            blacklistTtls.forEach((tokenId, millis) -> blacklisted.put(tokenId, now + millis));
+            tokenBlacklistFilter.addAll(blacklisted);
+            
+            // 通知所有节点失效这些用户的本地缓存
+            loginUserCache.invalidateUsers(userIdList);
+            
+            // 递增吊销纪元，使这些用户已签发的无状态令牌全部失效
+            revocationEpochCache.revokeAll(userIdList);
+            
+            log.debug("批量删除 {} 个用户的 {} 个Token", userIdList.size(), tokenKeys.size());
             
         } catch (Exception e) {
-            log.error("删除用户Token失败: {}", e.getMessage(), e);
+            log.error("批量删除用户Token失败: {}", e.getMessage(), e);
         }
     }
 
@@ -313,9 +797,12 @@ public class TokenServiceImpl implements TokenService {
                 return;
             }
             
-            String tokenKey = TOKEN_KEY_PREFIX + token;
-            if (Boolean.TRUE.equals(redisService.hasKey(tokenKey))) {
-                redisService.expire(tokenKey, seconds, TimeUnit.SECONDS);
+            String tokenId = TokenDigestUtils.digest(token);
+            // 不存在的键EXPIRE返回false，无需先hasKey
+            String tokenKey = TOKEN_KEY_PREFIX + tokenId;
+            if (Boolean.TRUE.equals(redisService.expire(tokenKey, seconds, TimeUnit.SECONDS))
+                    || (isLegacyKeyMigration() && Boolean.TRUE.equals(redisService.expire(TOKEN_KEY_PREFIX + token, seconds, TimeUnit.SECONDS)))) {
+                loginUserCache.updateExpire(tokenId, seconds);
             }
             
         } catch (Exception e) {
@@ -323,6 +810,48 @@ public class TokenServiceImpl implements TokenService {
         }
     }
 
+    @Override
+    public List<String> extendTokensExpire(Collection<String> tokens, long expireSeconds) {
+        if (tokens == null || tokens.isEmpty() || expireSeconds <= 0) {
+            return List.of();
+        }
+        try {
+            List<String> tokenList = new ArrayList<>(tokens);
+            List<String> tokenIds = new ArrayList<>(tokenList.size());
+            for (String token : tokenList) {
+                tokenIds.add(TokenDigestUtils.digest(token));
+            }
+            boolean legacy = isLegacyKeyMigration();
+            
+            // 不存在的键EXPIRE返回false，无需先hasKey
+            long start = System.nanoTime();
+            List<Object> results = redisService.executePipelined(ops -> {
+                for (int i = 0; i < tokenList.size(); i++) {
+                    ops.expire(TOKEN_KEY_PREFIX + tokenIds.get(i), expireSeconds, TimeUnit.SECONDS);
+                    if (legacy) {
+                        ops.expire(TOKEN_KEY_PREFIX + tokenList.get(i), expireSeconds, TimeUnit.SECONDS);
+                    }
+                }
+            });
+            authMetrics.recordRedis(AuthMetrics.RedisOperation.RENEW, start);
+            
+            int step = legacy ? 2 : 1;
+            List<String> renewed = new ArrayList<>();
+            for (int i = 0; i < tokenList.size(); i++) {
+                boolean extended = Boolean.TRUE.equals(results.get(i * step))
+                        || (legacy && Boolean.TRUE.equals(results.get(i * step + 1)));
+                if (extended) {
+                    loginUserCache.updateExpire(tokenIds.get(i), expireSeconds);
+                    renewed.add(tokenList.get(i));
+                }
+            }
+            return renewed;
+        } catch (Exception e) {
+            log.error("批量延长Token过期时间失败: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
     @Override
     public boolean isTokenExpiringSoon(String token, long thresholdSeconds) {
         try {
@@ -330,8 +859,11 @@ public class TokenServiceImpl implements TokenService {
                 return false;
             }
             
-            String tokenKey = TOKEN_KEY_PREFIX + token;
+            String tokenKey = TOKEN_KEY_PREFIX + TokenDigestUtils.digest(token);
             Long expire = redisService.getExpire(tokenKey);
+            if ((expire == null || expire < 0) && isLegacyKeyMigration()) {
+                expire = redisService.getExpire(TOKEN_KEY_PREFIX + token);
+            }
             
             return expire != null && expire > 0 && expire <= thresholdSeconds;
             
@@ -359,8 +891,15 @@ public class TokenServiceImpl implements TokenService {
                 return false;
             }
             
-            String blacklistKey = TOKEN_BLACKLIST_KEY_PREFIX + token;
-            return Boolean.TRUE.equals(redisService.hasKey(blacklistKey));
+            // 本地过滤器判定不存在时跳过，仅在可能命中时查询Redis
+            String tokenId = TokenDigestUtils.digest(token);
+            if (tokenBlacklistFilter.mightContain(tokenId)
+                    && Boolean.TRUE.equals(redisService.hasKey(TOKEN_BLACKLIST_KEY_PREFIX + tokenId))) {
+                return true;
+            }
+            
+            // 兼容旧格式：以完整JWT作为键的黑名单
+            return isLegacyKeyMigration() && Boolean.TRUE.equals(redisService.hasKey(TOKEN_BLACKLIST_KEY_PREFIX + token));
             
         } catch (Exception e) {
             log.error("检查Token黑名单失败: {}", e.getMessage(), e);
@@ -375,18 +914,34 @@ public class TokenServiceImpl implements TokenService {
                 return;
             }
             
-            // 获取Token剩余过期时间
-            LocalDateTime expireTime = getTokenExpireTime(token);
-            if (expireTime != null && expireTime.isAfter(LocalDateTime.now())) {
-                String blacklistKey = TOKEN_BLACKLIST_KEY_PREFIX + token;
-                long ttl = java.time.Duration.between(LocalDateTime.now(), expireTime).getSeconds();
-                redisService.set(blacklistKey, true, ttl, TimeUnit.SECONDS);
+            String tokenId = TokenDigestUtils.digest(token);
+            Long expireAt = blacklistToken(token, tokenId);
+            if (expireAt != null) {
+                tokenBlacklistFilter.add(tokenId, expireAt);
             }
+            loginUserCache.invalidateToken(tokenId);
             
         } catch (Exception e) {
             log.error("添加Token到黑名单失败: {}", e.getMessage(), e);
         }
     }
+    
+    /**
+     * 写入Redis黑名单（内部方法，不发送同步通知）
+     *
+     * @return 令牌过期时刻（毫秒时间戳），令牌已过期无需拉黑时返回null
+     */
+    private Long blacklistToken(String token, String tokenId) {
+        // 获取Token剩余过期时间
+        LocalDateTime expireTime = getTokenExpireTime(token);
+        if (expireTime != null && expireTime.isAfter(LocalDateTime.now())) {
+            String blacklistKey = TOKEN_BLACKLIST_KEY_PREFIX + tokenId;
+            long ttl = java.time.Duration.between(LocalDateTime.now(), expireTime).getSeconds();
+            redisService.set(blacklistKey, true, ttl, TimeUnit.SECONDS);
+            return expireTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return null;
+    }
 
     @Override
     public Long getUserIdFromToken(String token) {
@@ -432,4 +987,26 @@ public class TokenServiceImpl implements TokenService {
             return 0;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 是否启用无状态令牌模式
+     */
+    private boolean isStatelessEnabled() {
+        return Boolean.TRUE.equals(authProperties.getStateless().getEnabled());
+    }
+
+    /**
+     * 是否兼容读取旧格式（完整JWT）的令牌键
+     */
+    private boolean isLegacyKeyMigration() {
+        return Boolean.TRUE.equals(authProperties.getJwt().getLegacyKeyMigration());
+    }
+
+    /**
+     * RedisTemplate的值序列化器
+     */
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> valueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    }
+}
@@ -1,9 +1,11 @@
 package ink.charter.website.common.auth.service.impl;
 
 import ink.charter.website.common.auth.model.LoginUser;
+import ink.charter.website.common.auth.provider.AuthUserProvider;
+import ink.charter.website.common.core.entity.sys.SysUserEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -24,7 +26,10 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
-    private final ApplicationContext applicationContext;
+    private final ObjectProvider<AuthUserProvider> authUserProviderProvider;
+
+    // 延迟解析一次并缓存，避免循环依赖
+    private volatile AuthUserProvider authUserProvider;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -33,19 +38,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 throw new UsernameNotFoundException("用户名不能为空");
             }
             
-            // 通过ApplicationContext获取UserService，避免循环依赖
-            Object userService;
-            try {
-                userService = applicationContext.getBean("userServiceImpl");
-            } catch (Exception e) {
-                log.error("获取用户服务失败: {}", e.getMessage(), e);
+            // 获取用户数据提供者
+            AuthUserProvider userProvider = getAuthUserProvider();
+            if (userProvider == null) {
                 throw new UsernameNotFoundException("用户服务不可用: " + username);
             }
             
             // 查询用户信息
-            Object user;
+            SysUserEntity user;
             try {
-                user = userService.getClass().getMethod("getUserByUsernameOrEmail", String.class).invoke(userService, username);
+                user = userProvider.getUserByUsernameOrEmail(username);
             } catch (Exception e) {
                 log.error("查询用户信息失败: {}", e.getMessage(), e);
                 throw new UsernameNotFoundException("查询用户信息失败: " + username);
@@ -58,7 +60,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             // 检查用户状态
             boolean statusNormal;
             try {
-                statusNormal = (Boolean) userService.getClass().getMethod("isUserStatusNormal", user.getClass()).invoke(userService, user);
+                statusNormal = userProvider.isUserStatusNormal(user);
             } catch (Exception e) {
                 log.error("检查用户状态失败: {}", e.getMessage(), e);
                 throw new UsernameNotFoundException("用户状态检查失败: " + username);
@@ -72,11 +74,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             Set<String> permissions = Set.of();
             Set<String> roles = Set.of();
             try {
-                Long userId = (Long) user.getClass().getMethod("getId").invoke(user);
-                @SuppressWarnings("unchecked")
-                Set<String> userPermissions = (Set<String>) userService.getClass().getMethod("getUserPermissions", Long.class).invoke(userService, userId);
-                @SuppressWarnings("unchecked")
-                Set<String> userRoles = (Set<String>) userService.getClass().getMethod("getUserRoles", Long.class).invoke(userService, userId);
+                Set<String> userPermissions = userProvider.getUserPermissions(user.getId());
+                Set<String> userRoles = userProvider.getUserRoles(user.getId());
                 permissions = userPermissions != null ? userPermissions : Set.of();
                 roles = userRoles != null ? userRoles : Set.of();
             } catch (Exception e) {
@@ -94,36 +93,37 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
     }
     
+    /**
+     * 获取认证用户数据提供者
+     */
+    private AuthUserProvider getAuthUserProvider() {
+        AuthUserProvider provider = authUserProvider;
+        if (provider == null) {
+            provider = authUserProviderProvider.getIfAvailable();
+            if (provider == null) {
+                log.error("未找到认证用户数据提供者实现");
+                return null;
+            }
+            authUserProvider = provider;
+        }
+        return provider;
+    }
+    
     /**
      * 构建登录用户信息
      */
-    private LoginUser buildLoginUser(Object user, Set<String> permissions, Set<String> roles) {
+    private LoginUser buildLoginUser(SysUserEntity user, Set<String> permissions, Set<String> roles) {
         LoginUser loginUser = new LoginUser();
         
-        try {
-            // 设置基本信息
-            Long userId = (Long) user.getClass().getMethod("getId").invoke(user);
-            String username = (String) user.getClass().getMethod("getUsername").invoke(user);
-            String nickname = (String) user.getClass().getMethod("getNickname").invoke(user);
-            String email = (String) user.getClass().getMethod("getEmail").invoke(user);
-            String phone = (String) user.getClass().getMethod("getPhone").invoke(user);
-            String avatar = (String) user.getClass().getMethod("getAvatar").invoke(user);
-            String password = (String) user.getClass().getMethod("getPassword").invoke(user);
-            Integer status = (Integer) user.getClass().getMethod("getStatus").invoke(user);
-            
-            loginUser.setUserId(userId);
-            loginUser.setUsername(username);
-            loginUser.setNickname(nickname);
-            loginUser.setEmail(email);
-            loginUser.setPhone(phone);
-            loginUser.setAvatar(avatar);
-            loginUser.setPassword(password);
-            loginUser.setStatus(status);
-            
-        } catch (Exception e) {
-            log.error("构建登录用户信息失败: {}", e.getMessage(), e);
-            throw new RuntimeException("构建登录用户信息失败", e);
-        }
+        // 设置基本信息
+        loginUser.setUserId(user.getId());
+        loginUser.setUsername(user.getUsername());
+        loginUser.setNickname(user.getNickname());
+        loginUser.setEmail(user.getEmail());
+        loginUser.setPhone(user.getPhone());
+        loginUser.setAvatar(user.getAvatar());
+        loginUser.setPassword(user.getPassword());
+        loginUser.setStatus(user.getStatus());
         
         // 设置权限和角色
         loginUser.setPermissions(permissions);
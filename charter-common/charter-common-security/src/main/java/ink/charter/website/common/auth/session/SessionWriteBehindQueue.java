@@ -0,0 +1,319 @@
+package ink.charter.website.common.auth.session;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.auth.provider.AuthUserProvider;
+import ink.charter.website.common.core.entity.sys.SysUserEntity;
+import ink.charter.website.common.core.entity.sys.SysUserSessionEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话写回队列
+ * 登录路径上的会话记录、登录统计与会话失效写入先进入有界内存队列，由后台线程按批次合并写入数据库。
+ * 在线会话以Redis令牌记录为准，数据库会话表仅作审计与查询，短暂延迟不影响认证。
+ * 队列满时退化为调用线程同步写入。
+ * 作为生命周期组件在Web服务器停止之后、数据源等Bean销毁之前停止：停止时写完剩余数据，此后的写入改为同步执行
+ *
+ * @author charter
+ * @create 2025/11/27
+ */
+@Slf4j
+@Component
+public class SessionWriteBehindQueue implements SmartLifecycle {
+
+    /**
+     * 关闭时等待后台写入结束的时间（秒）
+     */
+    private static final long SHUTDOWN_WAIT_SECONDS = 5L;
+
+    /**
+     * 生命周期阶段：低于Web服务器的停止阶段，确保处理中的请求产生的写入也能写完
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ObjectProvider<AuthUserProvider> authUserProviderProvider;
+    private final BlockingQueue<SessionWrite> queue;
+    private final int batchSize;
+    private final long flushInterval;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 是否在运行；停止后不再入队，改为同步写入
+     */
+    private volatile boolean running;
+
+    public SessionWriteBehindQueue(AuthProperties authProperties,
+                                   ObjectProvider<AuthUserProvider> authUserProviderProvider) {
+        AuthProperties.SessionWrite config = authProperties.getSessionWrite();
+        this.authUserProviderProvider = authUserProviderProvider;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.batchSize = config.getBatchSize();
+        this.flushInterval = config.getFlushInterval();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 记录一次登录（创建会话并累加登录统计）
+     *
+     * @param userId 用户ID
+     * @param sessionId 会话ID
+     * @param accessToken 访问Token
+     * @param refreshToken 刷新Token
+     * @param loginIp 登录IP
+     * @param userAgent 用户代理
+     * @param expireTime 过期时间
+     */
+    public void recordLogin(Long userId, String sessionId, String accessToken, String refreshToken,
+                            String loginIp, String userAgent, LocalDateTime expireTime) {
+        SysUserSessionEntity session = new SysUserSessionEntity();
+        session.setUserId(userId);
+        session.setSessionId(sessionId);
+        session.setToken(accessToken);
+        session.setRefreshToken(refreshToken);
+        session.setLoginIp(loginIp);
+        session.setUserAgent(userAgent);
+        session.setLoginTime(LocalDateTime.now());
+        session.setExpireTime(expireTime);
+        enqueue(new SessionWrite(SessionWrite.Type.LOGIN, userId, accessToken, session));
+    }
+
+    /**
+     * 记录一次令牌轮换（更新会话的访问令牌、刷新令牌与过期时间）
+     *
+     * @param sessionId 会话ID
+     * @param accessToken 新访问Token
+     * @param refreshToken 新刷新Token
+     * @param expireTime 过期时间
+     */
+    public void rotateSession(String sessionId, String accessToken, String refreshToken, LocalDateTime expireTime) {
+        SysUserSessionEntity session = new SysUserSessionEntity();
+        session.setSessionId(sessionId);
+        session.setToken(accessToken);
+        session.setRefreshToken(refreshToken);
+        session.setExpireTime(expireTime);
+        enqueue(new SessionWrite(SessionWrite.Type.ROTATE, null, accessToken, session));
+    }
+
+    /**
+     * 使会话失效
+     *
+     * @param accessToken 访问Token
+     */
+    public void invalidateSession(String accessToken) {
+        enqueue(new SessionWrite(SessionWrite.Type.INVALIDATE_SESSION, null, accessToken, null));
+    }
+
+    /**
+     * 使用户所有会话失效
+     *
+     * @param userId 用户ID
+     */
+    public void invalidateUserSessions(Long userId) {
+        enqueue(new SessionWrite(SessionWrite.Type.INVALIDATE_USER, userId, null, null));
+    }
+
+    private void enqueue(SessionWrite write) {
+        if (!running) {
+            persist(List.of(write));
+            return;
+        }
+        if (!queue.offer(write)) {
+            log.warn("会话写回队列已满，改为同步写入");
+            persist(List.of(write));
+        }
+    }
+
+    /**
+     * 取出队列中的全部写入并按批次持久化
+     */
+    private void drain() {
+        try {
+            List<SessionWrite> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                persist(batch);
+                batch.clear();
+            }
+        } catch (Exception e) {
+            log.error("会话写回失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 持久化一批写入
+     * 按"用户会话失效 -> 新建会话 -> 令牌轮换 -> 单个会话失效"四个阶段分段合并，
+     * 出现会破坏先后顺序的写入时先提交当前分段，保证与入队顺序一致
+     */
+    private void persist(List<SessionWrite> writes) {
+        AuthUserProvider provider = authUserProviderProvider.getIfAvailable();
+        if (provider == null) {
+            return;
+        }
+        Segment segment = new Segment();
+        for (SessionWrite write : writes) {
+            switch (write.type) {
+                case INVALIDATE_USER -> {
+                    if (!segment.sessions.isEmpty() || !segment.rotations.isEmpty()
+                            || !segment.invalidatedTokens.isEmpty()) {
+                        segment.flush(provider);
+                        segment = new Segment();
+                    }
+                    segment.invalidatedUsers.add(write.userId);
+                }
+                case LOGIN -> {
+                    if (!segment.invalidatedTokens.isEmpty()) {
+                        segment.flush(provider);
+                        segment = new Segment();
+                    }
+                    segment.addLogin(write.session);
+                }
+                case ROTATE -> {
+                    if (!segment.invalidatedTokens.isEmpty()) {
+                        segment.flush(provider);
+                        segment = new Segment();
+                    }
+                    segment.rotations.put(write.session.getSessionId(), write.session);
+                }
+                case INVALIDATE_SESSION -> segment.invalidatedTokens.add(write.token);
+                default -> {
+                }
+            }
+        }
+        segment.flush(provider);
+    }
+
+    @Override
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::drain, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 写入分段
+     */
+    private static final class Segment {
+
+        private final Set<Long> invalidatedUsers = new LinkedHashSet<>();
+        private final List<SysUserSessionEntity> sessions = new ArrayList<>();
+        private final Map<Long, SysUserEntity> loginInfos = new LinkedHashMap<>();
+        private final Map<String, SysUserSessionEntity> rotations = new LinkedHashMap<>();
+        private final Set<String> invalidatedTokens = new LinkedHashSet<>();
+
+        private void addLogin(SysUserSessionEntity session) {
+            sessions.add(session);
+            SysUserEntity loginInfo = loginInfos.computeIfAbsent(session.getUserId(), userId -> {
+                SysUserEntity info = new SysUserEntity();
+                info.setId(userId);
+                info.setLoginCount(0);
+                return info;
+            });
+            loginInfo.setLoginCount(loginInfo.getLoginCount() + 1);
+            loginInfo.setLastLoginTime(session.getLoginTime());
+            loginInfo.setLastLoginIp(session.getLoginIp());
+        }
+
+        private void flush(AuthUserProvider provider) {
+            if (!invalidatedUsers.isEmpty()) {
+                try {
+                    provider.invalidateUserSessions(invalidatedUsers);
+                } catch (Exception e) {
+                    log.error("批量使用户会话失效失败: {}", e.getMessage(), e);
+                }
+            }
+            if (!sessions.isEmpty()) {
+                try {
+                    provider.createSessions(sessions);
+                } catch (Exception e) {
+                    log.error("批量创建用户会话失败: {}", e.getMessage(), e);
+                }
+                try {
+                    provider.updateLoginInfos(new ArrayList<>(loginInfos.values()));
+                } catch (Exception e) {
+                    log.error("批量更新用户登录信息失败: {}", e.getMessage(), e);
+                }
+            }
+            if (!rotations.isEmpty()) {
+                try {
+                    provider.rotateSessions(new ArrayList<>(rotations.values()));
+                } catch (Exception e) {
+                    log.error("批量更新会话令牌失败: {}", e.getMessage(), e);
+                }
+            }
+            if (!invalidatedTokens.isEmpty()) {
+                try {
+                    provider.invalidateSessions(invalidatedTokens);
+                } catch (Exception e) {
+                    log.error("批量使会话失效失败: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 单条会话写入
+     */
+    private static final class SessionWrite {
+
+        private enum Type {
+            LOGIN,
+            ROTATE,
+            INVALIDATE_SESSION,
+            INVALIDATE_USER
+        }
+
+        private final Type type;
+        private final Long userId;
+        private final String token;
+        private final SysUserSessionEntity session;
+
+        private SessionWrite(Type type, Long userId, String token, SysUserSessionEntity session) {
+            this.type = type;
+            this.userId = userId;
+            this.token = token;
+            this.session = session;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package ink.charter.website.common.auth.session;
+
+import ink.charter.website.common.auth.config.AuthProperties;
+import ink.charter.website.common.auth.provider.AuthUserProvider;
+import ink.charter.website.common.auth.service.TokenService;
+import ink.charter.website.common.auth.utils.TokenDigestUtils;
+import ink.charter.website.common.redis.cache.LocalCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌续期合并器
+ * 同一令牌在合并窗口内只续期一次；续期请求在后台按批次通过管道发往Redis，
+ * 续期成功的会话过期时间先在内存中合并，再按同步间隔批量写回数据库
+ *
+ * @author charter
+ * @create 2025/11/27
+ */
+@Slf4j
+@Component
+public class TokenRenewalCoalescer {
+
+    /**
+     * 合并窗口内最多记录的令牌数
+     */
+    private static final int RECENT_MAX_SIZE = 100000;
+
+    /**
+     * 关闭时等待后台续期结束的时间（秒）
+     */
+    private static final long SHUTDOWN_WAIT_SECONDS = 5L;
+
+    private final TokenService tokenService;
+    private final ObjectProvider<AuthUserProvider> authUserProviderProvider;
+
+    /**
+     * 合并窗口内已续期成功的令牌摘要（续期失败的令牌不记录，下次请求时重新提交）
+     */
+    private final LocalCache<String, Boolean> recent;
+
+    /**
+     * 待续期令牌（令牌 -> 续期时长秒）
+     */
+    private final ConcurrentHashMap<String, Long> pendingRenewals = new ConcurrentHashMap<>();
+
+    /**
+     * 待同步的会话过期时间（令牌 -> 过期时间）
+     */
+    private final ConcurrentHashMap<String, LocalDateTime> pendingSessions = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    public TokenRenewalCoalescer(AuthProperties authProperties, TokenService tokenService,
+                                 ObjectProvider<AuthUserProvider> authUserProviderProvider) {
+        AuthProperties.Renewal config = authProperties.getRenewal();
+        this.tokenService = tokenService;
+        this.authUserProviderProvider = authUserProviderProvider;
+        this.recent = new LocalCache<>(config.getCoalesceWindow() * 1000L, RECENT_MAX_SIZE);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushRenewals,
+                config.getFlushInterval(), config.getFlushInterval(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::flushSessions,
+                config.getSessionSyncInterval(), config.getSessionSyncInterval(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 提交续期请求（合并窗口内已续期或待续期的令牌直接忽略）
+     *
+     * @param token 访问令牌
+     * @param expireSeconds 续期时长（秒）
+     */
+    public void requestRenewal(String token, long expireSeconds) {
+        if (!StringUtils.hasText(token) || expireSeconds <= 0) {
+            return;
+        }
+        String tokenId = TokenDigestUtils.digest(token);
+        if (recent.get(tokenId) != null) {
+            return;
+        }
+        pendingRenewals.putIfAbsent(token, expireSeconds);
+    }
+
+    /**
+     * 批量执行待续期请求
+     */
+    private void flushRenewals() {
+        if (pendingRenewals.isEmpty()) {
+            return;
+        }
+        try {
+            // 按续期时长分组
+            Map<Long, List<String>> groups = new HashMap<>();
+            Iterator<Map.Entry<String, Long>> iterator = pendingRenewals.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Long> entry = iterator.next();
+                iterator.remove();
+                groups.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+            }
+
+            for (Map.Entry<Long, List<String>> group : groups.entrySet()) {
+                long expireSeconds = group.getKey();
+                List<String> renewed = tokenService.extendTokensExpire(group.getValue(), expireSeconds);
+                if (!renewed.isEmpty()) {
+                    LocalDateTime expireTime = LocalDateTime.now().plusSeconds(expireSeconds);
+                    for (String token : renewed) {
+                        recent.put(TokenDigestUtils.digest(token), Boolean.TRUE);
+                        pendingSessions.put(token, expireTime);
+                    }
+                    log.debug("批量续期令牌 {} 个", renewed.size());
+                }
+            }
+        } catch (Exception e) {
+            log.error("批量续期令牌失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 将合并后的会话过期时间批量写回数据库
+     */
+    private void flushSessions() {
+        if (pendingSessions.isEmpty()) {
+            return;
+        }
+        AuthUserProvider provider = authUserProviderProvider.getIfAvailable();
+        if (provider == null) {
+            pendingSessions.clear();
+            return;
+        }
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        Iterator<Map.Entry<String, LocalDateTime>> iterator = pendingSessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, LocalDateTime> entry = iterator.next();
+            iterator.remove();
+            batch.put(entry.getKey(), entry.getValue());
+        }
+        try {
+            provider.updateSessionExpireTimes(batch);
+            log.debug("同步会话过期时间 {} 条", batch.size());
+        } catch (Exception e) {
+            log.error("同步会话过期时间失败: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flushRenewals();
+        flushSessions();
+    }
+}
@@ -3,13 +3,13 @@ package ink.charter.website.common.auth.utils;
 import ink.charter.website.common.auth.config.AuthProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
@@ -17,6 +17,7 @@ import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * JWT工具类
@@ -26,11 +27,57 @@ import java.util.Map;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtUtils {
 
+    /**
+     * 未配置kid时的默认密钥ID，同时用于验签未携带kid的历史令牌
+     */
+    private static final String DEFAULT_KEY_ID = "default";
+
     private final AuthProperties authProperties;
 
+    /**
+     * 当前签名密钥ID
+     */
+    private final String activeKeyId;
+
+    /**
+     * 当前签名密钥
+     */
+    private final SecretKey activeKey;
+
+    /**
+     * 验签密钥（kid -> 密钥），包含当前密钥及已轮换下线的密钥
+     */
+    private final Map<String, SecretKey> verifyKeys;
+
+    /**
+     * JWT解析器（线程安全，全局复用）
+     */
+    private final JwtParser jwtParser;
+
+    public JwtUtils(AuthProperties authProperties) {
+        this.authProperties = authProperties;
+        AuthProperties.Jwt jwt = authProperties.getJwt();
+        this.activeKeyId = StringUtils.hasText(jwt.getKeyId()) ? jwt.getKeyId() : DEFAULT_KEY_ID;
+        this.activeKey = buildSignKey(jwt.getSecret());
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        if (jwt.getRetiredSecrets() != null) {
+            jwt.getRetiredSecrets().forEach((kid, secret) -> {
+                if (StringUtils.hasText(kid) && StringUtils.hasText(secret)) {
+                    keys.put(kid, buildSignKey(secret));
+                }
+            });
+        }
+        keys.put(activeKeyId, activeKey);
+        this.verifyKeys = Map.copyOf(keys);
+
+        this.jwtParser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+    }
+
     /**
      * 生成访问令牌
      *
@@ -47,6 +94,23 @@ public class JwtUtils {
         return generateToken(claims, authProperties.getJwt().getAccessTokenExpire());
     }
 
+    /**
+     * 生成携带附加声明的访问令牌
+     *
+     * @param userId      用户ID
+     * @param username    用户名
+     * @param extraClaims 附加声明
+     * @return JWT令牌
+     */
+    public String generateAccessToken(Long userId, String username, Map<String, Object> extraClaims) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put("userId", userId);
+        claims.put("username", username);
+        claims.put("type", "access");
+
+        return generateToken(claims, authProperties.getJwt().getAccessTokenExpire());
+    }
+
     /**
      * 生成刷新令牌
      *
@@ -63,6 +127,26 @@ public class JwtUtils {
         return generateToken(claims, authProperties.getJwt().getRefreshTokenExpire());
     }
 
+    /**
+     * 生成绑定会话的刷新令牌
+     * 每次生成都带有唯一标识，同一会话在同一秒内轮换也不会得到相同的令牌
+     *
+     * @param userId    用户ID
+     * @param username  用户名
+     * @param sessionId 会话ID
+     * @return JWT刷新令牌
+     */
+    public String generateRefreshToken(Long userId, String username, String sessionId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId);
+        claims.put("username", username);
+        claims.put("type", "refresh");
+        claims.put("sid", sessionId);
+        claims.put("jti", UUID.randomUUID().toString());
+
+        return generateToken(claims, authProperties.getJwt().getRefreshTokenExpire());
+    }
+
     /**
      * 生成JWT令牌
      *
@@ -79,7 +163,8 @@ public class JwtUtils {
                 .issuer(authProperties.getJwt().getIssuer())
                 .issuedAt(now)
                 .expiration(expireTime)
-                .signWith(getSignKey())
+                .header().keyId(activeKeyId).and()
+                .signWith(activeKey)
                 .compact();
     }
 
@@ -91,9 +176,7 @@ public class JwtUtils {
      */
     public Claims parseToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -114,6 +197,25 @@ public class JwtUtils {
         }
     }
 
+    /**
+     * 解析JWT令牌，令牌无效时返回null而不抛出异常
+     *
+     * @param token JWT令牌
+     * @return Claims，令牌无效时返回null
+     */
+    public Claims parseTokenQuietly(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+
+        try {
+            return parseToken(token);
+        } catch (Exception e) {
+            log.debug("JWT令牌验证失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * 验证JWT令牌
      *
@@ -204,14 +306,33 @@ public class JwtUtils {
     }
 
     /**
-     * 获取签名密钥
+     * 根据JWT头部kid定位验签密钥
+     * 未携带kid的令牌为密钥轮换前签发，按默认密钥ID查找，找不到时使用当前密钥
+     *
+     * @param header JWT头部
+     * @return 验签密钥
+     */
+    private Key locateKey(Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (!StringUtils.hasText(kid)) {
+            return verifyKeys.getOrDefault(DEFAULT_KEY_ID, activeKey);
+        }
+        SecretKey key = verifyKeys.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("未知的签名密钥ID: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * 根据密钥字符串构建签名密钥
      *
+     * @param secret 密钥字符串
      * @return 签名密钥
      */
-    private SecretKey getSignKey() {
+    private SecretKey buildSignKey(String secret) {
         SecretKey secretKey;
         try {
-            String secret = authProperties.getJwt().getSecret();
             byte[] keyBytes =  MessageDigest.getInstance("SHA-256")
                 .digest(secret.getBytes(StandardCharsets.UTF_8));
             secretKey = Keys.hmacShaKeyFor(keyBytes);
@@ -221,4 +342,4 @@ public class JwtUtils {
         }
         return secretKey;
     }
-}
\ No newline at end of file
+}
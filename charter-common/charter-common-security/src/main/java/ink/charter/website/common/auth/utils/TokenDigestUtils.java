@@ -0,0 +1,59 @@
+package ink.charter.website.common.auth.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 令牌摘要工具类
+ * 以截断的SHA-256摘要（128位，Base64Url编码22字符）代替完整JWT作为Redis键的组成部分
+ *
+ * @author charter
+ * @create 2025/11/23
+ */
+public final class TokenDigestUtils {
+
+    /**
+     * 摘要截断长度（字节）
+     */
+    private static final int DIGEST_BYTES = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前环境不支持SHA-256算法", e);
+        }
+    });
+
+    private TokenDigestUtils() {
+    }
+
+    /**
+     * 计算令牌摘要
+     *
+     * @param token 令牌
+     * @return 令牌摘要
+     */
+    public static String digest(String token) {
+        MessageDigest messageDigest = SHA256.get();
+        messageDigest.reset();
+        byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return ENCODER.encodeToString(Arrays.copyOf(hash, DIGEST_BYTES));
+    }
+
+    /**
+     * 判断是否为旧格式的令牌标识（完整JWT）
+     * JWT由"."分隔的三段组成，摘要的Base64Url编码中不会出现"."
+     *
+     * @param tokenId 令牌标识
+     * @return 是否为完整JWT
+     */
+    public static boolean isRawToken(String tokenId) {
+        return tokenId != null && tokenId.indexOf('.') >= 0;
+    }
+}
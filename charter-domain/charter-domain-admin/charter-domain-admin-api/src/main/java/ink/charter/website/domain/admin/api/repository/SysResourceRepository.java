@@ -60,6 +60,27 @@ public interface SysResourceRepository {
      */
     List<SysResourceEntity> listAllEnabled();
 
+    /**
+     * 查询资源同步所需的全部资源（含禁用）
+     *
+     * @return 资源列表
+     */
+    List<SysResourceEntity> listAllForSync();
+
+    /**
+     * 批量创建资源
+     *
+     * @param resources 资源列表
+     */
+    void batchCreate(List<SysResourceEntity> resources);
+
+    /**
+     * 批量更新资源映射信息（所属模块、URL、HTTP方法）
+     *
+     * @param resources 资源列表
+     */
+    void batchUpdateMapping(List<SysResourceEntity> resources);
+
     /**
      * 根据ID列表批量查询资源
      *
@@ -3,7 +3,9 @@ package ink.charter.website.domain.admin.api.repository;
 import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysUserEntity;
 import ink.charter.website.domain.admin.api.dto.user.PageUserDTO;
+import ink.charter.website.domain.admin.api.vo.user.UserAuthorityVO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -77,6 +79,14 @@ public interface SysUserRepository {
      */
     List<Long> getRoleIdsByUserId(Long userId);
 
+    /**
+     * 批量获取用户授权明细（用户-角色-权限码）
+     *
+     * @param userIds 用户ID集合
+     * @return 授权明细
+     */
+    List<UserAuthorityVO> listUserAuthorities(Collection<Long> userIds);
+
     /**
      * 更新用户登录信息
      *
@@ -85,6 +95,24 @@ public interface SysUserRepository {
      */
     void updateLoginInfo(Long userId, String loginIp);
 
+    /**
+     * 批量更新用户登录信息
+     *
+     * @param loginInfos 登录信息（id、loginCount为登录次数增量、lastLoginTime、lastLoginIp）
+     */
+    void batchUpdateLoginInfo(List<SysUserEntity> loginInfos);
+
+    /**
+     * 更新用户密码（已编码，不再重复加密）
+     * 仅当当前密码仍为verifiedPassword时更新
+     *
+     * @param userId 用户ID
+     * @param verifiedPassword 期望的当前密码哈希
+     * @param encodedPassword 已编码的密码
+     * @return 是否成功
+     */
+    boolean updateEncodedPassword(Long userId, String verifiedPassword, String encodedPassword);
+
     /**
      * 创建用户
      *
@@ -0,0 +1,33 @@
+package ink.charter.website.domain.admin.api.vo.user;
+
+import lombok.Data;
+
+/**
+ * 用户授权明细VO（用户-角色-权限码的一行关联）
+ *
+ * @author charter
+ * @create 2025/11/28
+ */
+@Data
+public class UserAuthorityVO {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 角色ID（角色已禁用时为空）
+     */
+    private Long roleId;
+
+    /**
+     * 角色编码（角色已禁用时为空）
+     */
+    private String roleCode;
+
+    /**
+     * 权限码（角色未分配资源时为空）
+     */
+    private String resourceCode;
+}
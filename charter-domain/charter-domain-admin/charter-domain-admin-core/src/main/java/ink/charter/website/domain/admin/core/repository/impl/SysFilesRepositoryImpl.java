@@ -5,6 +5,7 @@ import ink.charter.website.common.core.common.PageRequest;
 import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysFilesEntity;
 import ink.charter.website.common.file.mapper.SysFilesMapper;
+import ink.charter.website.common.file.service.CharterFileService;
 import ink.charter.website.domain.admin.api.dto.files.PageFilesDTO;
 import ink.charter.website.domain.admin.api.repository.SysFilesRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -26,6 +29,7 @@ import java.util.List;
 public class SysFilesRepositoryImpl implements SysFilesRepository {
 
     private final SysFilesMapper sysFilesMapper;
+    private final CharterFileService charterFileService;
 
     @Override
     public PageResult<SysFilesEntity> pageFiles(PageFilesDTO pageRequest) {
@@ -69,17 +73,32 @@ public class SysFilesRepositoryImpl implements SysFilesRepository {
 
     @Override
     public boolean create(SysFilesEntity file) {
-        return sysFilesMapper.insert(file) > 0;
+        boolean success = sysFilesMapper.insert(file) > 0;
+        if (success) {
+            charterFileService.onFilesChanged(Collections.singletonList(file.getFileMd5()));
+        }
+        return success;
     }
 
     @Override
     public boolean update(SysFilesEntity file) {
-        return sysFilesMapper.updateById(file) > 0;
+        List<String> fileMd5List = listMd5ById(file.getId());
+        boolean success = sysFilesMapper.updateById(file) > 0;
+        if (success) {
+            fileMd5List.add(file.getFileMd5());
+            charterFileService.onFilesChanged(fileMd5List);
+        }
+        return success;
     }
 
     @Override
     public boolean deleteById(Long id) {
-        return sysFilesMapper.deleteById(id) > 0;
+        List<String> fileMd5List = listMd5ById(id);
+        boolean success = sysFilesMapper.deleteById(id) > 0;
+        if (success) {
+            charterFileService.onFilesChanged(fileMd5List);
+        }
+        return success;
     }
 
     @Override
@@ -87,12 +106,22 @@ public class SysFilesRepositoryImpl implements SysFilesRepository {
         if (ids == null || ids.isEmpty()) {
             return false;
         }
-        return sysFilesMapper.deleteByIds(ids) > 0;
+        List<String> fileMd5List = listMd5ByIds(ids);
+        boolean success = sysFilesMapper.deleteByIds(ids) > 0;
+        if (success) {
+            charterFileService.onFilesChanged(fileMd5List);
+        }
+        return success;
     }
 
     @Override
     public boolean updateStatus(Long id, Integer status) {
-        return sysFilesMapper.updateStatus(id, status) > 0;
+        List<String> fileMd5List = listMd5ById(id);
+        boolean success = sysFilesMapper.updateStatus(id, status) > 0;
+        if (success) {
+            charterFileService.onFilesChanged(fileMd5List);
+        }
+        return success;
     }
 
     @Override
@@ -100,4 +129,25 @@ public class SysFilesRepositoryImpl implements SysFilesRepository {
         return sysFilesMapper.updateLastAccessTime(id, lastAccessTime) > 0;
     }
 
+    /**
+     * 查询文件MD5（变更前读取，用于清除按MD5查询的文件缓存）
+     */
+    private List<String> listMd5ById(Long id) {
+        List<String> fileMd5List = new ArrayList<>();
+        SysFilesEntity file = id != null ? sysFilesMapper.selectById(id) : null;
+        if (file != null) {
+            fileMd5List.add(file.getFileMd5());
+        }
+        return fileMd5List;
+    }
+
+    /**
+     * 查询文件MD5（变更前读取，用于清除按MD5查询的文件缓存）
+     */
+    private List<String> listMd5ByIds(List<Long> ids) {
+        return sysFilesMapper.selectByIds(ids).stream()
+                .map(SysFilesEntity::getFileMd5)
+                .toList();
+    }
+
 }
@@ -25,6 +25,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SysResourceRepositoryImpl implements SysResourceRepository {
 
+    /**
+     * 批量写入的单批条数
+     */
+    private static final int BATCH_SIZE = 500;
+
     private final SysResourceMapper sysResourceMapper;
 
     @Override
@@ -60,6 +65,32 @@ public class SysResourceRepositoryImpl implements SysResourceRepository {
         return sysResourceMapper.selectAllEnabled();
     }
 
+    @Override
+    public List<SysResourceEntity> listAllForSync() {
+        return sysResourceMapper.selectAllForSync();
+    }
+
+    @Override
+    public void batchCreate(List<SysResourceEntity> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return;
+        }
+        // 分批执行，避免单条SQL过长
+        for (int i = 0; i < resources.size(); i += BATCH_SIZE) {
+            sysResourceMapper.batchInsert(resources.subList(i, Math.min(i + BATCH_SIZE, resources.size())));
+        }
+    }
+
+    @Override
+    public void batchUpdateMapping(List<SysResourceEntity> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < resources.size(); i += BATCH_SIZE) {
+            sysResourceMapper.batchUpdateMapping(resources.subList(i, Math.min(i + BATCH_SIZE, resources.size())));
+        }
+    }
+
     @Override
     public List<SysResourceEntity> listByIds(List<Long> resourceIds) {
         if (resourceIds == null || resourceIds.isEmpty()) {
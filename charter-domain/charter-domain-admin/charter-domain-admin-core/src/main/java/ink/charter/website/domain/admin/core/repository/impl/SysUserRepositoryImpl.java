@@ -6,12 +6,14 @@ import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysUserEntity;
 import ink.charter.website.domain.admin.api.dto.user.PageUserDTO;
 import ink.charter.website.domain.admin.api.repository.SysUserRepository;
+import ink.charter.website.domain.admin.api.vo.user.UserAuthorityVO;
 import ink.charter.website.domain.admin.core.repository.mapper.SysUserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -25,6 +27,11 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class SysUserRepositoryImpl implements SysUserRepository {
 
+    /**
+     * 批量写入的单批条数
+     */
+    private static final int BATCH_SIZE = 500;
+
     private final SysUserMapper sysUserMapper;
 
     @Override
@@ -83,6 +90,14 @@ public class SysUserRepositoryImpl implements SysUserRepository {
         return sysUserMapper.selectUserRoleIds(userId);
     }
 
+    @Override
+    public List<UserAuthorityVO> listUserAuthorities(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        return sysUserMapper.selectUserAuthorities(userIds);
+    }
+
     @Override
     public void updateLoginInfo(Long userId, String loginIp) {
         if (userId != null) {
@@ -90,6 +105,24 @@ public class SysUserRepositoryImpl implements SysUserRepository {
         }
     }
 
+    @Override
+    public void batchUpdateLoginInfo(List<SysUserEntity> loginInfos) {
+        if (loginInfos == null || loginInfos.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < loginInfos.size(); from += BATCH_SIZE) {
+            sysUserMapper.batchUpdateLoginInfo(loginInfos.subList(from, Math.min(from + BATCH_SIZE, loginInfos.size())));
+        }
+    }
+
+    @Override
+    public boolean updateEncodedPassword(Long userId, String verifiedPassword, String encodedPassword) {
+        if (userId == null || !StringUtils.hasText(verifiedPassword) || !StringUtils.hasText(encodedPassword)) {
+            return false;
+        }
+        return sysUserMapper.updateEncodedPassword(userId, verifiedPassword, encodedPassword) > 0;
+    }
+
     @Override
     public boolean createUser(SysUserEntity user) {
         if (user == null) {
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysUserSessionEntity;
+import ink.charter.website.common.core.utils.IdGenerator;
 import ink.charter.website.common.core.utils.IpUtils;
 import ink.charter.website.domain.admin.api.dto.session.PageUserSessionDTO;
 import ink.charter.website.domain.admin.api.repository.SysUserSessionRepository;
@@ -14,7 +15,10 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 系统用户会话领域仓库实现
@@ -26,6 +30,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SysUserSessionRepositoryImpl implements SysUserSessionRepository {
 
+    /**
+     * 批量写入的单批条数
+     */
+    private static final int BATCH_SIZE = 500;
+
     private final SysUserSessionMapper sysUserSessionMapper;
 
     @Override
@@ -80,6 +89,30 @@ public class SysUserSessionRepositoryImpl implements SysUserSessionRepository {
         }
     }
 
+    @Override
+    public void batchCreateSessions(List<SysUserSessionEntity> sessions) {
+        if (sessions == null || sessions.isEmpty()) {
+            return;
+        }
+        for (SysUserSessionEntity session : sessions) {
+            if (session.getId() == null) {
+                session.setId(IdGenerator.snowflakeId());
+            }
+            if (session.getSessionId() == null) {
+                session.setSessionId(java.util.UUID.randomUUID().toString());
+            }
+            if (session.getLoginAddress() == null) {
+                session.setLoginAddress(IpUtils.getIpLocation(session.getLoginIp()));
+            }
+            if (session.getStatus() == null) {
+                session.setStatus(1); // 1-有效
+            }
+        }
+        for (int from = 0; from < sessions.size(); from += BATCH_SIZE) {
+            sysUserSessionMapper.batchInsert(sessions.subList(from, Math.min(from + BATCH_SIZE, sessions.size())));
+        }
+    }
+
     @Override
     public SysUserSessionEntity getSessionByToken(String sessionToken) {
         return sysUserSessionMapper.selectBySessionToken(sessionToken);
@@ -114,6 +147,20 @@ public class SysUserSessionRepositoryImpl implements SysUserSessionRepository {
         }
     }
 
+    @Override
+    public void invalidateSessions(Collection<String> sessionTokens) {
+        if (sessionTokens != null && !sessionTokens.isEmpty()) {
+            sysUserSessionMapper.invalidateSessions(sessionTokens);
+        }
+    }
+
+    @Override
+    public void invalidateUsersSessions(Collection<Long> userIds) {
+        if (userIds != null && !userIds.isEmpty()) {
+            sysUserSessionMapper.invalidateUsersSessions(userIds);
+        }
+    }
+
     @Override
     public void invalidateOtherUserSessions(Long userId, String currentSessionToken) {
         if (userId != null && StringUtils.hasText(currentSessionToken)) {
@@ -128,6 +175,36 @@ public class SysUserSessionRepositoryImpl implements SysUserSessionRepository {
         }
     }
 
+    @Override
+    public void batchUpdateExpireTime(Map<String, LocalDateTime> expireTimes) {
+        if (expireTimes == null || expireTimes.isEmpty()) {
+            return;
+        }
+        // 分批执行，避免单条SQL过长
+        Map<String, LocalDateTime> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, LocalDateTime> entry : expireTimes.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= BATCH_SIZE) {
+                sysUserSessionMapper.batchUpdateExpireTime(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            sysUserSessionMapper.batchUpdateExpireTime(batch);
+        }
+    }
+
+    @Override
+    public void batchUpdateTokens(List<SysUserSessionEntity> sessions) {
+        if (sessions == null || sessions.isEmpty()) {
+            return;
+        }
+        // 分批执行，避免单条SQL过长
+        for (int i = 0; i < sessions.size(); i += BATCH_SIZE) {
+            sysUserSessionMapper.batchUpdateTokens(sessions.subList(i, Math.min(i + BATCH_SIZE, sessions.size())));
+        }
+    }
+
     @Override
     public void cleanExpiredSessions() {
         try {
@@ -7,7 +7,10 @@ import ink.charter.website.common.core.common.PageRequest;
 import ink.charter.website.common.core.entity.sys.SysResourceEntity;
 import ink.charter.website.common.mybatis.wrapper.QueryWrappers;
 import ink.charter.website.domain.admin.api.dto.resource.PageResourceDTO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
@@ -95,6 +98,62 @@ public interface SysResourceMapper extends BaseMapper<SysResourceEntity> {
             .orderByDesc(SysResourceEntity::getCreateTime));
     }
 
+    /**
+     * 查询资源同步所需的全部资源（含禁用，仅加载比对字段）
+     *
+     * @return 资源列表
+     */
+    default List<SysResourceEntity> selectAllForSync() {
+        return selectList(QueryWrappers.<SysResourceEntity>lambdaQuery()
+            .select(SysResourceEntity::getId, SysResourceEntity::getResourceCode, SysResourceEntity::getResourceName,
+                SysResourceEntity::getModule, SysResourceEntity::getUrl, SysResourceEntity::getMethod,
+                SysResourceEntity::getStatus));
+    }
+
+    /**
+     * 批量插入资源
+     *
+     * @param resources 资源列表
+     * @return 影响行数
+     */
+    @Insert("""
+            <script>
+            INSERT INTO sys_resource
+                (id, resource_name, resource_code, module, url, method, description, status, create_time, update_time, is_deleted)
+            VALUES
+            <foreach collection="resources" item="r" separator=",">
+                (#{r.id}, #{r.resourceName}, #{r.resourceCode}, #{r.module}, #{r.url}, #{r.method}, #{r.description},
+                 #{r.status}, NOW(), NOW(), 0)
+            </foreach>
+            </script>
+            """)
+    int batchInsert(@Param("resources") List<SysResourceEntity> resources);
+
+    /**
+     * 批量更新资源映射信息（所属模块、URL、HTTP方法）
+     *
+     * @param resources 资源列表（按ID匹配）
+     * @return 影响行数
+     */
+    @Update("""
+            <script>
+            UPDATE sys_resource
+            SET module = CASE id
+                <foreach collection="resources" item="r">WHEN #{r.id} THEN #{r.module} </foreach>
+                ELSE module END,
+                url = CASE id
+                <foreach collection="resources" item="r">WHEN #{r.id} THEN #{r.url} </foreach>
+                ELSE url END,
+                method = CASE id
+                <foreach collection="resources" item="r">WHEN #{r.id} THEN #{r.method} </foreach>
+                ELSE method END,
+                update_time = NOW()
+            WHERE id IN
+            <foreach collection="resources" item="r" open="(" separator="," close=")">#{r.id}</foreach>
+            </script>
+            """)
+    int batchUpdateMapping(@Param("resources") List<SysResourceEntity> resources);
+
     /**
      * 检查资源编码是否存在
      *
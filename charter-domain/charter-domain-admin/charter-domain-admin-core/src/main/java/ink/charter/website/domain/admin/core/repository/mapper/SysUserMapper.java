@@ -7,10 +7,13 @@ import ink.charter.website.common.core.common.PageRequest;
 import ink.charter.website.common.core.entity.sys.SysUserEntity;
 import ink.charter.website.common.mybatis.wrapper.QueryWrappers;
 import ink.charter.website.domain.admin.api.dto.user.PageUserDTO;
+import ink.charter.website.domain.admin.api.vo.user.UserAuthorityVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -107,6 +110,29 @@ public interface SysUserMapper extends BaseMapper<SysUserEntity> {
             """)
     Set<String> selectUserRoles(@Param("userId") Long userId);
 
+    /**
+     * 批量查询用户的授权明细（角色与权限码一次查出）
+     * role_id 取自关联表，停用角色同样返回以便权限版本跟踪；role_code 与权限码仅对启用角色返回
+     *
+     * @param userIds 用户ID集合
+     * @return 授权明细
+     */
+    @Select("""
+            <script>
+            SELECT sur.user_id, sur.role_id, r.role_code, res.resource_code
+            FROM sys_user_role sur
+            LEFT JOIN sys_role r ON sur.role_id = r.id AND r.is_deleted = 0 AND r.status = 1
+            LEFT JOIN sys_role_resource srr ON r.id = srr.role_id AND srr.is_deleted = 0
+            LEFT JOIN sys_resource res ON srr.resource_id = res.id AND res.is_deleted = 0 AND res.status = 1
+            WHERE sur.is_deleted = 0
+            AND sur.user_id IN
+            <foreach collection="userIds" item="userId" open="(" separator="," close=")">
+                #{userId}
+            </foreach>
+            </script>
+            """)
+    List<UserAuthorityVO> selectUserAuthorities(@Param("userIds") Collection<Long> userIds);
+
     /**
      * 查询用户的角色ID列表
      *
@@ -137,4 +163,44 @@ public interface SysUserMapper extends BaseMapper<SysUserEntity> {
             .set(SysUserEntity::getLastLoginIp, loginIp)
             .eq(SysUserEntity::getId, userId));
     }
+
+    /**
+     * 批量更新用户登录信息
+     *
+     * @param loginInfos 登录信息（id、loginCount为本批次登录次数增量、lastLoginTime、lastLoginIp）
+     * @return 影响行数
+     */
+    @Update("""
+            <script>
+            UPDATE sys_user
+            SET login_count = IFNULL(login_count, 0) + CASE id
+                <foreach collection="loginInfos" item="info">WHEN #{info.id} THEN #{info.loginCount} </foreach>
+                ELSE 0 END,
+                last_login_time = CASE id
+                <foreach collection="loginInfos" item="info">WHEN #{info.id} THEN #{info.lastLoginTime} </foreach>
+                ELSE last_login_time END,
+                last_login_ip = CASE id
+                <foreach collection="loginInfos" item="info">WHEN #{info.id} THEN #{info.lastLoginIp} </foreach>
+                ELSE last_login_ip END
+            WHERE id IN
+            <foreach collection="loginInfos" item="info" open="(" separator="," close=")">#{info.id}</foreach>
+            </script>
+            """)
+    int batchUpdateLoginInfo(@Param("loginInfos") List<SysUserEntity> loginInfos);
+
+    /**
+     * 更新用户密码（已编码）
+     * 仅当当前密码仍为verifiedPassword时更新，期间密码已被修改或重置则不覆盖
+     *
+     * @param userId 用户ID
+     * @param verifiedPassword 期望的当前密码哈希
+     * @param encodedPassword 已编码的密码
+     * @return 影响行数
+     */
+    default int updateEncodedPassword(Long userId, String verifiedPassword, String encodedPassword) {
+        return update(null, QueryWrappers.<SysUserEntity>lambdaUpdate()
+            .set(SysUserEntity::getPassword, encodedPassword)
+            .eq(SysUserEntity::getId, userId)
+            .eq(SysUserEntity::getPassword, verifiedPassword));
+    }
 }
\ No newline at end of file
@@ -11,7 +11,9 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 系统用户会话Mapper
@@ -103,6 +105,17 @@ public interface SysUserSessionMapper extends BaseMapper<SysUserSessionEntity> {
             .eqIfPresent(SysUserSessionEntity::getToken, sessionToken));
     }
 
+    /**
+     * 批量使会话失效
+     *
+     * @param sessionTokens 会话Token集合
+     */
+    default void invalidateSessions(Collection<String> sessionTokens) {
+        update(null, QueryWrappers.<SysUserSessionEntity>lambdaUpdate()
+            .set(SysUserSessionEntity::getStatus, 0)
+            .in(SysUserSessionEntity::getToken, sessionTokens));
+    }
+
     /**
      * 使用户的所有会话失效
      *
@@ -115,6 +128,18 @@ public interface SysUserSessionMapper extends BaseMapper<SysUserSessionEntity> {
             .eq(SysUserSessionEntity::getStatus, 1));
     }
 
+    /**
+     * 批量使多个用户的所有会话失效
+     *
+     * @param userIds 用户ID集合
+     */
+    default void invalidateUsersSessions(Collection<Long> userIds) {
+        update(null, QueryWrappers.<SysUserSessionEntity>lambdaUpdate()
+            .set(SysUserSessionEntity::getStatus, 0)
+            .in(SysUserSessionEntity::getUserId, userIds)
+            .eq(SysUserSessionEntity::getStatus, 1));
+    }
+
     /**
      * 使用户的其他会话失效（除了当前会话）
      *
@@ -141,6 +166,30 @@ public interface SysUserSessionMapper extends BaseMapper<SysUserSessionEntity> {
             .eqIfPresent(SysUserSessionEntity::getToken, sessionToken));
     }
 
+    /**
+     * 批量插入会话
+     *
+     * @param sessions 会话列表
+     * @return 影响行数
+     */
+    int batchInsert(@Param("sessions") List<SysUserSessionEntity> sessions);
+
+    /**
+     * 批量更新会话过期时间
+     *
+     * @param expireTimes 会话Token -> 过期时间
+     * @return 影响行数
+     */
+    int batchUpdateExpireTime(@Param("expireTimes") Map<String, LocalDateTime> expireTimes);
+
+    /**
+     * 批量更新会话令牌与过期时间
+     *
+     * @param sessions 会话列表（按会话ID匹配）
+     * @return 影响行数
+     */
+    int batchUpdateTokens(@Param("sessions") List<SysUserSessionEntity> sessions);
+
     /**
      * 清理过期会话
      */
@@ -0,0 +1,91 @@
+package ink.charter.website.server.admin.sys.provider;
+
+import ink.charter.website.common.auth.model.UserAuthorities;
+import ink.charter.website.common.auth.provider.AuthUserProvider;
+import ink.charter.website.common.core.entity.sys.SysUserEntity;
+import ink.charter.website.common.core.entity.sys.SysUserSessionEntity;
+import ink.charter.website.server.admin.sys.service.UserService;
+import ink.charter.website.server.admin.sys.service.UserSessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 认证用户数据提供者实现
+ * 将认证流程所需的用户与会话操作委托给用户服务和用户会话服务
+ *
+ * @author charter
+ * @create 2025/11/26
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthUserProviderImpl implements AuthUserProvider {
+
+    private final UserService userService;
+    private final UserSessionService userSessionService;
+
+    @Override
+    public SysUserEntity getUserByUsernameOrEmail(String usernameOrEmail) {
+        return userService.getUserByUsernameOrEmail(usernameOrEmail);
+    }
+
+    @Override
+    public boolean isUserStatusNormal(SysUserEntity user) {
+        return userService.isUserStatusNormal(user);
+    }
+
+    @Override
+    public Set<String> getUserPermissions(Long userId) {
+        return userService.getUserPermissions(userId);
+    }
+
+    @Override
+    public Set<String> getUserRoles(Long userId) {
+        return userService.getUserRoles(userId);
+    }
+
+    @Override
+    public Map<Long, UserAuthorities> getUserAuthorities(Collection<Long> userIds) {
+        return userService.getUserAuthorities(userIds);
+    }
+
+    @Override
+    public void updateLoginInfos(List<SysUserEntity> loginInfos) {
+        userService.batchUpdateLoginInfo(loginInfos);
+    }
+
+    @Override
+    public boolean updateEncodedPassword(Long userId, String verifiedPassword, String encodedPassword) {
+        return userService.updateEncodedPassword(userId, verifiedPassword, encodedPassword);
+    }
+
+    @Override
+    public void createSessions(List<SysUserSessionEntity> sessions) {
+        userSessionService.batchCreateSessions(sessions);
+    }
+
+    @Override
+    public void updateSessionExpireTimes(Map<String, LocalDateTime> expireTimes) {
+        userSessionService.batchUpdateExpireTime(expireTimes);
+    }
+
+    @Override
+    public void rotateSessions(List<SysUserSessionEntity> sessions) {
+        userSessionService.batchRotateSessions(sessions);
+    }
+
+    @Override
+    public void invalidateSessions(Collection<String> accessTokens) {
+        userSessionService.invalidateSessions(accessTokens);
+    }
+
+    @Override
+    public void invalidateUserSessions(Collection<Long> userIds) {
+        userSessionService.invalidateUsersSessions(userIds);
+    }
+}
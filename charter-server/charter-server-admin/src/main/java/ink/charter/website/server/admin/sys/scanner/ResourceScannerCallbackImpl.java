@@ -1,5 +1,6 @@
 package ink.charter.website.server.admin.sys.scanner;
 
+import ink.charter.website.common.auth.permission.PermissionVersionService;
 import ink.charter.website.common.auth.scanner.ResourceScannerCallback;
 import ink.charter.website.common.core.entity.sys.SysResourceEntity;
 import ink.charter.website.common.core.utils.IdGenerator;
@@ -8,13 +9,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * 资源扫描器回调实现
- * 负责将扫描到的资源同步到数据库
+ * 负责将扫描到的资源同步到数据库：一次性加载现有资源并在内存中比对，仅批量写入有变化的记录
  *
  * @author charter
  * @create 2025/11/12
@@ -25,59 +28,73 @@ import java.util.stream.Collectors;
 public class ResourceScannerCallbackImpl implements ResourceScannerCallback {
 
     private final SysResourceRepository sysResourceRepository;
+    private final PermissionVersionService permissionVersionService;
 
     @Override
-    public void syncResources(List<SysResourceEntity> scannedResources) {
-        int insertCount = 0;
-        int updateCount = 0;
-        int deleteCount = 0;
-        
-        // 收集扫描到的所有权限码
-        Set<String> scannedResourceCodes = scannedResources.stream()
-                .map(SysResourceEntity::getResourceCode)
-                .collect(Collectors.toSet());
-        
-        // 1. 新增或更新资源
-        for (SysResourceEntity resource : scannedResources) {
-            try {
-                // 检查资源是否已存在
-                SysResourceEntity existingResource = sysResourceRepository.getByResourceCode(resource.getResourceCode());
-                
+    public boolean syncResources(List<SysResourceEntity> scannedResources) {
+        try {
+            // 按权限码去重
+            Map<String, SysResourceEntity> scanned = new LinkedHashMap<>();
+            for (SysResourceEntity resource : scannedResources) {
+                scanned.put(resource.getResourceCode(), resource);
+            }
+
+            // 1. 一次性加载现有资源
+            Map<String, SysResourceEntity> existing = new LinkedHashMap<>();
+            for (SysResourceEntity resource : sysResourceRepository.listAllForSync()) {
+                existing.put(resource.getResourceCode(), resource);
+            }
+
+            // 2. 比对出新增与映射信息变化的资源（保持原有状态和用户自定义的名称、描述）
+            List<SysResourceEntity> inserts = new ArrayList<>();
+            List<SysResourceEntity> updates = new ArrayList<>();
+            for (SysResourceEntity resource : scanned.values()) {
+                SysResourceEntity existingResource = existing.get(resource.getResourceCode());
                 if (existingResource == null) {
-                    // 新增资源
                     resource.setId(IdGenerator.snowflakeId());
-                    sysResourceRepository.create(resource);
-                    insertCount++;
+                    inserts.add(resource);
                     log.debug("新增资源: {} - {}", resource.getResourceCode(), resource.getResourceName());
-                } else {
-                    // 更新资源信息（保持原有状态和用户自定义的名称、描述）
+                } else if (!mappingDigest(existingResource).equals(mappingDigest(resource))) {
                     existingResource.setModule(resource.getModule());
                     existingResource.setUrl(resource.getUrl());
                     existingResource.setMethod(resource.getMethod());
-                    sysResourceRepository.update(existingResource);
-                    updateCount++;
-                    log.debug("更新资源: {} - {}", resource.getResourceCode(), resource.getResourceName());
+                    updates.add(existingResource);
+                    log.debug("更新资源: {} - {}", resource.getResourceCode(), existingResource.getResourceName());
                 }
-            } catch (Exception e) {
-                log.error("同步资源失败: {}", resource.getResourceCode(), e);
             }
-        }
-        
-        // 2. 删除孤儿资源（数据库中存在但未被扫描到的资源）
-        try {
-            List<SysResourceEntity> allResources = sysResourceRepository.listAllEnabled();
-            for (SysResourceEntity existingResource : allResources) {
-                if (!scannedResourceCodes.contains(existingResource.getResourceCode())) {
-                    // 该资源在数据库中存在，但未被扫描到，说明对应的接口已被删除
-                    sysResourceRepository.deleteById(existingResource.getId());
-                    deleteCount++;
+
+            // 3. 找出孤儿资源（数据库中启用但未被扫描到，说明对应的接口已被删除）
+            List<Long> orphanIds = new ArrayList<>();
+            for (SysResourceEntity existingResource : existing.values()) {
+                if (!scanned.containsKey(existingResource.getResourceCode())
+                        && Objects.equals(existingResource.getStatus(), 1)) {
+                    orphanIds.add(existingResource.getId());
                     log.debug("删除孤儿资源: {} - {}", existingResource.getResourceCode(), existingResource.getResourceName());
                 }
             }
+
+            // 4. 批量写入
+            sysResourceRepository.batchCreate(inserts);
+            sysResourceRepository.batchUpdateMapping(updates);
+            if (!orphanIds.isEmpty()) {
+                sysResourceRepository.batchDelete(orphanIds);
+                // 已删除的权限码可能仍在登录用户的权限中
+                permissionVersionService.bumpAll();
+            }
+
+            log.info("资源同步完成 - 新增: {}, 更新: {}, 删除: {}, 未变化: {}", inserts.size(), updates.size(),
+                    orphanIds.size(), scanned.size() - inserts.size() - updates.size());
+            return true;
         } catch (Exception e) {
-            log.error("删除孤儿资源失败", e);
+            log.error("同步资源失败", e);
+            return false;
         }
-        
-        log.info("资源同步完成 - 新增: {}, 更新: {}, 删除: {}", insertCount, updateCount, deleteCount);
+    }
+
+    /**
+     * 资源映射信息摘要（所属模块、URL、HTTP方法）
+     */
+    private static String mappingDigest(SysResourceEntity resource) {
+        return resource.getModule() + '\n' + resource.getUrl() + '\n' + resource.getMethod();
     }
 }
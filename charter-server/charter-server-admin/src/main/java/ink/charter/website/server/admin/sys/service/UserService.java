@@ -1,11 +1,14 @@
 package ink.charter.website.server.admin.sys.service;
 
+import ink.charter.website.common.auth.model.UserAuthorities;
 import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysUserEntity;
 import ink.charter.website.domain.admin.api.dto.user.PageUserDTO;
 import ink.charter.website.domain.admin.api.vo.user.UserVO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -79,6 +82,14 @@ public interface UserService {
      */
     List<Long> getRoleIdsByUserId(Long userId);
 
+    /**
+     * 批量获取用户授权信息（一次查询）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 授权信息
+     */
+    Map<Long, UserAuthorities> getUserAuthorities(Collection<Long> userIds);
+
     /**
      * 验证用户密码
      *
@@ -96,6 +107,24 @@ public interface UserService {
      */
     void updateLoginInfo(Long userId, String loginIp);
 
+    /**
+     * 批量更新用户登录信息
+     *
+     * @param loginInfos 登录信息（id、loginCount为登录次数增量、lastLoginTime、lastLoginIp）
+     */
+    void batchUpdateLoginInfo(List<SysUserEntity> loginInfos);
+
+    /**
+     * 更新用户密码（已编码，不再重复加密）
+     * 仅当当前密码仍为verifiedPassword时更新
+     *
+     * @param userId 用户ID
+     * @param verifiedPassword 期望的当前密码哈希
+     * @param encodedPassword 已编码的密码
+     * @return 是否成功
+     */
+    boolean updateEncodedPassword(Long userId, String verifiedPassword, String encodedPassword);
+
     /**
      * 检查用户状态是否正常
      *
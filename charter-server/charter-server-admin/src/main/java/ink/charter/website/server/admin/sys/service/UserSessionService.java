@@ -5,7 +5,9 @@ import ink.charter.website.common.core.entity.sys.SysUserSessionEntity;
 import ink.charter.website.domain.admin.api.dto.session.PageUserSessionDTO;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户会话服务接口
@@ -37,6 +39,13 @@ public interface UserSessionService {
     SysUserSessionEntity createSession(Long userId, String sessionToken, String refreshToken,
                                       String loginIp, String userAgent, LocalDateTime expireTime);
 
+    /**
+     * 批量创建会话
+     *
+     * @param sessions 会话列表
+     */
+    void batchCreateSessions(List<SysUserSessionEntity> sessions);
+
     /**
      * 根据会话Token查询会话信息
      *
@@ -83,6 +92,20 @@ public interface UserSessionService {
      */
     void invalidateUserSessions(Long userId);
 
+    /**
+     * 批量使会话失效
+     *
+     * @param sessionTokens 会话Token集合
+     */
+    void invalidateSessions(Collection<String> sessionTokens);
+
+    /**
+     * 批量使多个用户的所有会话失效
+     *
+     * @param userIds 用户ID集合
+     */
+    void invalidateUsersSessions(Collection<Long> userIds);
+
     /**
      * 使用户的其他会话失效（除了当前会话）
      *
@@ -99,6 +122,20 @@ public interface UserSessionService {
      */
     void updateExpireTime(String sessionToken, LocalDateTime expireTime);
 
+    /**
+     * 批量更新会话过期时间
+     *
+     * @param expireTimes 会话Token -> 过期时间
+     */
+    void batchUpdateExpireTime(Map<String, LocalDateTime> expireTimes);
+
+    /**
+     * 批量更新会话令牌（刷新令牌轮换）
+     *
+     * @param sessions 会话列表（按会话ID匹配）
+     */
+    void batchRotateSessions(List<SysUserSessionEntity> sessions);
+
     /**
      * 清理过期会话
      */
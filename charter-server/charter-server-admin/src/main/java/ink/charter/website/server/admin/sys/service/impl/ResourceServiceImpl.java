@@ -1,5 +1,6 @@
 package ink.charter.website.server.admin.sys.service.impl;
 
+import ink.charter.website.common.auth.permission.PermissionVersionService;
 import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysResourceEntity;
 import ink.charter.website.common.core.exception.BusinessException;
@@ -31,6 +32,7 @@ public class ResourceServiceImpl implements ResourceService {
     private final SysResourceRepository sysResourceRepository;
     private final SysRoleResourceRepository sysRoleResourceRepository;
     private final ResourceConverter resourceConverter;
+    private final PermissionVersionService permissionVersionService;
 
     @Override
     public List<ResourceVO> pageResources(PageResourceDTO pageRequest) {
@@ -151,6 +153,9 @@ public class ResourceServiceImpl implements ResourceService {
             throw BusinessException.of("更新资源失败");
         }
         
+        // 资源编码可能变更，影响所有持有该资源的角色
+        permissionVersionService.bumpAll();
+        
         return true;
     }
 
@@ -172,6 +177,8 @@ public class ResourceServiceImpl implements ResourceService {
             throw BusinessException.of("删除资源失败");
         }
         
+        permissionVersionService.bumpAll();
+        
         return true;
     }
 
@@ -187,6 +194,8 @@ public class ResourceServiceImpl implements ResourceService {
             throw BusinessException.of("批量删除资源失败");
         }
         
+        permissionVersionService.bumpAll();
+        
         return true;
     }
 
@@ -211,6 +220,8 @@ public class ResourceServiceImpl implements ResourceService {
             throw BusinessException.of("更新资源状态失败");
         }
         
+        permissionVersionService.bumpAll();
+        
         return true;
     }
 
@@ -225,5 +236,8 @@ public class ResourceServiceImpl implements ResourceService {
         if (!result) {
             throw BusinessException.of("保存角色资源关联失败");
         }
+        
+        // 仅该角色下用户的权限需要重新加载
+        permissionVersionService.bumpRoles(List.of(roleId));
     }
 }
@@ -1,5 +1,6 @@
 package ink.charter.website.server.admin.sys.service.impl;
 
+import ink.charter.website.common.auth.permission.PermissionVersionService;
 import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysRoleEntity;
 import ink.charter.website.common.core.exception.BusinessException;
@@ -31,6 +32,7 @@ public class RoleServiceImpl implements RoleService {
     private final SysRoleRepository sysRoleRepository;
     private final SysUserRoleRepository sysUserRoleRepository;
     private final RoleConverter roleConverter;
+    private final PermissionVersionService permissionVersionService;
 
     @Override
     public PageResult<RoleVO> pageRoles(PageRoleDTO pageRequest) {
@@ -117,6 +119,9 @@ public class RoleServiceImpl implements RoleService {
             throw BusinessException.of("更新角色失败");
         }
         
+        // 角色编码可能变更
+        permissionVersionService.bumpRoles(List.of(role.getId()));
+        
         return true;
     }
 
@@ -138,6 +143,8 @@ public class RoleServiceImpl implements RoleService {
             throw BusinessException.of("删除角色失败");
         }
         
+        permissionVersionService.bumpRoles(List.of(id));
+        
         return true;
     }
 
@@ -153,6 +160,8 @@ public class RoleServiceImpl implements RoleService {
             throw BusinessException.of("批量删除角色失败");
         }
         
+        permissionVersionService.bumpRoles(ids);
+        
         return true;
     }
 
@@ -177,6 +186,8 @@ public class RoleServiceImpl implements RoleService {
             throw BusinessException.of("更新角色状态失败");
         }
         
+        permissionVersionService.bumpRoles(List.of(id));
+        
         return true;
     }
 
@@ -191,5 +202,8 @@ public class RoleServiceImpl implements RoleService {
         if (!result) {
             throw BusinessException.of("保存用户角色关联失败");
         }
+        
+        // 仅该用户的权限需要重新加载
+        permissionVersionService.bumpUsers(List.of(userId));
     }
 }
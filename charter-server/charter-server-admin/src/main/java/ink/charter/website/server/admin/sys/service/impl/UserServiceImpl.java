@@ -1,6 +1,7 @@
 package ink.charter.website.server.admin.sys.service.impl;
 
-import ink.charter.website.common.auth.utils.SecurityUtils;
+import ink.charter.website.common.auth.model.UserAuthorities;
+import ink.charter.website.common.auth.password.PasswordHashExecutor;
 import ink.charter.website.common.core.common.PageResult;
 import ink.charter.website.common.core.entity.sys.SysUserEntity;
 import ink.charter.website.common.core.enums.StatusEnum;
@@ -8,13 +9,17 @@ import ink.charter.website.domain.admin.api.repository.SysUserRepository;
 import ink.charter.website.server.admin.sys.converter.UserConverter;
 import ink.charter.website.domain.admin.api.dto.user.PageUserDTO;
 import ink.charter.website.server.admin.sys.service.UserService;
+import ink.charter.website.domain.admin.api.vo.user.UserAuthorityVO;
 import ink.charter.website.domain.admin.api.vo.user.UserVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -30,6 +35,7 @@ public class UserServiceImpl implements UserService {
 
     private final SysUserRepository sysUserRepository;
     private final UserConverter userConverter;
+    private final PasswordHashExecutor passwordHashExecutor;
 
     @Override
     public PageResult<UserVO> pageUsers(PageUserDTO pageRequest) {
@@ -76,14 +82,38 @@ public class UserServiceImpl implements UserService {
         return sysUserRepository.getRoleIdsByUserId(userId);
     }
 
+    @Override
+    public Map<Long, UserAuthorities> getUserAuthorities(Collection<Long> userIds) {
+        Map<Long, UserAuthorities> result = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return result;
+        }
+        for (Long userId : userIds) {
+            result.put(userId, new UserAuthorities());
+        }
+        for (UserAuthorityVO row : sysUserRepository.listUserAuthorities(userIds)) {
+            UserAuthorities authorities = result.computeIfAbsent(row.getUserId(), k -> new UserAuthorities());
+            if (row.getRoleId() != null) {
+                authorities.getRoleIds().add(row.getRoleId());
+            }
+            if (StringUtils.hasText(row.getRoleCode())) {
+                authorities.getRoles().add(row.getRoleCode());
+            }
+            if (StringUtils.hasText(row.getResourceCode())) {
+                authorities.getPermissions().add(row.getResourceCode());
+            }
+        }
+        return result;
+    }
+
     @Override
     public boolean validatePassword(SysUserEntity user, String rawPassword) {
         if (user == null || !StringUtils.hasText(rawPassword)) {
             return false;
         }
         
-        // 使用BCrypt验证密码
-        return SecurityUtils.matchesPassword(rawPassword, user.getPassword());
+        // 使用BCrypt验证密码（在密码哈希线程池中执行）
+        return passwordHashExecutor.matches(rawPassword, user.getPassword());
     }
 
     @Override
@@ -91,6 +121,16 @@ public class UserServiceImpl implements UserService {
         sysUserRepository.updateLoginInfo(userId, loginIp);
     }
 
+    @Override
+    public void batchUpdateLoginInfo(List<SysUserEntity> loginInfos) {
+        sysUserRepository.batchUpdateLoginInfo(loginInfos);
+    }
+
+    @Override
+    public boolean updateEncodedPassword(Long userId, String verifiedPassword, String encodedPassword) {
+        return sysUserRepository.updateEncodedPassword(userId, verifiedPassword, encodedPassword);
+    }
+
     @Override
     public boolean isUserStatusNormal(SysUserEntity user) {
         if (user == null) {
@@ -10,7 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户会话服务实现类
@@ -36,6 +38,11 @@ public class UserSessionServiceImpl implements UserSessionService {
         return sysUserSessionRepository.createSession(userId, sessionToken, refreshToken, loginIp, userAgent, expireTime);
     }
 
+    @Override
+    public void batchCreateSessions(List<SysUserSessionEntity> sessions) {
+        sysUserSessionRepository.batchCreateSessions(sessions);
+    }
+
     @Override
     public SysUserSessionEntity getSessionByToken(String sessionToken) {
         return sysUserSessionRepository.getSessionByToken(sessionToken);
@@ -66,6 +73,16 @@ public class UserSessionServiceImpl implements UserSessionService {
         sysUserSessionRepository.invalidateUserSessions(userId);
     }
 
+    @Override
+    public void invalidateSessions(Collection<String> sessionTokens) {
+        sysUserSessionRepository.invalidateSessions(sessionTokens);
+    }
+
+    @Override
+    public void invalidateUsersSessions(Collection<Long> userIds) {
+        sysUserSessionRepository.invalidateUsersSessions(userIds);
+    }
+
     @Override
     public void invalidateOtherUserSessions(Long userId, String currentSessionToken) {
         sysUserSessionRepository.invalidateOtherUserSessions(userId, currentSessionToken);
@@ -76,6 +93,16 @@ public class UserSessionServiceImpl implements UserSessionService {
         sysUserSessionRepository.updateExpireTime(sessionToken, expireTime);
     }
 
+    @Override
+    public void batchUpdateExpireTime(Map<String, LocalDateTime> expireTimes) {
+        sysUserSessionRepository.batchUpdateExpireTime(expireTimes);
+    }
+
+    @Override
+    public void batchRotateSessions(List<SysUserSessionEntity> sessions) {
+        sysUserSessionRepository.batchUpdateTokens(sessions);
+    }
+
     @Override
     public void cleanExpiredSessions() {
         sysUserSessionRepository.cleanExpiredSessions();